@@ -0,0 +1,58 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.BatchDeductionsCalculator;
+import utils.DeductionsCalculator;
+import utils.RateSchedule;
+import utils.StatutoryRates;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares computing a whole company's deductions with the batch engine against
+ * calling the scalar calculators once per employee.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchDeductionsBenchmark {
+
+    @Param({"100000"})
+    public int employees;
+
+    private final StatutoryRates rates = RateSchedule.builtIn().latest();
+    private long[] gross;
+    private BatchDeductionsCalculator.Columns columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Salaries spread over every SSS and tax bracket
+        SplittableRandom random = new SplittableRandom(42);
+        gross = new long[employees];
+        for (int i = 0; i < employees; i++) {
+            gross[i] = random.nextLong(300_000, 80_000_000); // centavos
+        }
+        columns = new BatchDeductionsCalculator.Columns(employees);
+    }
+
+    @Benchmark
+    public BatchDeductionsCalculator.Columns batch() {
+        BatchDeductionsCalculator.calculate(gross, rates, employees, columns);
+        return columns;
+    }
+
+    @Benchmark
+    public void scalar(Blackhole blackhole) {
+        for (long salary : gross) {
+            long sss = DeductionsCalculator.calculateSSSCentavos(salary, rates);
+            long philHealth = DeductionsCalculator.calculatePhilHealthCentavos(salary, rates);
+            long pagIbig = DeductionsCalculator.calculatePagIbigCentavos(salary, rates);
+            blackhole.consume(DeductionsCalculator.calculateTaxCentavos(salary - (sss + philHealth + pagIbig), rates));
+        }
+    }
+}
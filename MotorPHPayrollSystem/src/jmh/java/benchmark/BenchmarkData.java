@@ -0,0 +1,101 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Shared helpers for the JMH benchmarks.
+ * Builds scaled copies of the bundled CSV files and silences the loaders' console output.
+ */
+final class BenchmarkData {
+    // Bundled data, relative to the project directory (override with -Dpayroll.data.dir=...)
+    static final Path DATA_DIR = Paths.get(System.getProperty("payroll.data.dir", "src/data"));
+
+    // Employee numbers of each copy are shifted by this much so they stay unique
+    private static final int COPY_OFFSET = 100_000;
+
+    private static PrintStream originalOut;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Writes the bundled employee file repeated {@code copies} times with unique employee numbers.
+     *
+     * @param directory Directory to write into
+     * @param copies Number of copies of the 33 bundled employees
+     * @return Path of the written file
+     */
+    static Path scaledEmployees(Path directory, int copies) throws IOException {
+        return scale(DATA_DIR.resolve("employee_data.csv"), directory.resolve("employee_data.csv"), copies);
+    }
+
+    /**
+     * Writes the bundled attendance file repeated {@code copies} times, matching scaledEmployees.
+     *
+     * @param directory Directory to write into
+     * @param copies Number of copies of the bundled attendance rows
+     * @return Path of the written file
+     */
+    static Path scaledAttendance(Path directory, int copies) throws IOException {
+        return scale(DATA_DIR.resolve("attendance_records.csv"), directory.resolve("attendance_records.csv"), copies);
+    }
+
+    private static Path scale(Path source, Path target, int copies) throws IOException {
+        List<String> lines = Files.readAllLines(source, StandardCharsets.UTF_8);
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write(lines.get(0));
+            writer.newLine();
+            for (int copy = 0; copy < copies; copy++) {
+                for (String line : lines.subList(1, lines.size())) {
+                    // Employee number is always the first, unquoted column
+                    int comma = line.indexOf(',');
+                    int number = Integer.parseInt(line.substring(0, comma)) + copy * COPY_OFFSET;
+                    writer.write(number + line.substring(comma));
+                    writer.newLine();
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Redirects System.out to a discarding stream so loader messages do not flood the benchmark log.
+     */
+    static void silenceConsole() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Restores System.out after silenceConsole().
+     */
+    static void restoreConsole() {
+        if (originalOut != null) {
+            System.setOut(originalOut);
+            originalOut = null;
+        }
+    }
+
+    /**
+     * Deletes a temporary directory created for scaled data.
+     */
+    static void delete(Path directory) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+}
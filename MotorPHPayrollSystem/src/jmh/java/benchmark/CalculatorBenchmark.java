@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.*;
+import service.PayrollCalculator;
+import utils.DeductionPlan;
+import utils.DeductionsCalculator;
+import utils.Money;
+import utils.RateSchedule;
+import utils.StatutoryRates;
+import utils.TaxCalculator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the deduction, tax and net salary calculations.
+ * {@code grossSalary} is chosen so every SSS and withholding tax bracket is exercised.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CalculatorBenchmark {
+
+    @Param({"3000", "15000", "30000", "50000", "100000", "500000", "1000000"})
+    public double grossSalary;
+
+    private final StatutoryRates rates = RateSchedule.builtIn().latest();
+    private final PayrollCalculator calculator = new PayrollCalculator(rates);
+    private Employee employee;
+    private double hoursWorked;
+    private DeductionPlan plan;
+    private DeductionPlan.Breakdown breakdown;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Basic salary and hours chosen so computeGrossSalary returns grossSalary
+        employee = new Employee("10001", "Garcia", "Manuel III", "10/11/1983", "Makati City",
+                                "966-860-270", "442-605-657-000", "44-4506057-3", "820126853951",
+                                "691295330870", "Regular", "Chief Executive Officer", "N/A",
+                                grossSalary, 1500, 2000, 1000);
+        hoursWorked = 168;
+        plan = DeductionsCalculator.getDefaultPlan();
+        breakdown = plan.newBreakdown();
+    }
+
+    @Benchmark
+    public List<DeductionsCalculator.DeductionResult> getAllDeductions() {
+        return DeductionsCalculator.getAllDeductions(grossSalary, rates);
+    }
+
+    @Benchmark
+    public double evaluateDeductionPlan() {
+        plan.evaluate(Money.ofPesos(grossSalary), rates, breakdown);
+        return breakdown.getTotal();
+    }
+
+    @Benchmark
+    public double computeNetSalary() {
+        return calculator.computeNetSalary(employee, hoursWorked);
+    }
+
+    @Benchmark
+    public double computeWithholdingTax() {
+        return TaxCalculator.computeWithholdingTax(grossSalary);
+    }
+}
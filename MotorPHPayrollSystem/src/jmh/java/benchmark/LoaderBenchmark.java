@@ -0,0 +1,76 @@
+package benchmark;
+
+import com.opencsv.exceptions.CsvException;
+import org.openjdk.jmh.annotations.*;
+import service.LoadingPipeline;
+import service.PayrollSystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading the employee and attendance CSV files at several dataset sizes.
+ * {@code scale} is the number of copies of the bundled data (33 employees, ~5k attendance rows each).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoaderBenchmark {
+
+    @Param({"1", "30", "300"})
+    public int scale;
+
+    private Path directory;
+    private String employeeFile;
+    private String attendanceFile;
+    private PayrollSystem loaded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, CsvException {
+        BenchmarkData.silenceConsole();
+        directory = Files.createTempDirectory("payroll-bench");
+        employeeFile = BenchmarkData.scaledEmployees(directory, scale).toString();
+        attendanceFile = BenchmarkData.scaledAttendance(directory, scale).toString();
+
+        // Attendance rows are resolved against loaded employees, so load them once up front
+        loaded = new PayrollSystem();
+        loaded.loadEmployeeData(employeeFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.restoreConsole();
+        BenchmarkData.delete(directory);
+    }
+
+    @Benchmark
+    public PayrollSystem loadEmployeeData() throws IOException, CsvException {
+        PayrollSystem system = new PayrollSystem();
+        system.loadEmployeeData(employeeFile);
+        return system;
+    }
+
+    @Benchmark
+    public PayrollSystem loadAttendanceRecords() throws IOException, CsvException {
+        loaded.loadAttendanceRecords(attendanceFile);
+        return loaded;
+    }
+
+    /**
+     * Both files through the concurrent pipeline; compare with loadEmployeeData + loadAttendanceRecords.
+     */
+    @Benchmark
+    public LoadingPipeline.Result loadPipeline() throws IOException, CsvException {
+        PayrollSystem system = new PayrollSystem();
+        return new LoadingPipeline().load(() -> {
+            system.loadEmployeeData(employeeFile);
+            return system.getEmployees();
+        }, Paths.get(attendanceFile));
+    }
+}
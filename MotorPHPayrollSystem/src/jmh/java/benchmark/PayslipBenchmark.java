@@ -0,0 +1,46 @@
+package benchmark;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.*;
+import utils.PayslipGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering one payslip into an in-memory sink, so console speed is not part of the result.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PayslipBenchmark {
+
+    private Employee employee;
+    private ByteArrayOutputStream buffer;
+    private PrintStream sink;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employee = new Employee("10001", "Garcia", "Manuel III", "10/11/1983",
+                                "Valero Carpark Building Valero Street 1227, Makati City",
+                                "966-860-270", "442-605-657-000", "44-4506057-3", "820126853951",
+                                "691295330870", "Regular", "Chief Executive Officer", "N/A",
+                                90000, 1500, 2000, 1000);
+        buffer = new ByteArrayOutputStream(4096);
+        sink = new PrintStream(buffer, false, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int generatePayslip() {
+        buffer.reset();
+        PayslipGenerator.generatePayslip(sink, employee, 170.42, 91296.43, 19940.94,
+                                         1125.00, 1369.45, 100.00, 17346.49, 71355.49);
+        sink.flush();
+        return buffer.size();
+    }
+}
@@ -0,0 +1,165 @@
+package main;
+
+import model.PayPeriod;
+import service.PayrollSystem;
+import utils.PayrollRegisterWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Non-interactive payroll run that writes a payroll register for schedulers and scripts.
+ * This class demonstrates:
+ * - Command Pattern: One self-contained operation selected from the command line
+ * - Separation of Concerns: Options are turned into periods and an employee selection here;
+ *   computing and formatting are delegated to PayrollSystem and PayrollRegisterWriter
+ *
+ * Rows are written as they are computed, so the register can be far larger than memory.
+ */
+public class BatchCommand {
+    /** Options understood by the batch command, in addition to the data file options. */
+    static final List<String> OPTIONS = Arrays.asList("from", "to", "period-type", "select", "format", "output");
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MM/yyyy");
+
+    private BatchCommand() {
+    }
+
+    /**
+     * Runs payroll and writes the register.
+     *
+     * @param payrollSystem The loaded payroll system
+     * @param commandLine The parsed command line
+     * @param stdout Where the register goes when no --output file is given
+     * @return Process exit code: 0 on success, 1 if writing failed, 2 for invalid options
+     */
+    public static int run(PayrollSystem payrollSystem, CommandLine commandLine, PrintStream stdout) {
+        List<PayPeriod> periods;
+        List<String> selection;
+        PayrollRegisterWriter.Format format;
+        try {
+            periods = periods(commandLine.getOption("period-type", "monthly"),
+                              commandLine.getOption("from", "06/2024"), commandLine.getOption("to", "12/2024"));
+            selection = selection(commandLine.getOption("select", "all"));
+            format = PayrollRegisterWriter.Format.parse(commandLine.getOption("format", "csv"));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.err.println("❌ " + e.getMessage());
+            return 2;
+        }
+
+        String output = commandLine.getOption("output", null);
+        try (PayrollRegisterWriter register = new PayrollRegisterWriter(openOutput(output, stdout), format)) {
+            long rows = payrollSystem.streamPayroll(periods, selection, register::write);
+            register.flush();
+            System.err.println("✅ Wrote " + rows + " payroll rows for " + periods.size() + " periods to "
+                               + (output == null ? "standard output" : output));
+            return 0;
+        } catch (IOException e) {
+            System.err.println("❌ Error writing payroll register: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static Writer openOutput(String output, PrintStream stdout) throws IOException {
+        if (output == null) {
+            return new BufferedWriter(new OutputStreamWriter(stdout, StandardCharsets.UTF_8), 1 << 16);
+        }
+        Path path = Paths.get(output);
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        return Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds the periods between two bounds. Bounds are MM/YYYY months or YYYY-MM-DD dates.
+     * A month bound covers the whole month; weekly runs extend it to whole weeks. A date bound
+     * must be the first day (--from) or last day (--to) of a period, so a run never covers
+     * days outside the bounds it was given.
+     *
+     * @throws IllegalArgumentException If the type is unknown or a date bound splits a period
+     */
+    static List<PayPeriod> periods(String type, String from, String to) {
+        LocalDate first = parseBound(from, false);
+        LocalDate last = parseBound(to, true);
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("--to " + to + " is before --from " + from);
+        }
+        List<PayPeriod> periods;
+        switch (type.toLowerCase(Locale.ROOT)) {
+            case "monthly":
+                periods = PayPeriod.monthlyRange(YearMonth.from(first), YearMonth.from(last));
+                break;
+            case "semi-monthly":
+                periods = PayPeriod.semiMonthlyRange(YearMonth.from(first), YearMonth.from(last));
+                break;
+            case "weekly":
+                periods = PayPeriod.weeklyRange(first, last);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown period type: " + type
+                                                   + " (expected monthly, semi-monthly or weekly)");
+        }
+        // A date bound may leave out whole periods, e.g. the first half of the month from the 16th
+        periods.removeIf(period -> period.getEnd().isBefore(first) || period.getStart().isAfter(last));
+        if (isDate(from) && !periods.get(0).getStart().equals(first)) {
+            throw new IllegalArgumentException("--from " + from + " is not the first day of a " + type
+                                               + " period (" + periods.get(0).getLabel() + " starts "
+                                               + periods.get(0).getStart() + ")");
+        }
+        PayPeriod lastPeriod = periods.get(periods.size() - 1);
+        if (isDate(to) && !lastPeriod.getEnd().equals(last)) {
+            throw new IllegalArgumentException("--to " + to + " is not the last day of a " + type
+                                               + " period (" + lastPeriod.getLabel() + " ends "
+                                               + lastPeriod.getEnd() + ")");
+        }
+        return periods;
+    }
+
+    private static boolean isDate(String bound) {
+        return !bound.contains("/");
+    }
+
+    private static LocalDate parseBound(String value, boolean end) {
+        if (value.contains("/")) {
+            YearMonth month = YearMonth.parse(value.trim(), MONTH_FORMAT);
+            return end ? month.atEndOfMonth() : month.atDay(1);
+        }
+        return LocalDate.parse(value.trim());
+    }
+
+    /**
+     * @param select "all", or comma-separated employee numbers
+     * @return The employee numbers, or null for every employee
+     */
+    static List<String> selection(String select) {
+        if (select.equalsIgnoreCase("all")) {
+            return null;
+        }
+        List<String> employeeNumbers = new ArrayList<>();
+        for (String number : select.split(",")) {
+            if (!number.trim().isEmpty()) {
+                employeeNumbers.add(number.trim());
+            }
+        }
+        if (employeeNumbers.isEmpty()) {
+            throw new IllegalArgumentException("--select needs 'all' or employee numbers");
+        }
+        return employeeNumbers;
+    }
+}
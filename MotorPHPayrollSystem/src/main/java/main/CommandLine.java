@@ -0,0 +1,115 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parsed command line: an optional command followed by arguments and --name value options.
+ * This class demonstrates:
+ * - Encapsulation: Argument parsing is kept out of Main
+ * - Immutability: A parsed command line never changes
+ *
+ * Options may be written as "--name value" or "--name=value". An option followed by nothing
+ * or by another option is a flag with the value "true".
+ */
+public class CommandLine {
+    private final String command;
+    private final List<String> arguments;
+    private final Map<String, String> options;
+
+    private CommandLine(String command, List<String> arguments, Map<String, String> options) {
+        this.command = command;
+        this.arguments = Collections.unmodifiableList(arguments);
+        this.options = Collections.unmodifiableMap(options);
+    }
+
+    /**
+     * Parses command line arguments.
+     *
+     * @param args The arguments passed to main
+     * @param defaultCommand Command used when the first argument is an option or there are no arguments
+     * @return The parsed command line
+     * @throws IllegalArgumentException If an option is given twice or has an empty name
+     */
+    public static CommandLine parse(String[] args, String defaultCommand) {
+        String command = defaultCommand;
+        List<String> arguments = new ArrayList<>();
+        Map<String, String> options = new LinkedHashMap<>();
+
+        int i = 0;
+        if (args.length > 0 && !args[0].startsWith("--")) {
+            command = args[0].toLowerCase();
+            i = 1;
+        }
+        for (; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                arguments.add(arg);
+                continue;
+            }
+            String name = arg.substring(2);
+            String value;
+            int equals = name.indexOf('=');
+            if (equals >= 0) {
+                value = name.substring(equals + 1);
+                name = name.substring(0, equals);
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                value = args[++i];
+            } else {
+                value = "true";
+            }
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Option name missing in: " + arg);
+            }
+            if (options.put(name, value) != null) {
+                throw new IllegalArgumentException("Option given more than once: --" + name);
+            }
+        }
+        return new CommandLine(command, arguments, options);
+    }
+
+    /**
+     * Checks that only known options were given.
+     *
+     * @param known The options the command understands
+     * @throws IllegalArgumentException If an unknown option was given
+     */
+    public void requireKnownOptions(Set<String> known) {
+        for (String name : options.keySet()) {
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Unknown option for " + command + ": --" + name);
+            }
+        }
+    }
+
+    /**
+     * @return The command, in lower case
+     */
+    public String getCommand() { return command; }
+
+    /**
+     * @return Arguments that are not options, in order
+     */
+    public List<String> getArguments() { return arguments; }
+
+    /**
+     * @param name Option name without the leading dashes
+     * @return true if the option was given
+     */
+    public boolean hasOption(String name) {
+        return options.containsKey(name);
+    }
+
+    /**
+     * @param name Option name without the leading dashes
+     * @param defaultValue Value to use when the option was not given
+     * @return The option's value, or defaultValue
+     */
+    public String getOption(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+}
@@ -0,0 +1,76 @@
+package main;
+
+import model.PayPeriod;
+import service.PayrollSystem;
+import utils.PayslipExporter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Non-interactive payroll run that writes every payslip to files.
+ * This class demonstrates:
+ * - Command Pattern: One self-contained operation selected from the command line
+ * - Reuse: Periods and the employee selection are read exactly as the batch command reads them
+ *
+ * Payslips are streamed to the exporter as they are computed and synced to disk once at the end.
+ */
+public class ExportCommand {
+    /** Options understood by the export command, in addition to the data file options. */
+    static final List<String> OPTIONS = Arrays.asList("from", "to", "period-type", "select", "layout", "output");
+
+    private ExportCommand() {
+    }
+
+    /**
+     * Runs payroll and exports the payslips.
+     *
+     * @param payrollSystem The loaded payroll system
+     * @param commandLine The parsed command line
+     * @return Process exit code: 0 on success, 1 if writing failed, 2 for invalid options
+     */
+    public static int run(PayrollSystem payrollSystem, CommandLine commandLine) {
+        List<PayPeriod> periods;
+        List<String> selection;
+        PayslipExporter.Mode mode;
+        try {
+            periods = BatchCommand.periods(commandLine.getOption("period-type", "monthly"),
+                                           commandLine.getOption("from", "06/2024"),
+                                           commandLine.getOption("to", "12/2024"));
+            selection = BatchCommand.selection(commandLine.getOption("select", "all"));
+            mode = layout(commandLine.getOption("layout", "per-employee"));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.err.println("❌ " + e.getMessage());
+            return 2;
+        }
+
+        Path target = Paths.get(commandLine.getOption("output",
+            mode == PayslipExporter.Mode.PER_EMPLOYEE ? "target/payslips" : "target/payslips.txt"));
+        try {
+            payrollSystem.exportPayslips(periods, selection, target, mode);
+            return 0;
+        } catch (IOException e) {
+            System.err.println("❌ Error exporting payslips: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * @param name "per-employee" or "combined" (case-insensitive)
+     * @return The matching export mode
+     * @throws IllegalArgumentException If the name is not a known layout
+     */
+    static PayslipExporter.Mode layout(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "per-employee": return PayslipExporter.Mode.PER_EMPLOYEE;
+            case "combined": return PayslipExporter.Mode.COMBINED;
+            default: throw new IllegalArgumentException("Unknown layout: " + name
+                                                        + " (expected per-employee or combined)");
+        }
+    }
+}
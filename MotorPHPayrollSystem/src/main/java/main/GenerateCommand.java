@@ -0,0 +1,65 @@
+package main;
+
+import utils.DatasetGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes a synthetic employee and attendance dataset for load and scaling tests.
+ * Demonstrates the command pattern: options are validated here and the work is done by DatasetGenerator.
+ */
+public class GenerateCommand {
+    /** Options understood by the generate command. */
+    static final List<String> OPTIONS = Arrays.asList("output-dir", "headcount", "from", "to", "seed",
+                                                      "malformed-rate", "bracket-weights");
+
+    private GenerateCommand() {
+    }
+
+    /**
+     * Generates the dataset.
+     *
+     * @param commandLine The parsed command line
+     * @return Process exit code: 0 on success, 1 if writing failed, 2 for invalid options
+     */
+    public static int run(CommandLine commandLine) {
+        DatasetGenerator generator;
+        Path directory = Paths.get(commandLine.getOption("output-dir", "target/generated"));
+        try {
+            generator = new DatasetGenerator(Long.parseLong(commandLine.getOption("seed", "42")))
+                .headcount(Integer.parseInt(commandLine.getOption("headcount", "1000")))
+                .dateRange(LocalDate.parse(commandLine.getOption("from", "2024-06-03")),
+                           LocalDate.parse(commandLine.getOption("to", "2024-12-31")))
+                .malformedRate(Double.parseDouble(commandLine.getOption("malformed-rate", "0")));
+            if (commandLine.hasOption("bracket-weights")) {
+                String[] parts = commandLine.getOption("bracket-weights", "").split(",");
+                double[] weights = new double[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    weights[i] = Double.parseDouble(parts[i].trim());
+                }
+                generator.bracketWeights(weights);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException is an IllegalArgumentException
+            System.err.println("❌ " + e.getMessage());
+            return 2;
+        }
+
+        try {
+            long start = System.nanoTime();
+            DatasetGenerator.Summary summary = generator.generate(directory);
+            System.out.printf("✅ Generated %s in %s (%.1f s)%n", summary, directory,
+                              (System.nanoTime() - start) / 1e9);
+            return 0;
+        } catch (IOException e) {
+            System.err.println("❌ Error generating dataset: " + e.getMessage());
+            return 1;
+        }
+    }
+}
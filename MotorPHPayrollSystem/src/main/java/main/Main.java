@@ -1,8 +1,23 @@
 package main;
 
+import server.PayrollServer;
+import service.DataWatcher;
+import service.PayrollCache;
 import service.PayrollSystem;
+import utils.PayrollMetrics;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import javax.management.JMException;
 import com.opencsv.exceptions.CsvException;
 
 /**
@@ -12,19 +27,132 @@ import com.opencsv.exceptions.CsvException;
  * - Separation of Concerns: Delegates all payroll processing to PayrollSystem
  */
 public class Main {
+    private static final String USAGE = String.join("\n",
+        "Usage: Main [console|serve [port]|batch|export|generate] [options]",
+        "  console (default)          Interactive payroll console",
+        "  serve [port]               HTTP payroll server (default port 8080)",
+        "  batch                      Write a payroll register and exit",
+        "  export                     Write payslip files and exit",
+        "  generate                   Write a synthetic dataset and exit",
+        "Data options:",
+        "  --employees PATH           Employee CSV (default src/data/employee_data.csv)",
+        "  --attendance PATH[,PATH]   Attendance CSV, or one per site (default src/data/attendance_records.csv)",
+        "  --snapshot PATH|none       Parsed-data snapshot (default target/payroll_data.snapshot)",
+        "  --watch                    Reload the data when the CSVs change (console and serve)",
+        "  --compact-employees        Keep employee records off-heap (for very large headcounts)",
+        "  --rates DIR                Statutory rate tables (default src/data/rates, built-in rates if absent)",
+        "Batch and export options:",
+        "  --from MM/YYYY|YYYY-MM-DD  First month, or first day of a period (default 06/2024)",
+        "  --to MM/YYYY|YYYY-MM-DD    Last month, or last day of a period (default 12/2024)",
+        "  --period-type TYPE         monthly (default), semi-monthly or weekly",
+        "  --select all|N,N,...       Employees to include (default all)",
+        "  --format csv|jsonl         Register format, batch only (default csv)",
+        "  --output PATH              Register file (default standard output), or export directory or file",
+        "                             (default target/payslips, or target/payslips.txt when combined)",
+        "  --layout TYPE              Export layout: per-employee (default) or combined",
+        "Generate options:",
+        "  --output-dir PATH          Where to write the CSVs (default target/generated)",
+        "  --headcount N              Number of employees (default 1000)",
+        "  --from/--to YYYY-MM-DD     Attendance date range (default 2024-06-03 to 2024-12-31)",
+        "  --seed N                   Random seed (default 42)",
+        "  --malformed-rate F         Fraction of malformed rows, 0 to 1 (default 0)",
+        "  --bracket-weights W,...    Six tax bracket weights, lowest (PHP 2,000 up) first (default 30,25,20,15,7,3)");
+
+    private static final List<String> DATA_OPTIONS = Arrays.asList("employees", "attendance", "snapshot",
+                                                                        "compact-employees", "rates", "help");
+
     /**
      * The main method that initiates the payroll application.
      * 
-     * @param args Command line arguments (not used in this application)
+     * @param args Command line arguments: a command (console, serve, batch, export or generate)
+     *             and options; see USAGE
      */
     public static void main(String[] args) {
+        CommandLine commandLine;
+        int port = 8080;
+        try {
+            commandLine = CommandLine.parse(args, "console");
+            Set<String> known = new HashSet<>(DATA_OPTIONS);
+            if (commandLine.getCommand().equals("batch")) {
+                known.addAll(BatchCommand.OPTIONS);
+            } else if (commandLine.getCommand().equals("export")) {
+                known.addAll(ExportCommand.OPTIONS);
+            } else if (commandLine.getCommand().equals("generate")) {
+                known = new HashSet<>(GenerateCommand.OPTIONS);
+                known.add("help");
+            } else if (commandLine.getCommand().equals("console") || commandLine.getCommand().equals("serve")) {
+                known.add("watch");
+            } else {
+                throw new IllegalArgumentException("Unknown command: " + commandLine.getCommand());
+            }
+            commandLine.requireKnownOptions(known);
+            if (commandLine.getCommand().equals("serve") && !commandLine.getArguments().isEmpty()) {
+                port = parsePort(commandLine.getArguments().get(0));
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        if (commandLine.hasOption("help")) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        if (commandLine.getCommand().equals("generate")) {
+            // Generating needs no loaded data
+            System.exit(GenerateCommand.run(commandLine));
+        }
+
+        // In batch mode standard output carries only the register, so status messages go to stderr
+        boolean batch = commandLine.getCommand().equals("batch");
+        PrintStream stdout = System.out;
+        if (batch) {
+            System.setOut(System.err);
+        }
+
         // Instantiate the PayrollSystem - Demonstrates object creation
         PayrollSystem payrollSystem = new PayrollSystem();
+        payrollSystem.setCompactEmployees(commandLine.hasOption("compact-employees"));
+        startMetrics(payrollSystem);
 
         try {
-            // Load necessary data files
-            payrollSystem.loadEmployeeData("src/data/employee_data.csv");
-            payrollSystem.loadAttendanceRecords("src/data/attendance_records.csv"); // Load attendance data
+            // Rate tables are data: an explicit --rates directory must exist, the default one may not
+            Path rates = Paths.get(commandLine.getOption("rates", "src/data/rates"));
+            if (commandLine.hasOption("rates") || Files.isDirectory(rates)) {
+                payrollSystem.loadRates(rates);
+            }
+
+            // Load necessary data files - reuses the parsed snapshot when the CSVs have not changed
+            String snapshot = commandLine.getOption("snapshot", "target/payroll_data.snapshot");
+            String employeeFile = commandLine.getOption("employees", "src/data/employee_data.csv");
+            // Several comma-separated attendance files (one per site) are aggregated concurrently
+            List<String> attendanceFiles = Arrays.asList(
+                commandLine.getOption("attendance", "src/data/attendance_records.csv").split(","));
+            payrollSystem.loadData(employeeFile, attendanceFiles,
+                                   snapshot.equalsIgnoreCase("none") ? null : Paths.get(snapshot));
+            if (commandLine.hasOption("watch")) {
+                List<Path> watched = new ArrayList<>();
+                watched.add(Paths.get(employeeFile));
+                for (String attendanceFile : attendanceFiles) {
+                    watched.add(Paths.get(attendanceFile));
+                }
+                // Daemon thread - swaps in new data while payroll keeps being served
+                new DataWatcher(payrollSystem, watched);
+                System.out.println("✅ Watching " + watched.size() + " data files for changes.");
+            }
+
+            if (batch) {
+                System.exit(BatchCommand.run(payrollSystem, commandLine, stdout));
+            }
+            if (commandLine.getCommand().equals("export")) {
+                System.exit(ExportCommand.run(payrollSystem, commandLine));
+            }
+            if (commandLine.getCommand().equals("serve")) {
+                serve(payrollSystem, port);
+                return;
+            }
 
             // Interactive console for processing payroll
             Scanner scanner = new Scanner(System.in);
@@ -41,11 +169,76 @@ public class Main {
                 // Process payroll for the specified employee
                 payrollSystem.processPayroll(employeeNumber); // Retrieve and use attendance records
             }
-            // Resource management - properly close the scanner
+            // Resource management - properly close the scanner and the payroll workers
             scanner.close();
+            payrollSystem.close();
         } catch (IOException | CsvException e) {
             // Exception handling for file operations
             System.err.println("❌ Error: " + e.getMessage());
+            if (batch || commandLine.getCommand().equals("export")) {
+                System.exit(1);
+            }
+        }
+    }
+
+    /**
+     * @param value The port argument of the serve command
+     * @return The port number
+     * @throws IllegalArgumentException If the value is not a number from 0 to 65535
+     */
+    private static int parsePort(String value) {
+        try {
+            int port = Integer.parseInt(value);
+            if (port >= 0 && port <= 65535) {
+                return port;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the accepted range
+        }
+        throw new IllegalArgumentException("Invalid port: " + value + " (expected 0-65535)");
+    }
+
+    /**
+     * Posts the default periods, so /ytd has totals to report, then runs the HTTP payroll
+     * server until the JVM is stopped.
+     * 
+     * @param payrollSystem The loaded payroll system to serve
+     * @param port TCP port to listen on
+     * @throws IOException If the port cannot be bound
+     */
+    private static void serve(PayrollSystem payrollSystem, int port) throws IOException {
+        int posted = payrollSystem.postPayroll(PayrollSystem.getDefaultPeriods());
+        System.out.println("✅ Posted " + posted + " payroll results to the year-to-date ledger.");
+        PayrollServer server = new PayrollServer(payrollSystem, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+        // The server's dispatcher thread keeps the JVM running after main returns
+        server.start();
+    }
+
+    /**
+     * Exposes runtime metrics over JMX and, when -Dpayroll.metrics.interval=SECONDS is set,
+     * prints them to standard error on that interval.
+     * 
+     * @param payrollSystem The system being run, whose result cache and employee store the gauges report
+     */
+    private static void startMetrics(PayrollSystem payrollSystem) {
+        PayrollMetrics metrics = PayrollMetrics.global();
+        // Registered once, here, so the gauges read the cache of the system actually served
+        PayrollCache cache = payrollSystem.getPayrollCache();
+        metrics.gauge("payroll.cache.size", cache::size);
+        metrics.gauge("payroll.cache.hits", cache::getHits);
+        metrics.gauge("payroll.cache.misses", cache::getMisses);
+        metrics.gauge("payroll.cache.hitRate", cache::getHitRate);
+        metrics.gauge("employees.offheap.bytes", () -> payrollSystem.getData().getEmployees().getOffHeapBytes());
+        try {
+            metrics.registerMBean();
+        } catch (JMException e) {
+            // Metrics are optional - the payroll system works without them
+            System.err.println("⚠ Could not register metrics MBean: " + e.getMessage());
+        }
+        long interval = Long.getLong("payroll.metrics.interval", 0);
+        if (interval > 0) {
+            metrics.startReporting(interval, TimeUnit.SECONDS, System.err);
         }
     }
 }
\ No newline at end of file
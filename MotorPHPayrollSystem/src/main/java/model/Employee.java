@@ -1,5 +1,7 @@
 package model;
 
+import utils.Money;
+
 /**
  * Employee class that holds information related to an employee.
  * This class demonstrates several OOP principles:
@@ -9,6 +11,8 @@ package model;
  * - Immutability: All fields are final to prevent modification after creation
  * - Information Hiding: Internal state is protected from outside manipulation
  * - Single Responsibility Principle: This class is only responsible for employee data
+ *
+ * Salary and allowances are kept in whole centavos (see utils.Money) so payroll sums are exact.
  */
 public class Employee extends Person {
     // Private fields demonstrate encapsulation - data is hidden from other classes
@@ -20,10 +24,10 @@ public class Employee extends Person {
     private final String employmentStatus;
     private final String position;
     private final String supervisor;
-    private final double basicSalary;
-    private final double riceSubsidy;
-    private final double phoneAllowance;
-    private final double clothingAllowance;
+    private final long basicSalary;        // centavos
+    private final long riceSubsidy;        // centavos
+    private final long phoneAllowance;     // centavos
+    private final long clothingAllowance;  // centavos
 
     /**
      * Constructor for Employee class.
@@ -42,10 +46,10 @@ public class Employee extends Person {
      * @param employmentStatus Employee's employment status (Regular, Probationary, etc.)
      * @param position Employee's job position
      * @param supervisor Employee's supervisor/manager
-     * @param basicSalary Employee's basic monthly salary
-     * @param riceSubsidy Employee's rice subsidy allowance
-     * @param phoneAllowance Employee's phone allowance
-     * @param clothingAllowance Employee's clothing allowance
+     * @param basicSalary Employee's basic monthly salary, in pesos (rounded to the centavo)
+     * @param riceSubsidy Employee's rice subsidy allowance, in pesos
+     * @param phoneAllowance Employee's phone allowance, in pesos
+     * @param clothingAllowance Employee's clothing allowance, in pesos
      */
     public Employee(String employeeNumber, String lastName, String firstName, String birthDate, String address,
                     String contactNumber, String tinNumber, String sssNumber, String philHealthNumber, String pagIbigNumber,
@@ -60,10 +64,10 @@ public class Employee extends Person {
         this.employmentStatus = employmentStatus;
         this.position = position;
         this.supervisor = supervisor;
-        this.basicSalary = basicSalary;
-        this.riceSubsidy = riceSubsidy;
-        this.phoneAllowance = phoneAllowance;
-        this.clothingAllowance = clothingAllowance;
+        this.basicSalary = Money.ofPesos(basicSalary);
+        this.riceSubsidy = Money.ofPesos(riceSubsidy);
+        this.phoneAllowance = Money.ofPesos(phoneAllowance);
+        this.clothingAllowance = Money.ofPesos(clothingAllowance);
     }
 
     /**
@@ -74,7 +78,7 @@ public class Employee extends Person {
      */
     @Override
     public double computeCompensation() {
-        return basicSalary + riceSubsidy + phoneAllowance + clothingAllowance;
+        return Money.toPesos(basicSalary + getTotalAllowancesCentavos());
     }
     
     /**
@@ -87,7 +91,7 @@ public class Employee extends Person {
         System.out.println("Name: " + getFullName());
         System.out.println("ID: " + employeeNumber);
         System.out.println("Position: " + position);
-        System.out.println("Basic Salary: PHP " + String.format("%.2f", basicSalary));
+        System.out.println("Basic Salary: PHP " + String.format("%.2f", getBasicSalary()));
         System.out.println("Total Compensation: PHP " + String.format("%.2f", computeCompensation()));
     }
 
@@ -135,22 +139,58 @@ public class Employee extends Person {
     /**
      * @return Employee's basic salary
      */
-    public double getBasicSalary() { return basicSalary; }
+    public double getBasicSalary() { return Money.toPesos(basicSalary); }
     
     /**
      * @return Employee's rice subsidy amount
      */
-    public double getRiceSubsidy() { return riceSubsidy; }
+    public double getRiceSubsidy() { return Money.toPesos(riceSubsidy); }
     
     /**
      * @return Employee's phone allowance amount
      */
-    public double getPhoneAllowance() { return phoneAllowance; }
+    public double getPhoneAllowance() { return Money.toPesos(phoneAllowance); }
     
     /**
      * @return Employee's clothing allowance amount
      */
-    public double getClothingAllowance() { return clothingAllowance; }
+    public double getClothingAllowance() { return Money.toPesos(clothingAllowance); }
+
+    /**
+     * @return Employee's basic monthly salary in centavos
+     */
+    public long getBasicSalaryCentavos() { return basicSalary; }
+
+    /**
+     * @return Rice subsidy, phone and clothing allowances together, in centavos
+     */
+    public long getTotalAllowancesCentavos() {
+        return riceSubsidy + phoneAllowance + clothingAllowance;
+    }
+
+    /**
+     * Two employees are equal when every field of the record is equal.
+     * Used to detect whether a reload actually changed an employee.
+     * 
+     * @param o The object to compare with
+     * @return true if o is an Employee with identical details and pay
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) return false;
+        Employee other = (Employee) o;
+        return employeeNumber.equals(other.employeeNumber) && tinNumber.equals(other.tinNumber)
+            && sssNumber.equals(other.sssNumber) && philHealthNumber.equals(other.philHealthNumber)
+            && pagIbigNumber.equals(other.pagIbigNumber) && employmentStatus.equals(other.employmentStatus)
+            && position.equals(other.position) && supervisor.equals(other.supervisor)
+            && basicSalary == other.basicSalary && riceSubsidy == other.riceSubsidy
+            && phoneAllowance == other.phoneAllowance && clothingAllowance == other.clothingAllowance;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + employeeNumber.hashCode();
+    }
 
    /**
     * Custom toString implementation for Employee class
@@ -170,9 +210,9 @@ public class Employee extends Person {
               "\nStatus: " + employmentStatus +
               "\nPosition: " + position +
               "\nSupervisor: " + supervisor +
-              "\nBasic Salary: PHP " + String.format("%.2f", basicSalary) +
-              "\nRice Subsidy: PHP " + String.format("%.2f", riceSubsidy) +
-              "\nPhone Allowance: PHP " + String.format("%.2f", phoneAllowance) +
-              "\nClothing Allowance: PHP " + String.format("%.2f", clothingAllowance);
+              "\nBasic Salary: PHP " + String.format("%.2f", getBasicSalary()) +
+              "\nRice Subsidy: PHP " + String.format("%.2f", getRiceSubsidy()) +
+              "\nPhone Allowance: PHP " + String.format("%.2f", getPhoneAllowance()) +
+              "\nClothing Allowance: PHP " + String.format("%.2f", getClothingAllowance());
    }
 }
\ No newline at end of file
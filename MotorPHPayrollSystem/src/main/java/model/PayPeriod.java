@@ -0,0 +1,225 @@
+package model;
+
+import utils.Money;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An inclusive date range that payroll is computed over.
+ * This class demonstrates:
+ * - Immutability: Periods are value objects that can be used as map keys
+ * - Static Factory Methods: Monthly, semi-monthly and weekly periods are created by name
+ * - Encapsulation: The label shown on payslips and the share of a month's pay are derived
+ *   from the dates
+ *
+ * Allowances and the statutory tables are monthly amounts; a period pays them in proportion
+ * to its share of a month (see getMonthShareNumerator).
+ */
+public class PayPeriod {
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MM/yyyy");
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+    private final LocalDate start;
+    private final LocalDate end;
+    private final String label;
+    private final long monthShareNumerator;   // share of a month, reduced fraction
+    private final long monthShareDenominator;
+
+    /**
+     * Constructor for PayPeriod class.
+     *
+     * @param start First day of the period
+     * @param end Last day of the period (inclusive)
+     * @throws IllegalArgumentException If end is before start
+     */
+    public PayPeriod(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("Pay period ends before it starts: " + start + " - " + end);
+        }
+        this.start = start;
+        this.end = end;
+        this.label = isWholeMonth(start, end)
+            ? start.format(MONTH_FORMAT)
+            : start.format(DAY_FORMAT) + " - " + end.format(DAY_FORMAT);
+        long[] share = monthShare(start, end);
+        this.monthShareNumerator = share[0];
+        this.monthShareDenominator = share[1];
+    }
+
+    /**
+     * @param month The calendar month
+     * @return A period covering the whole month
+     */
+    public static PayPeriod monthly(YearMonth month) {
+        return new PayPeriod(month.atDay(1), month.atEndOfMonth());
+    }
+
+    /**
+     * Parses a "MM/YYYY" label into a monthly period.
+     *
+     * @param label The month label, e.g. "06/2024"
+     * @return A period covering that month
+     * @throws java.time.format.DateTimeParseException If the label is not a valid MM/YYYY month
+     */
+    public static PayPeriod parseMonth(String label) {
+        return monthly(YearMonth.parse(label.trim(), MONTH_FORMAT));
+    }
+
+    /**
+     * @param month The calendar month
+     * @param secondHalf false for the 1st-15th, true for the 16th to month end
+     * @return The semi-monthly period
+     */
+    public static PayPeriod semiMonthly(YearMonth month, boolean secondHalf) {
+        return secondHalf
+            ? new PayPeriod(month.atDay(16), month.atEndOfMonth())
+            : new PayPeriod(month.atDay(1), month.atDay(15));
+    }
+
+    /**
+     * @param monday Any date; the period starts on the Monday of its week
+     * @return The Monday-to-Sunday period containing that date
+     */
+    public static PayPeriod weekly(LocalDate monday) {
+        LocalDate start = monday.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return new PayPeriod(start, start.plusDays(6));
+    }
+
+    /**
+     * @param from First month (inclusive)
+     * @param to Last month (inclusive)
+     * @return One monthly period per month in the range
+     */
+    public static List<PayPeriod> monthlyRange(YearMonth from, YearMonth to) {
+        List<PayPeriod> periods = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            periods.add(monthly(month));
+        }
+        return periods;
+    }
+
+    /**
+     * @param from First month (inclusive)
+     * @param to Last month (inclusive)
+     * @return Two semi-monthly periods per month in the range
+     */
+    public static List<PayPeriod> semiMonthlyRange(YearMonth from, YearMonth to) {
+        List<PayPeriod> periods = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            periods.add(semiMonthly(month, false));
+            periods.add(semiMonthly(month, true));
+        }
+        return periods;
+    }
+
+    /**
+     * @param from First day to cover
+     * @param to Last day to cover
+     * @return Consecutive Monday-to-Sunday periods covering the range
+     */
+    public static List<PayPeriod> weeklyRange(LocalDate from, LocalDate to) {
+        List<PayPeriod> periods = new ArrayList<>();
+        for (PayPeriod week = weekly(from); !week.getStart().isAfter(to); week = weekly(week.getEnd().plusDays(1))) {
+            periods.add(week);
+        }
+        return periods;
+    }
+
+    private static boolean isWholeMonth(LocalDate start, LocalDate end) {
+        return start.getDayOfMonth() == 1 && end.equals(YearMonth.from(start).atEndOfMonth());
+    }
+
+    private static long[] monthShare(LocalDate start, LocalDate end) {
+        boolean endsMonth = end.equals(YearMonth.from(end).atEndOfMonth());
+        if (start.getDayOfMonth() == 1 && endsMonth) {
+            // One or more whole calendar months
+            return new long[] {ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(end)) + 1, 1};
+        }
+        if (YearMonth.from(start).equals(YearMonth.from(end))
+                && ((start.getDayOfMonth() == 1 && end.getDayOfMonth() == 15)
+                    || (start.getDayOfMonth() == 16 && endsMonth))) {
+            return new long[] {1, 2};
+        }
+        // Any other range by its days, counting 52 weeks (364 days) to 12 months
+        long numerator = (ChronoUnit.DAYS.between(start, end) + 1) * 12;
+        long denominator = 364;
+        long gcd = gcd(numerator, denominator);
+        return new long[] {numerator / gcd, denominator / gcd};
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * @return First day of the period
+     */
+    public LocalDate getStart() { return start; }
+
+    /**
+     * @return Last day of the period (inclusive)
+     */
+    public LocalDate getEnd() { return end; }
+
+    /**
+     * @return Label shown on payslips: "MM/YYYY" for whole months, otherwise the date range
+     */
+    public String getLabel() { return label; }
+
+    /**
+     * Numerator of the share of a month this period is paid for: 1 for calendar months, 1/2
+     * for either half of a month (1st-15th, 16th to month end), 3/13 for a week and
+     * days × 12 / 364 for any other range.
+     * 
+     * @return Numerator of the share, in lowest terms
+     */
+    public long getMonthShareNumerator() { return monthShareNumerator; }
+
+    /**
+     * @return Denominator of the share of a month (see getMonthShareNumerator)
+     */
+    public long getMonthShareDenominator() { return monthShareDenominator; }
+
+    /**
+     * @return true if the period is paid as one whole month
+     */
+    public boolean isMonthShareWhole() {
+        return monthShareNumerator == 1 && monthShareDenominator == 1;
+    }
+
+    /**
+     * Scales a monthly amount, such as an allowance, to this period.
+     * 
+     * @param monthlyCentavos The amount for a whole month, in centavos
+     * @return The amount for this period, in centavos, rounded half up
+     */
+    public long prorate(long monthlyCentavos) {
+        return isMonthShareWhole() ? monthlyCentavos
+                                   : Money.multiply(monthlyCentavos, monthShareNumerator, monthShareDenominator);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PayPeriod)) return false;
+        PayPeriod other = (PayPeriod) o;
+        return start.equals(other.start) && end.equals(other.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * start.hashCode() + end.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,162 @@
+package model;
+
+import utils.Money;
+
+/**
+ * Immutable result of one payroll computation for a single employee and period.
+ * This class demonstrates:
+ * - Encapsulation: All computed amounts are private with public getters
+ * - Immutability: Results can be shared safely between threads once created
+ * - Separation of Concerns: Holds computed values only, presentation is left to PayslipGenerator
+ *
+ * Amounts are kept in whole centavos (see utils.Money); the peso getters are for display.
+ */
+public class PayrollResult {
+    private final Employee employee;
+    private final PayPeriod period;
+    private final double hoursWorked;
+    private final long grossSalary;
+    private final long sss;
+    private final long philHealth;
+    private final long pagIbig;
+    private final long withholdingTax;
+    private final long totalDeductions;
+    private final long netSalary;
+    private final long totalAllowances;
+
+    /**
+     * Constructor for PayrollResult class.
+     *
+     * @param employee The employee the payroll was computed for
+     * @param period The pay period
+     * @param hoursWorked Total hours worked in the period
+     * @param grossSalary Gross salary for the period, in centavos
+     * @param sss SSS contribution, in centavos
+     * @param philHealth PhilHealth contribution, in centavos
+     * @param pagIbig Pag-IBIG contribution, in centavos
+     * @param withholdingTax Withholding tax, in centavos
+     * @param totalDeductions Sum of all deductions, in centavos
+     * @param netSalary Gross salary less deductions (allowances excluded), in centavos
+     * @param totalAllowances Allowances for the period (the monthly allowances prorated to it), in centavos
+     */
+    public PayrollResult(Employee employee, PayPeriod period, double hoursWorked, long grossSalary,
+                         long sss, long philHealth, long pagIbig, long withholdingTax,
+                         long totalDeductions, long netSalary, long totalAllowances) {
+        this.employee = employee;
+        this.period = period;
+        this.hoursWorked = hoursWorked;
+        this.grossSalary = grossSalary;
+        this.sss = sss;
+        this.philHealth = philHealth;
+        this.pagIbig = pagIbig;
+        this.withholdingTax = withholdingTax;
+        this.totalDeductions = totalDeductions;
+        this.netSalary = netSalary;
+        this.totalAllowances = totalAllowances;
+    }
+
+    /**
+     * @return The employee the payroll was computed for
+     */
+    public Employee getEmployee() { return employee; }
+
+    /**
+     * @return The pay period
+     */
+    public PayPeriod getPeriod() { return period; }
+
+    /**
+     * @return Total hours worked in the period
+     */
+    public double getHoursWorked() { return hoursWorked; }
+
+    /**
+     * @return Gross salary for the period
+     */
+    public double getGrossSalary() { return Money.toPesos(grossSalary); }
+
+    /**
+     * @return Gross salary for the period, in centavos
+     */
+    public long getGrossSalaryCentavos() { return grossSalary; }
+
+    /**
+     * @return SSS contribution
+     */
+    public double getSss() { return Money.toPesos(sss); }
+
+    /**
+     * @return SSS contribution, in centavos
+     */
+    public long getSssCentavos() { return sss; }
+
+    /**
+     * @return PhilHealth contribution
+     */
+    public double getPhilHealth() { return Money.toPesos(philHealth); }
+
+    /**
+     * @return PhilHealth contribution, in centavos
+     */
+    public long getPhilHealthCentavos() { return philHealth; }
+
+    /**
+     * @return Pag-IBIG contribution
+     */
+    public double getPagIbig() { return Money.toPesos(pagIbig); }
+
+    /**
+     * @return Pag-IBIG contribution, in centavos
+     */
+    public long getPagIbigCentavos() { return pagIbig; }
+
+    /**
+     * @return Withholding tax
+     */
+    public double getWithholdingTax() { return Money.toPesos(withholdingTax); }
+
+    /**
+     * @return Withholding tax, in centavos
+     */
+    public long getWithholdingTaxCentavos() { return withholdingTax; }
+
+    /**
+     * @return Sum of all deductions
+     */
+    public double getTotalDeductions() { return Money.toPesos(totalDeductions); }
+
+    /**
+     * @return Sum of all deductions, in centavos
+     */
+    public long getTotalDeductionsCentavos() { return totalDeductions; }
+
+    /**
+     * @return Gross salary less deductions (allowances excluded)
+     */
+    public double getNetSalary() { return Money.toPesos(netSalary); }
+
+    /**
+     * @return Gross salary less deductions (allowances excluded), in centavos
+     */
+    public long getNetSalaryCentavos() { return netSalary; }
+
+    /**
+     * @return Allowances for the period
+     */
+    public double getTotalAllowances() { return Money.toPesos(totalAllowances); }
+
+    /**
+     * @return Allowances for the period, in centavos
+     */
+    public long getTotalAllowancesCentavos() { return totalAllowances; }
+
+    /**
+     * @return Net salary plus allowances: the amount paid out, shown as Final Net Salary on payslips
+     */
+    public double getFinalNetSalary() { return Money.toPesos(getFinalNetSalaryCentavos()); }
+
+    /**
+     * @return Net salary plus allowances, in centavos
+     */
+    public long getFinalNetSalaryCentavos() { return netSalary + totalAllowances; }
+}
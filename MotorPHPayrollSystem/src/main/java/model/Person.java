@@ -1,5 +1,7 @@
 package model;
 
+import java.util.Objects;
+
 /**
  * Abstract base class for Person entities in the system.
  * This class demonstrates:
@@ -49,6 +51,16 @@ public abstract class Person {
         return firstName + " " + lastName;
     }
     
+    /**
+     * @return Person's last name
+     */
+    public String getLastName() { return lastName; }
+    
+    /**
+     * @return Person's first name
+     */
+    public String getFirstName() { return firstName; }
+    
     /**
      * @return Person's birth date
      */
@@ -69,4 +81,25 @@ public abstract class Person {
      * Must be implemented by subclasses to show relevant details.
      */
     public abstract void displayInformation();
+
+    /**
+     * Two persons are equal when all their personal details are equal.
+     * 
+     * @param o The object to compare with
+     * @return true if o is a Person of the same class with the same details
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Person other = (Person) o;
+        return lastName.equals(other.lastName) && firstName.equals(other.firstName)
+            && birthDate.equals(other.birthDate) && address.equals(other.address)
+            && contactNumber.equals(other.contactNumber);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lastName, firstName, birthDate, address, contactNumber);
+    }
 }
@@ -0,0 +1,195 @@
+package server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local load generator for PayrollServer.
+ * This class demonstrates:
+ * - Concurrency: A fixed number of client threads each keep one request in flight
+ * - Separation of Concerns: Only measures the server; it knows nothing of payroll internals
+ *
+ * Usage: java server.LoadTestClient [baseUrl] [concurrency] [seconds] [path...]
+ * Defaults: http://localhost:8080, 32 clients, 10 seconds, and payroll, payslip and employee
+ * requests for employees 10001-10034. Every latency is kept, so the reported percentiles are exact.
+ */
+public class LoadTestClient {
+    private static final String USAGE =
+        "Usage: java server.LoadTestClient [baseUrl] [concurrency] [seconds] [path...]";
+    private static final List<String> DEFAULT_PATHS = defaultPaths();
+
+    /**
+     * Runs the load test and prints requests/sec and latency percentiles.
+     *
+     * @param args Optional base URL, concurrency, duration in seconds, and request paths
+     * @throws Exception If the load test cannot be run
+     */
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency;
+        int seconds;
+        try {
+            concurrency = args.length > 1 ? parsePositive(args[1], "concurrency") : 32;
+            seconds = args.length > 2 ? parsePositive(args[2], "seconds") : 10;
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        List<String> paths = args.length > 3 ? Arrays.asList(args).subList(3, args.length) : DEFAULT_PATHS;
+
+        Report report = run(baseUrl, concurrency, Duration.ofSeconds(seconds), paths);
+        System.out.println(report);
+    }
+
+    private static int parsePositive(String value, String name) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the accepted range
+        }
+        throw new IllegalArgumentException("Invalid " + name + ": " + value + " (expected a positive whole number)");
+    }
+
+    /**
+     * Sends requests for the given duration from a number of concurrent clients.
+     *
+     * @param baseUrl Server URL without a trailing slash, e.g. http://localhost:8080
+     * @param concurrency Number of concurrent clients
+     * @param duration How long to send requests for
+     * @param paths Request paths, picked at random for every request
+     * @return The measured throughput and latencies
+     * @throws Exception If a client thread fails unexpectedly
+     */
+    public static Report run(String baseUrl, int concurrency, Duration duration, List<String> paths)
+            throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<HttpRequest> requests = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).build());
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Future<Worker>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(clients.submit(() -> new Worker().run(client, requests, deadline)));
+        }
+
+        List<Worker> workers = new ArrayList<>();
+        for (Future<Worker> future : futures) {
+            workers.add(future.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+        return new Report(workers, elapsed);
+    }
+
+    private static List<String> defaultPaths() {
+        List<String> paths = new ArrayList<>();
+        for (int number = 10001; number <= 10034; number++) {
+            paths.add("/payroll/" + number + "?period=06/2024");
+            paths.add("/payslips/" + number + "?period=12/2024");
+            paths.add("/employees/" + number);
+        }
+        return paths;
+    }
+
+    /**
+     * One client: sends requests back to back and records each latency.
+     */
+    private static final class Worker {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        Worker run(HttpClient client, List<HttpRequest> requests, long deadline) throws InterruptedException {
+            while (System.nanoTime() < deadline) {
+                HttpRequest request = requests.get(ThreadLocalRandom.current().nextInt(requests.size()));
+                long sent = System.nanoTime();
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() >= 500) {
+                        errors++;
+                    }
+                } catch (IOException e) {
+                    errors++;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - sent;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Throughput and latency percentiles of a load test.
+     */
+    public static class Report {
+        private final long requests;
+        private final long errors;
+        private final double requestsPerSecond;
+        private final long[] sortedLatencies;
+
+        Report(List<Worker> workers, long elapsedNanos) {
+            int total = 0;
+            long failed = 0;
+            for (Worker worker : workers) {
+                total += worker.count;
+                failed += worker.errors;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (Worker worker : workers) {
+                System.arraycopy(worker.latencies, 0, all, offset, worker.count);
+                offset += worker.count;
+            }
+            Arrays.sort(all);
+            this.requests = total;
+            this.errors = failed;
+            this.requestsPerSecond = total / (elapsedNanos / 1e9);
+            this.sortedLatencies = all;
+        }
+
+        public long getRequests() { return requests; }
+        public long getErrors() { return errors; }
+        public double getRequestsPerSecond() { return requestsPerSecond; }
+
+        /**
+         * @param fraction Percentile as a fraction, e.g. 0.99
+         * @return Latency at that percentile in milliseconds, or 0 if no request completed
+         */
+        public double percentileMillis(double fraction) {
+            if (sortedLatencies.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(fraction * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d errors=%d throughput=%.1f req/s p50=%.2fms p99=%.2fms max=%.2fms",
+                                 requests, errors, requestsPerSecond, percentileMillis(0.50),
+                                 percentileMillis(0.99), percentileMillis(1.0));
+        }
+    }
+}
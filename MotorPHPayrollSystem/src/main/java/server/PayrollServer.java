@@ -0,0 +1,561 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import model.Employee;
+import model.PayPeriod;
+import service.EmployeeRepository;
+import service.OrgHierarchy;
+import service.AttendanceStore;
+import service.PayrollCache;
+import service.PayrollResultStore;
+import service.PayrollSystem;
+import service.YearToDateLedger;
+import utils.JsonText;
+import utils.Money;
+import utils.PayrollRegisterWriter;
+import utils.PayslipGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Embedded HTTP server exposing a loaded PayrollSystem to other applications.
+ * This class demonstrates:
+ * - Façade Pattern: A handful of read-only endpoints in front of the payroll subsystem
+ * - Separation of Concerns: Request parsing and JSON output live here; payroll stays in PayrollSystem
+ * - Concurrency: Requests are handled in parallel against one shared PayrollSystem
+ *
+ * Endpoints (GET only):
+ *   /health                      - "OK" when the server is up
+ *   /employees/{number}          - Employee record
+ *   /payroll/{number}            - Payroll results for the requested period(s)
+ *   /payslips/{number}           - Rendered payslip text for the requested period(s)
+ *   /teams/{number}              - Payroll cost of the employee's team and of each direct report's team
+ *   /ytd/{number}                - Year-to-date totals and annual tax true-up of posted periods
+ *                                  (?year=YYYY, default 2024)
+ *   /summary/{groupBy}           - Sum, count or percentile of a result column over the whole
+ *                                  run, grouped by position, status or supervisor, or "all";
+ *                                  ?column=gross|sss|philhealth|pagibig|tax|allowances|net|hours
+ *                                  (default net), ?stat=sum|count|pNN (default sum), and
+ *                                  ?position=, ?status=, ?supervisor= filters
+ *
+ * Periods are chosen with ?period=MM/YYYY or ?from=YYYY-MM-DD&amp;to=YYYY-MM-DD; without either,
+ * the default June to December 2024 months are returned. Responses are JSON, except payslips,
+ * which default to plain text; ?format=json or ?format=text switches between the two, and
+ * ?format=html renders them as HTML tables.
+ *
+ * Each request runs on its own virtual thread when the JVM provides them (Java 21+);
+ * on older JVMs a fixed pool of platform threads is used instead.
+ */
+public class PayrollServer {
+    private static final Logger LOGGER = Logger.getLogger(PayrollServer.class.getName());
+
+    // Platform threads used when virtual threads are unavailable; requests are short and mostly CPU
+    private static final int FALLBACK_THREADS = Math.max(32, Runtime.getRuntime().availableProcessors() * 4);
+
+    private final PayrollSystem payrollSystem;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile TeamCostsEntry lastTeamCosts;
+
+    /**
+     * Creates a server; call start() to begin accepting requests.
+     *
+     * @param payrollSystem A PayrollSystem with its data already loaded
+     * @param port TCP port to listen on, or 0 for any free port
+     * @throws IOException If the port cannot be bound
+     */
+    public PayrollServer(PayrollSystem payrollSystem, int port) throws IOException {
+        this.payrollSystem = payrollSystem;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/health", exchange -> send(exchange, 200, "text/plain", "OK\n"));
+        server.createContext("/employees/", handler(this::handleEmployee));
+        server.createContext("/payroll/", handler(this::handlePayroll));
+        server.createContext("/payslips/", handler(this::handlePayslips));
+        server.createContext("/teams/", handler(this::handleTeam));
+        server.createContext("/ytd/", handler(this::handleYearToDate));
+        server.createContext("/summary/", handler("groupBy", this::handleSummary));
+    }
+
+    /**
+     * Starts accepting requests in the background.
+     */
+    public void start() {
+        server.start();
+        System.out.println("✅ Payroll server listening on port " + getPort());
+    }
+
+    /**
+     * Stops the server, giving in-flight requests up to the given delay to finish.
+     *
+     * @param delaySeconds Seconds to wait for in-flight requests
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The port the server is bound to
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Uses a virtual-thread-per-task executor when the running JVM has one. The project targets
+     * Java 17, so the factory is looked up reflectively instead of being called directly.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(FALLBACK_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "payroll-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handleEmployee(HttpExchange exchange, String employeeNumber, Map<String, String> query)
+            throws IOException {
+        Employee employee = payrollSystem.getEmployees().findByNumber(employeeNumber);
+        if (employee == null) {
+            sendError(exchange, 404, "Employee not found: " + employeeNumber);
+        } else if ("text".equals(query.get("format"))) {
+            send(exchange, 200, "text/plain", employee + "\n");
+        } else {
+            send(exchange, 200, "application/json", employeeJson(employee));
+        }
+    }
+
+    private void handlePayroll(HttpExchange exchange, String employeeNumber, Map<String, String> query)
+            throws IOException {
+        List<PayrollCache.Entry> entries = lookupPayroll(exchange, employeeNumber, query);
+        if (entries == null) {
+            return;
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (PayrollCache.Entry entry : entries) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            PayrollRegisterWriter.appendJson(json, entry.getResult());
+        }
+        send(exchange, 200, "application/json", json.append("]\n").toString());
+    }
+
+    private void handlePayslips(HttpExchange exchange, String employeeNumber, Map<String, String> query)
+            throws IOException {
+        List<PayrollCache.Entry> entries = lookupPayroll(exchange, employeeNumber, query);
+        if (entries == null) {
+            return;
+        }
+        if ("json".equals(query.get("format"))) {
+            StringBuilder json = new StringBuilder("[");
+            for (PayrollCache.Entry entry : entries) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append("{\"employeeNumber\":").append(JsonText.quote(employeeNumber))
+                    .append(",\"period\":").append(JsonText.quote(entry.getResult().getPeriod().getLabel()))
+                    .append(",\"payslip\":").append(JsonText.quote(entry.getPayslip())).append('}');
+            }
+            send(exchange, 200, "application/json", json.append("]\n").toString());
+        } else if ("html".equals(query.get("format"))) {
+            StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html><body>\n");
+            for (PayrollCache.Entry entry : entries) {
+                html.append("<h2>Payslip for ").append(entry.getResult().getPeriod()).append("</h2>\n")
+                    .append(PayslipGenerator.renderPayslipHtml(entry.getResult()));
+            }
+            send(exchange, 200, "text/html", html.append("</body></html>\n").toString());
+        } else {
+            StringBuilder text = new StringBuilder();
+            for (PayrollCache.Entry entry : entries) {
+                text.append("\n========================= PAYSLIP FOR ").append(entry.getResult().getPeriod())
+                    .append(" =========================\n\n").append(entry.getPayslip());
+            }
+            send(exchange, 200, "text/plain", text.toString());
+        }
+    }
+
+    private void handleTeam(HttpExchange exchange, String employeeNumber, Map<String, String> query)
+            throws IOException {
+        List<PayPeriod> periods;
+        try {
+            periods = requestedPeriods(query);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            sendError(exchange, 400, "Invalid period: " + e.getMessage());
+            return;
+        }
+        PayrollSystem.TeamCosts costs = teamCosts(periods);
+        EmployeeRepository employees = costs.getData().getEmployees();
+        int ordinal = employees.ordinalOf(EmployeeRepository.parseEmployeeNumber(employeeNumber));
+        if (ordinal < 0) {
+            sendError(exchange, 404, "Employee not found: " + employeeNumber);
+            return;
+        }
+        OrgHierarchy hierarchy = costs.getData().getHierarchy();
+        StringBuilder json = new StringBuilder();
+        appendTeamJson(json, employees, hierarchy, costs.getRollup(), ordinal);
+        json.setLength(json.length() - 1);
+        json.append(",\"directReports\":[");
+        for (int report : hierarchy.directReportsOf(ordinal)) {
+            appendTeamJson(json, employees, hierarchy, costs.getRollup(), report);
+            json.append(',');
+        }
+        if (json.charAt(json.length() - 1) == ',') {
+            json.setLength(json.length() - 1);
+        }
+        send(exchange, 200, "application/json", json.append("]}\n").toString());
+    }
+
+    private void handleYearToDate(HttpExchange exchange, String employeeNumber, Map<String, String> query)
+            throws IOException {
+        if (payrollSystem.getEmployees().findByNumber(employeeNumber) == null) {
+            sendError(exchange, 404, "Employee not found: " + employeeNumber);
+            return;
+        }
+        int year;
+        try {
+            year = Integer.parseInt(query.getOrDefault("year", "2024"));
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "Invalid year: " + query.get("year"));
+            return;
+        }
+        // Only posted periods are included; the other endpoints compute payroll without posting it
+        YearToDateLedger.YearToDate ytd = payrollSystem.getYearToDate(employeeNumber, year);
+        StringBuilder json = new StringBuilder("{\"employeeNumber\":").append(JsonText.quote(employeeNumber))
+            .append(",\"year\":").append(year)
+            .append(",\"periods\":").append(ytd.getPeriodCount())
+            .append(",\"through\":").append(ytd.getThroughDate() == null ? "null"
+                                                : JsonText.quote(ytd.getThroughDate().toString()));
+        for (YearToDateLedger.Measure measure : YearToDateLedger.Measure.values()) {
+            json.append(",\"").append(camelCase(measure.name())).append("\":").append(amount(ytd.getCentavos(measure)));
+        }
+        json.append(",\"annualTaxDue\":").append(amount(ytd.getAnnualTaxDueCentavos()))
+            .append(",\"trueUp\":").append(amount(ytd.getTrueUpCentavos()));
+        send(exchange, 200, "application/json", json.append("}\n").toString());
+    }
+
+    /**
+     * Queries the run over the requested periods, reusing the latest run when it still covers
+     * them, so repeated summaries of one close cost one payroll run.
+     */
+    private void handleSummary(HttpExchange exchange, String groupBy, Map<String, String> query)
+            throws IOException {
+        List<PayPeriod> periods;
+        PayrollResultStore.Dimension dimension;
+        PayrollResultStore.Column column;
+        String stat = query.getOrDefault("stat", "sum").toLowerCase(Locale.ROOT);
+        double percentile = 0;
+        try {
+            periods = requestedPeriods(query);
+            dimension = groupBy.equalsIgnoreCase("all") ? null : dimension(groupBy);
+            column = column(query.getOrDefault("column", "net"));
+            if (stat.startsWith("p")) {
+                percentile = Double.parseDouble(stat.substring(1));
+                if (!(percentile >= 0 && percentile <= 100)) {
+                    throw new IllegalArgumentException("percentile must be from 0 to 100: " + stat);
+                }
+            } else if (!stat.equals("sum") && !stat.equals("count")) {
+                throw new IllegalArgumentException("unknown stat: " + stat + " (expected sum, count or pNN)");
+            }
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException
+            sendError(exchange, 400, "Invalid summary: " + e.getMessage());
+            return;
+        }
+
+        PayrollResultStore.Query results = payrollSystem.getRun(periods).query();
+        for (PayrollResultStore.Dimension filter : PayrollResultStore.Dimension.values()) {
+            String value = query.get(dimensionName(filter));
+            if (value != null) {
+                results.where(filter, value);
+            }
+        }
+        StringBuilder json = new StringBuilder("{\"periods\":").append(periods.size())
+            .append(",\"rows\":").append(results.count())
+            .append(",\"column\":").append(JsonText.quote(columnName(column)))
+            .append(",\"stat\":").append(JsonText.quote(stat));
+        if (dimension == null) {
+            json.append(",\"value\":");
+            if (stat.equals("count")) {
+                json.append(results.count());
+            } else {
+                json.append(measure(column, stat.equals("sum") ? results.sum(column)
+                                                              : results.percentile(column, percentile)));
+            }
+        } else {
+            json.append(",\"groupBy\":").append(JsonText.quote(dimensionName(dimension))).append(",\"groups\":{");
+            Map<String, Long> groups = stat.equals("sum") ? results.sumBy(dimension, column)
+                : stat.equals("count") ? results.countBy(dimension)
+                : results.percentileBy(dimension, column, percentile);
+            for (Map.Entry<String, Long> group : groups.entrySet()) {
+                json.append(JsonText.quote(group.getKey())).append(':')
+                    .append(stat.equals("count") ? Long.toString(group.getValue()) : measure(column, group.getValue()))
+                    .append(',');
+            }
+            if (json.charAt(json.length() - 1) == ',') {
+                json.setLength(json.length() - 1);
+            }
+            json.append('}');
+        }
+        send(exchange, 200, "application/json", json.append("}\n").toString());
+    }
+
+    private static PayrollResultStore.Dimension dimension(String name) {
+        for (PayrollResultStore.Dimension dimension : PayrollResultStore.Dimension.values()) {
+            if (dimensionName(dimension).equalsIgnoreCase(name)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("unknown group: " + name + " (expected all, position, status or supervisor)");
+    }
+
+    private static String dimensionName(PayrollResultStore.Dimension dimension) {
+        return dimension == PayrollResultStore.Dimension.EMPLOYMENT_STATUS ? "status"
+                                                                           : dimension.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static PayrollResultStore.Column column(String name) {
+        for (PayrollResultStore.Column column : PayrollResultStore.Column.values()) {
+            if (columnName(column).equalsIgnoreCase(name.trim())) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("unknown column: " + name
+                                           + " (expected gross, sss, philhealth, pagibig, tax, allowances, net or hours)");
+    }
+
+    private static String columnName(PayrollResultStore.Column column) {
+        return column == PayrollResultStore.Column.WITHHOLDING_TAX ? "tax" : column.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Formats a column value: hours from their fixed-point units, everything else as pesos.
+     */
+    private static String measure(PayrollResultStore.Column column, long value) {
+        if (column == PayrollResultStore.Column.HOURS) {
+            return String.format(Locale.ROOT, "%.2f", (double) value / AttendanceStore.UNITS_PER_HOUR);
+        }
+        return amount(value);
+    }
+
+    private static String camelCase(String constant) {
+        StringBuilder name = new StringBuilder();
+        for (String word : constant.toLowerCase(Locale.ROOT).split("_")) {
+            name.append(name.length() == 0 ? word : Character.toUpperCase(word.charAt(0)) + word.substring(1));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Reuses the last rollup while the periods and the loaded data are unchanged, so
+     * requests for different teams of the same close share one payroll run.
+     */
+    private PayrollSystem.TeamCosts teamCosts(List<PayPeriod> periods) {
+        TeamCostsEntry cached = lastTeamCosts;
+        if (cached != null && cached.periods.equals(periods)
+                && cached.costs.getData() == payrollSystem.getData()) {
+            return cached.costs;
+        }
+        PayrollSystem.TeamCosts costs = payrollSystem.computeTeamCosts(periods);
+        lastTeamCosts = new TeamCostsEntry(periods, costs);
+        return costs;
+    }
+
+    private static void appendTeamJson(StringBuilder json, EmployeeRepository employees, OrgHierarchy hierarchy,
+                                       OrgHierarchy.Rollup rollup, int ordinal) {
+        Employee employee = employees.get(ordinal);
+        json.append("{\"employeeNumber\":").append(JsonText.quote(employee.getEmployeeNumber()))
+            .append(",\"name\":").append(JsonText.quote(employee.getFullName()))
+            .append(",\"teamSize\":").append(hierarchy.teamSizeOf(ordinal));
+        for (OrgHierarchy.Measure measure : OrgHierarchy.Measure.values()) {
+            String name = measure.name().toLowerCase(Locale.ROOT);
+            json.append(",\"").append(name).append("\":").append(amount(rollup.getOwnCentavos(ordinal, measure)))
+                .append(",\"team").append(Character.toUpperCase(name.charAt(0))).append(name.substring(1))
+                .append("\":").append(amount(rollup.getTeamCentavos(ordinal, measure)));
+        }
+        json.append('}');
+    }
+
+    private static String amount(long centavos) {
+        return String.format(Locale.ROOT, "%.2f", Money.toPesos(centavos));
+    }
+
+    /**
+     * A computed rollup and the periods it covers.
+     */
+    private static final class TeamCostsEntry {
+        private final List<PayPeriod> periods;
+        private final PayrollSystem.TeamCosts costs;
+
+        TeamCostsEntry(List<PayPeriod> periods, PayrollSystem.TeamCosts costs) {
+            this.periods = periods;
+            this.costs = costs;
+        }
+    }
+
+    /**
+     * Resolves the requested periods and computes payroll for each.
+     * Sends an error response and returns null when the request cannot be served.
+     */
+    private List<PayrollCache.Entry> lookupPayroll(HttpExchange exchange, String employeeNumber,
+                                                   Map<String, String> query) throws IOException {
+        if (payrollSystem.getEmployees().findByNumber(employeeNumber) == null) {
+            sendError(exchange, 404, "Employee not found: " + employeeNumber);
+            return null;
+        }
+        List<PayPeriod> periods;
+        try {
+            periods = requestedPeriods(query);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            sendError(exchange, 400, "Invalid period: " + e.getMessage());
+            return null;
+        }
+
+        List<PayrollCache.Entry> entries = new ArrayList<>(periods.size());
+        for (PayPeriod period : periods) {
+            PayrollCache.Entry entry = payrollSystem.getPayroll(employeeNumber, period);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        if (entries.isEmpty()) {
+            sendError(exchange, 404, "No attendance records found for " + employeeNumber);
+            return null;
+        }
+        return entries;
+    }
+
+    private static List<PayPeriod> requestedPeriods(Map<String, String> query) {
+        if (query.containsKey("period")) {
+            return Collections.singletonList(PayPeriod.parseMonth(query.get("period")));
+        }
+        if (query.containsKey("from") || query.containsKey("to")) {
+            if (!query.containsKey("from") || !query.containsKey("to")) {
+                throw new IllegalArgumentException("both from and to are required");
+            }
+            return Collections.singletonList(new PayPeriod(LocalDate.parse(query.get("from")),
+                                                           LocalDate.parse(query.get("to"))));
+        }
+        return PayrollSystem.getDefaultPeriods();
+    }
+
+    /**
+     * Handles one endpoint below a context path, e.g. /employees/{number}.
+     */
+    @FunctionalInterface
+    private interface EndpointHandler {
+        void handle(HttpExchange exchange, String employeeNumber, Map<String, String> query) throws IOException;
+    }
+
+    /**
+     * Wraps an endpoint with method checks, path and query parsing, and error handling.
+     */
+    private static HttpHandler handler(EndpointHandler endpoint) {
+        return handler("employeeNumber", endpoint);
+    }
+
+    /**
+     * @param segment Name of the path segment below the context, for error messages
+     */
+    private static HttpHandler handler(String segment, EndpointHandler endpoint) {
+        return exchange -> {
+            try {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", "GET");
+                    sendError(exchange, 405, "Only GET is supported");
+                    return;
+                }
+                URI uri = exchange.getRequestURI();
+                String context = exchange.getHttpContext().getPath();
+                String employeeNumber = uri.getPath().substring(context.length());
+                if (employeeNumber.isEmpty() || employeeNumber.contains("/")) {
+                    sendError(exchange, 404, "Expected " + context + "{" + segment + "}");
+                    return;
+                }
+                endpoint.handle(exchange, employeeNumber, parseQuery(uri.getRawQuery()));
+            } catch (RuntimeException e) {
+                // Graceful error handling - one failing request must not take down the server
+                LOGGER.log(Level.WARNING, "❌ Error handling " + exchange.getRequestURI(), e);
+                sendError(exchange, 500, "Internal error");
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT),
+                      URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "application/json", "{\"error\":" + JsonText.quote(message) + "}\n");
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String employeeJson(Employee employee) {
+        return "{\"employeeNumber\":" + JsonText.quote(employee.getEmployeeNumber())
+            + ",\"lastName\":" + JsonText.quote(employee.getLastName())
+            + ",\"firstName\":" + JsonText.quote(employee.getFirstName())
+            + ",\"birthDate\":" + JsonText.quote(employee.getBirthDate())
+            + ",\"address\":" + JsonText.quote(employee.getAddress())
+            + ",\"contactNumber\":" + JsonText.quote(employee.getContactNumber())
+            + ",\"employmentStatus\":" + JsonText.quote(employee.getEmploymentStatus())
+            + ",\"position\":" + JsonText.quote(employee.getPosition())
+            + ",\"supervisor\":" + JsonText.quote(employee.getSupervisor())
+            + ",\"basicSalary\":" + employee.getBasicSalary()
+            + ",\"riceSubsidy\":" + employee.getRiceSubsidy()
+            + ",\"phoneAllowance\":" + employee.getPhoneAllowance()
+            + ",\"clothingAllowance\":" + employee.getClothingAllowance()
+            + "}\n";
+    }
+}
@@ -0,0 +1,325 @@
+package service;
+
+import com.opencsv.CSVParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads attendance CSV files by scanning the bytes of a memory-mapped file.
+ * This class demonstrates:
+ * - Single Responsibility Principle: Only turns attendance rows into primitive values
+ * - Callback Pattern: Rows are pushed to a RecordHandler instead of being collected
+ * - Graceful Degradation: Rows the fast path cannot handle go through OpenCSV instead
+ *
+ * Expected layout: Employee #,Last Name,First Name,Date (MM/DD/YYYY),Hours Worked.
+ * Well-formed rows are parsed in place with no per-row allocation. Rows that contain
+ * quotes or do not match the layout are decoded and re-parsed with OpenCSV's CSVParser.
+ */
+public class AttendanceReader {
+    // Largest region mapped at once; files bigger than this are mapped window by window
+    static final int WINDOW_SIZE = 1 << 30;
+
+    private static final int FIELD_COUNT = 5;
+    private static final int MAX_DIGITS = 15; // Keeps decimal mantissas exact in a double
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    /**
+     * Receives parsed attendance rows.
+     */
+    public interface RecordHandler {
+        /**
+         * Called once for every valid attendance row.
+         *
+         * @param employeeNumber The numeric employee number
+         * @param year Four-digit year
+         * @param month Month of year, 1-12
+         * @param day Day of month, 1-31
+         * @param hoursWorked Hours worked on that day
+         */
+        void onRecord(int employeeNumber, int year, int month, int day, double hoursWorked);
+
+        /**
+         * Called for every row that could not be parsed by either path.
+         *
+         * @param row The raw row text
+         */
+        default void onInvalidRow(String row) {
+        }
+    }
+
+    private final CSVParser fallbackParser = new CSVParser();
+
+    // Scratch state for the row being parsed - avoids allocating a holder per row
+    private int employeeNumber;
+    private int year;
+    private int month;
+    private int day;
+    private double hoursWorked;
+    private final int[] commaScratch = new int[FIELD_COUNT - 1];
+
+    /**
+     * Reads every data row of the file (the header row is skipped).
+     * An instance keeps scratch state and must not be shared between threads.
+     *
+     * @param path Path to the attendance CSV file
+     * @param handler Receives the parsed rows
+     * @return Number of data rows seen, valid or not
+     * @throws IOException If the file cannot be read
+     */
+    public long read(Path path, RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long rows = 0;
+            boolean header = true;
+
+            while (position < size) {
+                int length = (int) Math.min(WINDOW_SIZE, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean lastWindow = position + length == size;
+
+                int start = 0;
+                if (header) {
+                    start = skipLine(buffer, 0, length);
+                    header = false;
+                }
+                // Stop after the last complete line; an incomplete line starts the next window
+                int end = lastWindow ? length : lineBoundaryBefore(buffer, start, length);
+                if (end <= 0) {
+                    throw new IOException("Attendance row longer than " + WINDOW_SIZE + " bytes at offset " + position);
+                }
+                rows += readLines(buffer, start, end, handler);
+                position += end;
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Parses every line in buffer[start, end). The last line does not need a line terminator.
+     * Lets callers that split a file into chunks (see LoadingPipeline) reuse the same parser.
+     *
+     * @param buffer Buffer holding CSV rows (no header)
+     * @param start Offset of the first line
+     * @param end Offset just past the last line
+     * @param handler Receives the parsed rows
+     * @return Number of data rows seen, valid or not
+     */
+    public long readLines(ByteBuffer buffer, int start, int end, RecordHandler handler) {
+        long rows = 0;
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = indexOf(buffer, (byte) '\n', lineStart, end);
+            if (lineEnd < 0) {
+                lineEnd = end;
+            }
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && buffer.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+
+            if (contentEnd > lineStart) {
+                rows++;
+                if (parseFast(buffer, lineStart, contentEnd)) {
+                    handler.onRecord(employeeNumber, year, month, day, hoursWorked);
+                } else {
+                    parseFallback(buffer, lineStart, contentEnd, handler);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return rows;
+    }
+
+    /**
+     * @return Offset just past the first line terminator at or after from, or to if there is none
+     */
+    static int skipLine(ByteBuffer buffer, int from, int to) {
+        int newline = indexOf(buffer, (byte) '\n', from, to);
+        return newline < 0 ? to : newline + 1;
+    }
+
+    /**
+     * @return Offset just past the last line terminator in [from, to), or 0 if there is none
+     */
+    static int lineBoundaryBefore(ByteBuffer buffer, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Parses an unquoted, well-formed row directly from the buffer.
+     *
+     * @return true if the row matched the expected layout and the scratch fields are set
+     */
+    private boolean parseFast(ByteBuffer buffer, int start, int end) {
+        // Locate the field separators; any quote sends the row to the fallback parser
+        int[] commas = commaScratch;
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                return false;
+            }
+            if (b == ',') {
+                if (count == FIELD_COUNT - 1) {
+                    return false;
+                }
+                commas[count++] = i;
+            }
+        }
+        if (count != FIELD_COUNT - 1) {
+            return false;
+        }
+
+        employeeNumber = parseInt(buffer, start, commas[0]);
+        return employeeNumber > 0
+            && parseDate(buffer, commas[2] + 1, commas[3])
+            && parseHours(buffer, commas[3] + 1, end);
+    }
+
+    /**
+     * Parses a row through OpenCSV, applying the same rules as the original loader.
+     */
+    private void parseFallback(ByteBuffer buffer, int start, int end, RecordHandler handler) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        String row = new String(bytes, StandardCharsets.UTF_8);
+        try {
+            String[] fields = fallbackParser.parseLine(row);
+            int number = EmployeeRepository.parseEmployeeNumber(fields[0]);
+            String[] date = fields[3].trim().split("/");
+            int parsedMonth = Integer.parseInt(date[0].trim());
+            int parsedDay = Integer.parseInt(date[1].trim());
+            int parsedYear = Integer.parseInt(date[2].trim());
+            double hours = Double.parseDouble(fields[4].replace(",", "").trim());
+            if (number < 0 || !isValidDate(parsedYear, parsedMonth, parsedDay)) {
+                handler.onInvalidRow(row);
+                return;
+            }
+            handler.onRecord(number, parsedYear, parsedMonth, parsedDay, hours);
+        } catch (IOException | RuntimeException e) {
+            // Safe error handling to prevent one bad record from stopping the process
+            handler.onInvalidRow(row);
+        }
+    }
+
+    /**
+     * Parses MM/DD/YYYY (one- or two-digit month and day) into the scratch fields.
+     */
+    private boolean parseDate(ByteBuffer buffer, int start, int end) {
+        start = skipSpaces(buffer, start, end);
+        end = trimSpaces(buffer, start, end);
+        int firstSlash = indexOf(buffer, (byte) '/', start, end);
+        int secondSlash = firstSlash < 0 ? -1 : indexOf(buffer, (byte) '/', firstSlash + 1, end);
+        if (secondSlash < 0 || firstSlash - start > 2 || secondSlash - firstSlash > 3 || end - secondSlash != 5) {
+            return false;
+        }
+        month = parseInt(buffer, start, firstSlash);
+        day = parseInt(buffer, firstSlash + 1, secondSlash);
+        year = parseInt(buffer, secondSlash + 1, end);
+        return isValidDate(year, month, day);
+    }
+
+    /**
+     * Parses a plain decimal number (digits, optional fraction) into hoursWorked.
+     * The mantissa and power of ten are both exact doubles, so the division is
+     * correctly rounded and matches Double.parseDouble.
+     */
+    private boolean parseHours(ByteBuffer buffer, int start, int end) {
+        start = skipSpaces(buffer, start, end);
+        end = trimSpaces(buffer, start, end);
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                return false;
+            }
+        }
+        if (digits == 0 || digits > MAX_DIGITS) {
+            return false;
+        }
+        hoursWorked = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return true;
+    }
+
+    /**
+     * Parses an unsigned integer field, allowing surrounding spaces.
+     *
+     * @return The value, or -1 if the field is empty, too long or not numeric
+     */
+    private static int parseInt(ByteBuffer buffer, int start, int end) {
+        start = skipSpaces(buffer, start, end);
+        end = trimSpaces(buffer, start, end);
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        return year > 0 && month >= 1 && month <= 12 && day >= 1 && day <= daysInMonth(year, month);
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipSpaces(ByteBuffer buffer, int start, int end) {
+        while (start < end && isSpace(buffer.get(start))) start++;
+        return start;
+    }
+
+    private static int trimSpaces(ByteBuffer buffer, int start, int end) {
+        while (end > start && isSpace(buffer.get(end - 1))) end--;
+        return end;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+}
@@ -0,0 +1,278 @@
+package service;
+
+import model.PayPeriod;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Immutable daily attendance time series with constant-time range sums.
+ * This class demonstrates:
+ * - Encapsulation: The flat primitive array layout is hidden behind simple accessors
+ * - Immutability: Once built, the store can be read from any number of threads
+ * - Builder Pattern: Hours are aggregated in a Builder and frozen with build()
+ *
+ * Each employee ordinal (see EmployeeRepository) owns one row of prefix sums covering the
+ * days between its first and last attendance record. The hours for any date range are the
+ * difference of two prefix entries, so weekly, semi-monthly, monthly or custom pay periods
+ * all cost the same two array reads.
+ *
+ * Hours are kept in fixed point (1/10,000 of an hour) so totals are exact and do not depend
+ * on the order rows were added in.
+ */
+public class AttendanceStore {
+    /** Fixed-point units per hour worked. */
+    public static final long UNITS_PER_HOUR = 10_000;
+
+    private static final AttendanceStore EMPTY_STORE = new Builder(0).build();
+
+    private final int[] firstDay;   // ordinal -> epoch day of the row's first entry
+    private final int[] dayCount;   // ordinal -> number of days covered by the row
+    private final int[] rowStart;   // ordinal -> offset of the row in prefix
+    private final long[] prefix;    // rows of dayCount + 1 running totals, starting at 0
+
+    private AttendanceStore(int[] firstDay, int[] dayCount, int[] rowStart, long[] prefix) {
+        this.firstDay = firstDay;
+        this.dayCount = dayCount;
+        this.rowStart = rowStart;
+        this.prefix = prefix;
+    }
+
+    /**
+     * @return A store without any attendance
+     */
+    public static AttendanceStore empty() {
+        return EMPTY_STORE;
+    }
+
+    /**
+     * Returns the hours an employee worked within a pay period.
+     *
+     * @param ordinal The employee's ordinal in the EmployeeRepository
+     * @param period The pay period
+     * @return Hours worked, or 0.0 if there is no attendance in the period
+     */
+    public double hoursFor(int ordinal, PayPeriod period) {
+        return hoursBetween(ordinal, period.getStart(), period.getEnd());
+    }
+
+    /**
+     * Returns the hours an employee worked between two dates.
+     *
+     * @param ordinal The employee's ordinal in the EmployeeRepository
+     * @param from First day (inclusive)
+     * @param to Last day (inclusive)
+     * @return Hours worked, or 0.0 if there is no attendance in the range
+     */
+    public double hoursBetween(int ordinal, LocalDate from, LocalDate to) {
+        return (double) unitsBetween(ordinal, from.toEpochDay(), to.toEpochDay()) / UNITS_PER_HOUR;
+    }
+
+    /**
+     * Returns the fixed-point hours an employee worked between two epoch days.
+     *
+     * @param ordinal The employee's ordinal in the EmployeeRepository
+     * @param fromDay First epoch day (inclusive)
+     * @param toDay Last epoch day (inclusive)
+     * @return Hours worked in units of 1/UNITS_PER_HOUR
+     */
+    public long unitsBetween(int ordinal, long fromDay, long toDay) {
+        if (ordinal < 0 || ordinal >= firstDay.length || dayCount[ordinal] == 0) {
+            return 0;
+        }
+        long first = firstDay[ordinal];
+        long from = Math.max(fromDay, first);
+        long to = Math.min(toDay, first + dayCount[ordinal] - 1);
+        if (from > to) {
+            return 0;
+        }
+        int row = rowStart[ordinal];
+        return prefix[row + (int) (to - first) + 1] - prefix[row + (int) (from - first)];
+    }
+
+    /**
+     * Returns this attendance indexed by another repository's ordinals, e.g. after employees
+     * were reloaded on their own. Rows are shared, not copied; employees of the new repository
+     * that were not in the old one get no attendance.
+     *
+     * @param from The repository whose ordinals this store uses
+     * @param to The repository whose ordinals the result uses
+     * @return The remapped store
+     */
+    public AttendanceStore remap(EmployeeRepository from, EmployeeRepository to) {
+        int employees = to.size();
+        int[] remappedFirstDay = new int[employees];
+        int[] remappedDayCount = new int[employees];
+        int[] remappedRowStart = new int[employees];
+        for (int ordinal = 0; ordinal < employees; ordinal++) {
+            int source = from.ordinalOf(to.numberAt(ordinal));
+            if (source >= 0 && source < firstDay.length) {
+                remappedFirstDay[ordinal] = firstDay[source];
+                remappedDayCount[ordinal] = dayCount[source];
+                remappedRowStart[ordinal] = rowStart[source];
+            }
+        }
+        return new AttendanceStore(remappedFirstDay, remappedDayCount, remappedRowStart, prefix);
+    }
+
+    /**
+     * Recreates a store from arrays previously taken from another store (see DataSnapshot).
+     */
+    static AttendanceStore fromArrays(int[] firstDay, int[] dayCount, int[] rowStart, long[] prefix) {
+        if (firstDay.length != dayCount.length || firstDay.length != rowStart.length) {
+            throw new IllegalArgumentException("Attendance row arrays differ in length");
+        }
+        return new AttendanceStore(firstDay, dayCount, rowStart, prefix);
+    }
+
+    // Raw arrays for DataSnapshot - callers must not modify them
+    int[] firstDays() { return firstDay; }
+    int[] dayCounts() { return dayCount; }
+    int[] rowStarts() { return rowStart; }
+    long[] prefixSums() { return prefix; }
+
+    /**
+     * @return Number of employee rows in the store
+     */
+    public int employeeCount() {
+        return firstDay.length;
+    }
+
+    /**
+     * Converts a calendar date to an epoch day without creating a LocalDate.
+     * Same result as LocalDate.of(year, month, day).toEpochDay() for valid dates.
+     *
+     * @param year Four-digit year
+     * @param month Month of year, 1-12
+     * @param day Day of month
+     * @return Days since 1970-01-01
+     */
+    public static int epochDay(int year, int month, int day) {
+        // Count days from March 1st so the leap day falls at the end of the shifted year
+        int y = month <= 2 ? year - 1 : year;
+        int m = month <= 2 ? month + 9 : month - 3;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * m + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Builder that aggregates hours per employee ordinal and day.
+     * Rows grow on demand in both directions, so records may arrive in any date order.
+     * Not thread-safe, but different ordinals share no state: threads that never add to the
+     * same ordinal concurrently may share a builder (see StripedAttendanceAggregator).
+     */
+    public static class Builder {
+        private final long[][] rows;   // ordinal -> fixed-point hours by (day - base)
+        private final int[] base;      // ordinal -> epoch day of rows[ordinal][0]
+        private final int[] length;    // ordinal -> days used in rows[ordinal]
+
+        /**
+         * @param employeeCount Number of employee ordinals the store must cover
+         */
+        public Builder(int employeeCount) {
+            this.rows = new long[employeeCount][];
+            this.base = new int[employeeCount];
+            this.length = new int[employeeCount];
+        }
+
+        /**
+         * Adds hours worked by an employee on a day.
+         *
+         * @param ordinal The employee's ordinal
+         * @param year Four-digit year
+         * @param month Month of year, 1-12
+         * @param day Day of month
+         * @param hoursWorked Hours to add
+         */
+        public void add(int ordinal, int year, int month, int day, double hoursWorked) {
+            addUnits(ordinal, epochDay(year, month, day), Math.round(hoursWorked * UNITS_PER_HOUR));
+        }
+
+        /**
+         * Adds fixed-point hours worked by an employee on an epoch day.
+         *
+         * @param ordinal The employee's ordinal
+         * @param day Epoch day
+         * @param units Hours in units of 1/UNITS_PER_HOUR
+         */
+        public void addUnits(int ordinal, int day, long units) {
+            long[] row = rows[ordinal];
+            if (row == null) {
+                row = rows[ordinal] = new long[32];
+                base[ordinal] = day;
+            } else if (day < base[ordinal]) {
+                // Shift the row right so the earlier day becomes index 0
+                int shift = base[ordinal] - day;
+                long[] shifted = new long[Math.max(row.length, length[ordinal] + shift)];
+                System.arraycopy(row, 0, shifted, shift, length[ordinal]);
+                row = rows[ordinal] = shifted;
+                base[ordinal] = day;
+                length[ordinal] += shift;
+            }
+
+            int index = day - base[ordinal];
+            if (index >= row.length) {
+                row = rows[ordinal] = Arrays.copyOf(row, Math.max(index + 1, row.length * 2));
+            }
+            row[index] += units;
+            length[ordinal] = Math.max(length[ordinal], index + 1);
+        }
+
+        /**
+         * Adds every hour recorded in another builder, e.g. a partial aggregate of one file chunk.
+         * Sums are exact, so merging partials in any order gives the same store.
+         *
+         * @param other A builder covering the same employee ordinals
+         */
+        public void merge(Builder other) {
+            if (other.rows.length != rows.length) {
+                throw new IllegalArgumentException("Cannot merge attendance for " + other.rows.length
+                                                   + " employees into a builder for " + rows.length);
+            }
+            for (int ordinal = 0; ordinal < other.rows.length; ordinal++) {
+                long[] row = other.rows[ordinal];
+                if (row == null) {
+                    continue;
+                }
+                // Add the last day first so the row is sized once
+                int last = other.length[ordinal] - 1;
+                addUnits(ordinal, other.base[ordinal] + last, row[last]);
+                for (int i = 0; i < last; i++) {
+                    addUnits(ordinal, other.base[ordinal] + i, row[i]);
+                }
+            }
+        }
+
+        /**
+         * @return An immutable store with the hours added so far
+         */
+        public AttendanceStore build() {
+            int employees = rows.length;
+            int[] rowStart = new int[employees];
+            int[] dayCount = new int[employees];
+            long total = 0;
+            for (int ordinal = 0; ordinal < employees; ordinal++) {
+                rowStart[ordinal] = (int) total;
+                dayCount[ordinal] = length[ordinal];
+                total += length[ordinal] + 1;
+                if (total > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Attendance history too large for a single store");
+                }
+            }
+
+            long[] prefix = new long[(int) total];
+            for (int ordinal = 0; ordinal < employees; ordinal++) {
+                int offset = rowStart[ordinal];
+                long running = 0;
+                for (int i = 0; i < length[ordinal]; i++) {
+                    running += rows[ordinal][i];
+                    prefix[offset + i + 1] = running;
+                }
+            }
+            return new AttendanceStore(base.clone(), dayCount, rowStart, prefix);
+        }
+    }
+}
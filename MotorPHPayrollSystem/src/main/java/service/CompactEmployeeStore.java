@@ -0,0 +1,292 @@
+package service;
+
+import model.Employee;
+import utils.Money;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Employee records packed into off-heap memory, materialized as Employee objects on demand.
+ * This class demonstrates:
+ * - Data-Oriented Design: One fixed-width record per employee ordinal in a direct ByteBuffer,
+ *   outside the garbage-collected heap
+ * - Dictionary Encoding: Employment status, position and supervisor repeat across many
+ *   employees, so each distinct value is kept once and records hold its int code
+ * - Immutability: Built once; any number of threads can read it
+ *
+ * Record layout (RECORD_BYTES per ordinal):
+ *   0  basic salary, rice subsidy, phone and clothing allowances (4 longs, centavos)
+ *   32 employee number (int)
+ *   36 employment status, position, supervisor (3 int dictionary codes)
+ *   48 offset and length of the record's text in the string area (2 ints)
+ *
+ * The remaining, mostly unique fields (employee number text, names, birth date, address,
+ * contact and government numbers) are stored back to back as length-prefixed UTF-8 in a
+ * second direct buffer. A record costs its 56 bytes plus its text, against roughly a kilobyte
+ * of heap for an Employee with its thirteen String objects, and none of it has to be traced
+ * by the garbage collector.
+ */
+public final class CompactEmployeeStore {
+    /** Bytes of one fixed-width record. */
+    public static final int RECORD_BYTES = 56;
+
+    private static final int SALARY = 0;
+    private static final int RICE = 8;
+    private static final int PHONE = 16;
+    private static final int CLOTHING = 24;
+    private static final int NUMBER = 32;
+    private static final int STATUS = 36;
+    private static final int POSITION = 40;
+    private static final int SUPERVISOR = 44;
+    private static final int TEXT_OFFSET = 48;
+    private static final int TEXT_LENGTH = 52;
+
+    // Text fields in the order they are written to the string area
+    private static final int TEXT_FIELDS = 10;
+
+    private final int size;
+    private final ByteBuffer records;
+    private final ByteBuffer text;
+    private final String[] statuses;
+    private final String[] positions;
+    private final String[] supervisors;
+
+    private CompactEmployeeStore(int size, ByteBuffer records, ByteBuffer text, String[] statuses,
+                                 String[] positions, String[] supervisors) {
+        this.size = size;
+        this.records = records;
+        this.text = text;
+        this.statuses = statuses;
+        this.positions = positions;
+        this.supervisors = supervisors;
+    }
+
+    /**
+     * @return Number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Materializes the employee at an ordinal. Every call builds a new, equal Employee, so
+     * callers that read many fields of one employee should keep the returned object.
+     *
+     * @param ordinal The employee's ordinal
+     * @return The employee
+     */
+    public Employee get(int ordinal) {
+        int record = recordOffset(ordinal);
+        String[] fields = new String[TEXT_FIELDS];
+        int position = records.getInt(record + TEXT_OFFSET);
+        byte[] bytes = new byte[records.getInt(record + TEXT_LENGTH)];
+        text.get(position, bytes);
+        int at = 0;
+        for (int field = 0; field < TEXT_FIELDS; field++) {
+            int length = ((bytes[at] & 0xFF) << 8) | (bytes[at + 1] & 0xFF);
+            fields[field] = new String(bytes, at + 2, length, StandardCharsets.UTF_8);
+            at += 2 + length;
+        }
+        return new Employee(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6], fields[7],
+                            fields[8], fields[9], statuses[records.getInt(record + STATUS)],
+                            positions[records.getInt(record + POSITION)],
+                            supervisors[records.getInt(record + SUPERVISOR)],
+                            Money.toPesos(records.getLong(record + SALARY)),
+                            Money.toPesos(records.getLong(record + RICE)),
+                            Money.toPesos(records.getLong(record + PHONE)),
+                            Money.toPesos(records.getLong(record + CLOTHING)));
+    }
+
+    /**
+     * @param ordinal The employee's ordinal
+     * @return Basic monthly salary in centavos, read without materializing the employee
+     */
+    public long basicSalaryCentavosAt(int ordinal) {
+        return records.getLong(recordOffset(ordinal) + SALARY);
+    }
+
+    /**
+     * Compares two records field by field in their packed form, without materializing either.
+     * Equivalent to comparing the materialized employees with equals().
+     *
+     * @param ordinal Ordinal of the record in this store
+     * @param other The store holding the other record, possibly this one
+     * @param otherOrdinal Ordinal of the record in the other store
+     * @return true if every field of the two records is equal
+     */
+    public boolean sameRecord(int ordinal, CompactEmployeeStore other, int otherOrdinal) {
+        int record = recordOffset(ordinal);
+        int otherRecord = other.recordOffset(otherOrdinal);
+        // Salary, allowances and employee number are stored as they are; the rest are codes and text
+        if (records.slice(record, STATUS).mismatch(other.records.slice(otherRecord, STATUS)) >= 0
+                || !statuses[records.getInt(record + STATUS)].equals(
+                       other.statuses[other.records.getInt(otherRecord + STATUS)])
+                || !positions[records.getInt(record + POSITION)].equals(
+                       other.positions[other.records.getInt(otherRecord + POSITION)])
+                || !supervisors[records.getInt(record + SUPERVISOR)].equals(
+                       other.supervisors[other.records.getInt(otherRecord + SUPERVISOR)])) {
+            return false;
+        }
+        int length = records.getInt(record + TEXT_LENGTH);
+        return length == other.records.getInt(otherRecord + TEXT_LENGTH)
+            && text.slice(records.getInt(record + TEXT_OFFSET), length)
+                   .mismatch(other.text.slice(other.records.getInt(otherRecord + TEXT_OFFSET), length)) < 0;
+    }
+
+    /**
+     * @return Off-heap bytes used by records and text
+     */
+    public long getOffHeapBytes() {
+        return (long) records.capacity() + text.capacity();
+    }
+
+    private int recordOffset(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("Ordinal " + ordinal + " out of range 0.." + (size - 1));
+        }
+        return ordinal * RECORD_BYTES;
+    }
+
+    /**
+     * Builder for CompactEmployeeStore. Appends records in ordinal order into direct buffers
+     * that double in size when full, so employees can be packed as they are read.
+     */
+    public static class Builder {
+        private ByteBuffer records;
+        private ByteBuffer text;
+        private int size;
+        private final Dictionary statuses = new Dictionary();
+        private final Dictionary positions = new Dictionary();
+        private final Dictionary supervisors = new Dictionary();
+
+        /**
+         * @param expectedSize Number of employees to reserve room for
+         */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            records = allocate((int) Math.min(Integer.MAX_VALUE, (long) capacity * RECORD_BYTES));
+            // Typical records carry about 150 bytes of text
+            text = allocate((int) Math.min(Integer.MAX_VALUE, capacity * 160L));
+        }
+
+        /**
+         * Appends an employee as the next ordinal.
+         *
+         * @param employee The employee to add
+         * @throws IllegalArgumentException If the employee number is invalid or a text field
+         *         is longer than 65,535 bytes in UTF-8
+         */
+        public void add(Employee employee) {
+            records = ensureRemaining(records, RECORD_BYTES);
+            put(records.position(), employee);
+            records.position(records.position() + RECORD_BYTES);
+            size++;
+        }
+
+        /**
+         * Replaces the record at an ordinal already added. The old text is left unused in the
+         * string area, so this suits the odd duplicate row rather than bulk updates.
+         *
+         * @param ordinal The ordinal to replace
+         * @param employee The new record
+         * @throws IllegalArgumentException If the employee number is invalid or a text field
+         *         is longer than 65,535 bytes in UTF-8
+         */
+        public void set(int ordinal, Employee employee) {
+            if (ordinal < 0 || ordinal >= size) {
+                throw new IndexOutOfBoundsException("Ordinal " + ordinal + " out of range 0.." + (size - 1));
+            }
+            put(ordinal * RECORD_BYTES, employee);
+        }
+
+        private void put(int record, Employee employee) {
+            int number = EmployeeRepository.parseEmployeeNumber(employee.getEmployeeNumber());
+            if (number < 0) {
+                throw new IllegalArgumentException("Invalid employee number: " + employee.getEmployeeNumber());
+            }
+            String[] fields = {employee.getEmployeeNumber(), employee.getLastName(), employee.getFirstName(),
+                               employee.getBirthDate(), employee.getAddress(), employee.getContactNumber(),
+                               employee.getTinNumber(), employee.getSssNumber(), employee.getPhilHealthNumber(),
+                               employee.getPagIbigNumber()};
+            int textStart = text.position();
+            for (String field : fields) {
+                byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > 0xFFFF) {
+                    throw new IllegalArgumentException("Field too long for employee " + employee.getEmployeeNumber());
+                }
+                text = ensureRemaining(text, 2 + bytes.length);
+                text.putShort((short) bytes.length).put(bytes);
+            }
+
+            records.putLong(record + SALARY, employee.getBasicSalaryCentavos())
+                   .putLong(record + RICE, Money.ofPesos(employee.getRiceSubsidy()))
+                   .putLong(record + PHONE, Money.ofPesos(employee.getPhoneAllowance()))
+                   .putLong(record + CLOTHING, Money.ofPesos(employee.getClothingAllowance()))
+                   .putInt(record + NUMBER, number)
+                   .putInt(record + STATUS, statuses.codeOf(employee.getEmploymentStatus()))
+                   .putInt(record + POSITION, positions.codeOf(employee.getPosition()))
+                   .putInt(record + SUPERVISOR, supervisors.codeOf(employee.getSupervisor()))
+                   .putInt(record + TEXT_OFFSET, textStart)
+                   .putInt(record + TEXT_LENGTH, text.position() - textStart);
+        }
+
+        /**
+         * @return An immutable store with the employees added so far
+         */
+        public CompactEmployeeStore build() {
+            return new CompactEmployeeStore(size, trim(records), trim(text), statuses.values(),
+                                            positions.values(), supervisors.values());
+        }
+
+        private static ByteBuffer allocate(int capacity) {
+            // Big-endian, so the two-byte text lengths read back the same way byte by byte
+            return ByteBuffer.allocateDirect(capacity).order(ByteOrder.BIG_ENDIAN);
+        }
+
+        private static ByteBuffer ensureRemaining(ByteBuffer buffer, int needed) {
+            if (buffer.remaining() >= needed) {
+                return buffer;
+            }
+            long capacity = Math.max((long) buffer.capacity() * 2, (long) buffer.position() + needed);
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Employee store exceeds 2 GB");
+            }
+            ByteBuffer grown = allocate((int) capacity);
+            buffer.flip();
+            grown.put(buffer);
+            return grown;
+        }
+
+        private static ByteBuffer trim(ByteBuffer buffer) {
+            // Copy into an exactly sized buffer so unused reserve is not kept for the store's lifetime
+            ByteBuffer exact = allocate(buffer.position());
+            exact.put(buffer.duplicate().flip());
+            return exact.flip();
+        }
+    }
+
+    /**
+     * Distinct values of one low-cardinality field and their codes, in first-seen order.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int codeOf(String value) {
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        String[] values() {
+            return values.toArray(new String[0]);
+        }
+    }
+}
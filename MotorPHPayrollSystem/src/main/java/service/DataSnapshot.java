@@ -0,0 +1,268 @@
+package service;
+
+import model.Employee;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot of parsed employee and attendance data, used to skip CSV parsing on startup.
+ * This class demonstrates:
+ * - Caching: Parsed data is saved once and reused while the source files are unchanged
+ * - Defensive Programming: Snapshots are versioned and validated against their source files
+ * - Resource Management: Snapshots are written to a temporary file and moved into place atomically
+ *
+ * Layout (big-endian): magic, format version, a fingerprint (size, last-modified time, CRC32C
+ * content hash) of each source CSV, the employee records, then the AttendanceStore arrays.
+ * A snapshot is used when both sources still match their fingerprints: size and modification
+ * time match, or the size matches and the content hash is unchanged (e.g. after a touch).
+ *
+ * The snapshot is a copy-on-load cache: it saves parsing and aggregating the CSVs, not
+ * copying. The file is mapped and validated in place, then employees are materialized and the
+ * attendance arrays are bulk-copied onto the heap, because every payroll computation reads
+ * the prefix sums and plain arrays keep that loop free of buffer bounds and byte-order checks.
+ * Content hashes are computed by the loaders while they read the CSVs (see Fingerprint), so
+ * writing a snapshot does not read the sources again.
+ */
+public class DataSnapshot {
+    private static final int MAGIC = 0x4D504853; // "MPHS"
+    private static final int VERSION = 1;
+
+    private final EmployeeRepository employees;
+    private final AttendanceStore attendance;
+
+    private DataSnapshot(EmployeeRepository employees, AttendanceStore attendance) {
+        this.employees = employees;
+        this.attendance = attendance;
+    }
+
+    /**
+     * @return The employees stored in the snapshot
+     */
+    public EmployeeRepository getEmployees() { return employees; }
+
+    /**
+     * @return The attendance stored in the snapshot
+     */
+    public AttendanceStore getAttendance() { return attendance; }
+
+    /**
+     * Writes a snapshot of the given data with the fingerprints of the files it was parsed from.
+     *
+     * @param snapshotFile Where to write the snapshot
+     * @param employeeFile Fingerprint of the employee CSV the data was loaded from
+     * @param attendanceFile Fingerprint of the attendance CSV the data was loaded from
+     * @param employees The loaded employees
+     * @param attendance The loaded attendance
+     * @throws IOException If the snapshot cannot be written
+     */
+    public static void write(Path snapshotFile, Fingerprint employeeFile, Fingerprint attendanceFile,
+                             EmployeeRepository employees, AttendanceStore attendance) throws IOException {
+        Path directory = snapshotFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "snapshot", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeFingerprint(out, employeeFile);
+                writeFingerprint(out, attendanceFile);
+
+                out.writeInt(employees.size());
+                for (Employee employee : employees.all()) {
+                    writeEmployee(out, employee);
+                }
+
+                int[] firstDays = attendance.firstDays();
+                long[] prefix = attendance.prefixSums();
+                out.writeInt(firstDays.length);
+                out.writeInt(prefix.length);
+                writeInts(out, firstDays);
+                writeInts(out, attendance.dayCounts());
+                writeInts(out, attendance.rowStarts());
+                for (long value : prefix) {
+                    out.writeLong(value);
+                }
+            }
+            Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads a snapshot if it exists and still matches the source files.
+     *
+     * @param snapshotFile The snapshot to read
+     * @param employeeFile The employee CSV the snapshot must match
+     * @param attendanceFile The attendance CSV the snapshot must match
+     * @param compactEmployees true to pack employees off-heap as they are read
+     * @return The snapshot, or null if it is missing, from another format version, or stale
+     * @throws IOException If the snapshot or source files cannot be read
+     */
+    public static DataSnapshot readIfCurrent(Path snapshotFile, Path employeeFile, Path attendanceFile,
+                                             boolean compactEmployees) throws IOException {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            if (!matchesFingerprint(buffer, employeeFile) || !matchesFingerprint(buffer, attendanceFile)) {
+                return null;
+            }
+
+            int employeeCount = buffer.getInt();
+            EmployeeRepository.Builder employees = new EmployeeRepository.Builder(compactEmployees);
+            for (int i = 0; i < employeeCount; i++) {
+                employees.add(readEmployee(buffer));
+            }
+
+            int rows = buffer.getInt();
+            int prefixLength = buffer.getInt();
+            int[] firstDays = readInts(buffer, rows);
+            int[] dayCounts = readInts(buffer, rows);
+            int[] rowStarts = readInts(buffer, rows);
+            long[] prefix = new long[prefixLength];
+            buffer.asLongBuffer().get(prefix);
+
+            return new DataSnapshot(employees.build(),
+                                    AttendanceStore.fromArrays(firstDays, dayCounts, rowStarts, prefix));
+        } catch (RuntimeException e) {
+            // Truncated or corrupt snapshot - treat it as missing so the CSVs are parsed again
+            return null;
+        }
+    }
+
+    private static void writeFingerprint(DataOutputStream out, Fingerprint source) throws IOException {
+        out.writeLong(source.size);
+        out.writeLong(source.modified);
+        out.writeLong(source.hash);
+    }
+
+    private static boolean matchesFingerprint(MappedByteBuffer buffer, Path source) throws IOException {
+        long size = buffer.getLong();
+        long modified = buffer.getLong();
+        long hash = buffer.getLong();
+        if (!Files.isRegularFile(source) || Files.size(source) != size) {
+            return false;
+        }
+        // Same size and timestamp: trust it without reading the file; otherwise compare contents
+        return Files.getLastModifiedTime(source).toMillis() == modified || contentHash(source) == hash;
+    }
+
+    /**
+     * Computes a CRC32C of a file's contents through a memory mapping.
+     */
+    private static long contentHash(Path source) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += Integer.MAX_VALUE) {
+                long length = Math.min(Integer.MAX_VALUE, size - position);
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Size, modification time and CRC32C content hash of a source file as it was loaded.
+     * Size and time are taken before loading starts and the hash is supplied by the loader,
+     * so a file that changes while it is being read never matches its snapshot.
+     */
+    public static final class Fingerprint {
+        private final long size;
+        private final long modified;
+        private final long hash;
+
+        private Fingerprint(long size, long modified, long hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+
+        /**
+         * @param source A source file about to be loaded
+         * @return Its current size and modification time, without a content hash yet
+         * @throws IOException If the file attributes cannot be read
+         */
+        public static Fingerprint of(Path source) throws IOException {
+            return new Fingerprint(Files.size(source), Files.getLastModifiedTime(source).toMillis(), 0);
+        }
+
+        /**
+         * @param hash CRC32C of the contents the loader read
+         * @return This fingerprint with the content hash
+         */
+        public Fingerprint withContentHash(long hash) {
+            return new Fingerprint(size, modified, hash);
+        }
+    }
+
+    private static void writeEmployee(DataOutputStream out, Employee employee) throws IOException {
+        writeString(out, employee.getEmployeeNumber());
+        writeString(out, employee.getLastName());
+        writeString(out, employee.getFirstName());
+        writeString(out, employee.getBirthDate());
+        writeString(out, employee.getAddress());
+        writeString(out, employee.getContactNumber());
+        writeString(out, employee.getTinNumber());
+        writeString(out, employee.getSssNumber());
+        writeString(out, employee.getPhilHealthNumber());
+        writeString(out, employee.getPagIbigNumber());
+        writeString(out, employee.getEmploymentStatus());
+        writeString(out, employee.getPosition());
+        writeString(out, employee.getSupervisor());
+        out.writeDouble(employee.getBasicSalary());
+        out.writeDouble(employee.getRiceSubsidy());
+        out.writeDouble(employee.getPhoneAllowance());
+        out.writeDouble(employee.getClothingAllowance());
+    }
+
+    private static Employee readEmployee(MappedByteBuffer buffer) {
+        return new Employee(
+            readString(buffer), readString(buffer), readString(buffer), readString(buffer), readString(buffer),
+            readString(buffer), readString(buffer), readString(buffer), readString(buffer), readString(buffer),
+            readString(buffer), readString(buffer), readString(buffer),
+            buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble()
+        );
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(MappedByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+}
@@ -0,0 +1,126 @@
+package service;
+
+import com.opencsv.exceptions.CsvException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the employee and attendance files and reloads a PayrollSystem when they change.
+ * This class demonstrates:
+ * - Observer Pattern: File system events trigger a reload without polling the files
+ * - Resource Management: Implements Closeable so the watch thread can be stopped cleanly
+ *
+ * Editors and copy tools often write a file in several steps, so a reload only starts once
+ * the files have been quiet for a short while. A reload that fails (e.g. a half-written file)
+ * keeps the data that was loaded before; the next change triggers another attempt.
+ */
+public class DataWatcher implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(DataWatcher.class.getName());
+
+    // How long the files must stay unchanged before reloading
+    private static final long QUIET_MILLIS = 500;
+
+    private final PayrollSystem payrollSystem;
+    private final WatchService watchService;
+    private final Set<Path> files = new HashSet<>();
+
+    /**
+     * Starts watching the given files on a daemon thread.
+     *
+     * @param payrollSystem The payroll system to reload; loadData must have been called
+     * @param files The data files to watch
+     * @throws IOException If the files' directories cannot be watched
+     */
+    public DataWatcher(PayrollSystem payrollSystem, List<Path> files) throws IOException {
+        this.payrollSystem = payrollSystem;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Set<Path> directories = new HashSet<>();
+        for (Path file : files) {
+            Path absolute = file.toAbsolutePath().normalize();
+            this.files.add(absolute);
+            directories.add(absolute.getParent());
+        }
+        try {
+            for (Path directory : directories) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                   StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+        Thread thread = new Thread(this::watch, "payroll-data-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                if (!isDataChange(watchService.take())) {
+                    continue;
+                }
+                // Wait until no more changes arrive for QUIET_MILLIS
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isDataChange(key);
+                }
+                reload();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // close() was called
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Drains a key's events and re-arms it.
+     *
+     * @return true if one of the watched files was created or modified
+     */
+    private boolean isDataChange(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+            } else if (files.contains(directory.resolve((Path) event.context()))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload() {
+        try {
+            payrollSystem.reload();
+        } catch (IOException | CsvException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "⚠ Reload failed, keeping the current data: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops watching. A reload that is already running is allowed to finish.
+     */
+    @Override
+    public void close() throws IOException {
+        // take() and poll() throw ClosedWatchServiceException, which ends the watch thread
+        watchService.close();
+    }
+}
@@ -0,0 +1,305 @@
+package service;
+
+import model.Employee;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, indexed collection of employees.
+ * This class demonstrates:
+ * - Repository Pattern: Hides how employees are stored and looked up
+ * - Encapsulation: The hash index and ordinal table are private implementation details
+ * - Immutability: A repository never changes once built, so it can be shared between threads
+ * - Builder Pattern: New or updated repositories are assembled with a Builder
+ *
+ * Every employee gets a dense ordinal (0..size-1) in load order; re-adding an employee number
+ * that already exists replaces the record in place. Ordinals belong to one repository: a reload
+ * builds a new one from the file alone, so per-employee arrays indexed by ordinal are rebuilt
+ * (or remapped) together with it, and anything kept across reloads is keyed by employee number.
+ * Lookups go through an open-addressing hash table keyed on the employee number as a
+ * primitive int, so no String hashing happens per lookup.
+ *
+ * A repository can also keep its records off-heap in a CompactEmployeeStore, for very large
+ * headcounts; a compact Builder packs each record as it is added, so the heap never holds the
+ * whole file as Employee objects. get() then materializes a new, equal Employee on every call,
+ * so hot paths read the salary with basicSalaryCentavosAt() and compare records with
+ * sameRecord() instead.
+ */
+public class EmployeeRepository {
+    // Marks an unused slot in the hash table; employee numbers are always positive
+    private static final int EMPTY = 0;
+
+    private static final EmployeeRepository EMPTY_REPOSITORY = new Builder().build();
+
+    private final Employee[] employees;   // ordinal -> employee, null when compact
+    private final CompactEmployeeStore compact; // ordinal -> packed record, null unless compact
+    private final int[] numbers;          // ordinal -> employee number
+    private final int[] keys;             // hash slot -> employee number
+    private final int[] ordinals;         // hash slot -> ordinal
+    private final int mask;
+
+    private EmployeeRepository(Employee[] employees, CompactEmployeeStore compact, int[] numbers) {
+        this.employees = employees;
+        this.compact = compact;
+        this.numbers = numbers;
+
+        // Keep the load factor at or below 0.5 so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(2, numbers.length) * 2 - 1) << 1;
+        this.keys = new int[capacity];
+        this.ordinals = new int[capacity];
+        this.mask = capacity - 1;
+        for (int ordinal = 0; ordinal < numbers.length; ordinal++) {
+            int slot = slotOf(numbers[ordinal]);
+            keys[slot] = numbers[ordinal];
+            ordinals[slot] = ordinal;
+        }
+    }
+
+    /**
+     * @return A repository without any employees
+     */
+    public static EmployeeRepository empty() {
+        return EMPTY_REPOSITORY;
+    }
+
+    /**
+     * Finds the ordinal of an employee number.
+     *
+     * @param employeeNumber The numeric employee number
+     * @return The employee's ordinal, or -1 if the number is unknown
+     */
+    public int ordinalOf(int employeeNumber) {
+        if (employeeNumber <= 0) {
+            return -1;
+        }
+        int slot = slotOf(employeeNumber);
+        return keys[slot] == employeeNumber ? ordinals[slot] : -1;
+    }
+
+    /**
+     * Finds an employee by numeric employee number.
+     *
+     * @param employeeNumber The numeric employee number
+     * @return The employee, or null if not found
+     */
+    public Employee findByNumber(int employeeNumber) {
+        int ordinal = ordinalOf(employeeNumber);
+        return ordinal < 0 ? null : get(ordinal);
+    }
+
+    /**
+     * Finds an employee by the employee number as typed or read from a file.
+     *
+     * @param employeeNumber The employee number text
+     * @return The employee, or null if not found or not a valid employee number
+     */
+    public Employee findByNumber(String employeeNumber) {
+        return findByNumber(parseEmployeeNumber(employeeNumber));
+    }
+
+    /**
+     * @param ordinal The employee's ordinal
+     * @return The employee stored at that ordinal
+     */
+    public Employee get(int ordinal) {
+        return compact == null ? employees[ordinal] : compact.get(ordinal);
+    }
+
+    /**
+     * @param ordinal The employee's ordinal
+     * @return The numeric employee number stored at that ordinal
+     */
+    public int numberAt(int ordinal) {
+        return numbers[ordinal];
+    }
+
+    /**
+     * @return Number of employees; ordinals run from 0 to size() - 1
+     */
+    public int size() {
+        return numbers.length;
+    }
+
+    /**
+     * @param ordinal The employee's ordinal
+     * @return Basic monthly salary in centavos, read without materializing a compact record
+     */
+    public long basicSalaryCentavosAt(int ordinal) {
+        return compact == null ? employees[ordinal].getBasicSalaryCentavos() : compact.basicSalaryCentavosAt(ordinal);
+    }
+
+    /**
+     * Tells whether an employee's record is the same in another repository, comparing packed
+     * records directly when both repositories are compact.
+     *
+     * @param ordinal Ordinal of the employee in this repository
+     * @param other The other repository
+     * @param otherOrdinal Ordinal of the employee in the other repository
+     * @return true if every field of the two records is equal
+     */
+    public boolean sameRecord(int ordinal, EmployeeRepository other, int otherOrdinal) {
+        if (compact != null && other.compact != null) {
+            return compact.sameRecord(ordinal, other.compact, otherOrdinal);
+        }
+        return get(ordinal).equals(other.get(otherOrdinal));
+    }
+
+    /**
+     * @return All employees in ordinal order, as an unmodifiable list
+     */
+    public List<Employee> all() {
+        if (compact == null) {
+            return Collections.unmodifiableList(Arrays.asList(employees));
+        }
+        return new AbstractList<Employee>() {
+            @Override
+            public Employee get(int index) {
+                return compact.get(index);
+            }
+
+            @Override
+            public int size() {
+                return numbers.length;
+            }
+        };
+    }
+
+    /**
+     * @return true if records are kept off-heap and materialized on every get()
+     */
+    public boolean isCompact() {
+        return compact != null;
+    }
+
+    /**
+     * @return Off-heap bytes used by compact records; 0 when records are plain objects
+     */
+    public long getOffHeapBytes() {
+        return compact == null ? 0 : compact.getOffHeapBytes();
+    }
+
+    /**
+     * Parses an employee number without throwing on bad input.
+     *
+     * @param text The employee number text, surrounding whitespace allowed
+     * @return The employee number, or -1 if the text is not a positive integer
+     */
+    public static int parseEmployeeNumber(String text) {
+        if (text == null) {
+            return -1;
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+        if (start == end || end - start > 9) {
+            return -1; // Empty, or too long to fit safely in an int
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value == 0 ? -1 : value;
+    }
+
+    /**
+     * Linear probing lookup: returns the slot holding the key, or the empty slot where it belongs.
+     */
+    private int slotOf(int employeeNumber) {
+        int slot = mix(employeeNumber) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != employeeNumber) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Spreads sequential employee numbers across the table (Fibonacci hashing).
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Builder for EmployeeRepository.
+     * Keeps insertion order as the ordinal order and replaces duplicates in place.
+     */
+    public static class Builder {
+        private final List<Employee> employees;             // null when compact
+        private final CompactEmployeeStore.Builder packed;  // null unless compact
+        private final List<Integer> numbers = new ArrayList<>();
+        private final Map<Integer, Integer> ordinalByNumber = new HashMap<>();
+
+        /**
+         * Creates a builder that keeps employees as plain objects.
+         */
+        public Builder() {
+            this(false);
+        }
+
+        /**
+         * @param compact true to pack each employee off-heap as it is added, so the Employee
+         *        objects given to add() can be garbage collected straight away
+         */
+        public Builder(boolean compact) {
+            this.employees = compact ? null : new ArrayList<>();
+            this.packed = compact ? new CompactEmployeeStore.Builder(16) : null;
+        }
+
+        /**
+         * Adds an employee, or replaces the one with the same employee number.
+         *
+         * @param employee The employee to add
+         * @return true if an employee with the same number was replaced
+         * @throws IllegalArgumentException If the employee number is not a positive integer
+         */
+        public boolean add(Employee employee) {
+            int number = parseEmployeeNumber(employee.getEmployeeNumber());
+            if (number < 0) {
+                throw new IllegalArgumentException("Invalid employee number: " + employee.getEmployeeNumber());
+            }
+            Integer existing = ordinalByNumber.get(number);
+            if (existing != null) {
+                if (packed == null) {
+                    employees.set(existing, employee);
+                } else {
+                    packed.set(existing, employee);
+                }
+                return true;
+            }
+            ordinalByNumber.put(number, numbers.size());
+            if (packed == null) {
+                employees.add(employee);
+            } else {
+                packed.add(employee);
+            }
+            numbers.add(number);
+            return false;
+        }
+
+        /**
+         * @return An immutable repository with the employees added so far
+         */
+        public EmployeeRepository build() {
+            int[] numberArray = new int[numbers.size()];
+            for (int i = 0; i < numberArray.length; i++) {
+                numberArray[i] = numbers.get(i);
+            }
+            if (packed != null) {
+                return new EmployeeRepository(null, packed.build(), numberArray);
+            }
+            return new EmployeeRepository(employees.toArray(new Employee[0]), null, numberArray);
+        }
+    }
+}
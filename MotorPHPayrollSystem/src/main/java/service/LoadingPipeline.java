@@ -0,0 +1,406 @@
+package service;
+
+import com.opencsv.exceptions.CsvException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Loads employee and attendance data concurrently through a multi-stage pipeline.
+ * This class demonstrates:
+ * - Pipeline Pattern: Attendance flows through read, parse and aggregate stages
+ * - Producer-Consumer Pattern: Stages are connected by bounded queues, so a slow stage
+ *   holds back the stages before it instead of letting memory grow
+ * - Divide and Conquer: Files are split at line boundaries into chunks parsed on separate cores
+ *
+ * The employee file is loaded on its own thread while attendance is being read and parsed.
+ * Several attendance files (e.g. one biometric export per site) are read concurrently, one
+ * reader thread each, into the same chunk queue. Parsers emit primitive batches keyed by
+ * employee number; aggregators wait for the employee repository only when they need ordinals
+ * and then add into one shared StripedAttendanceAggregator, so no merge step is needed.
+ * Fixed-point sums make the result independent of how rows were distributed between threads.
+ */
+public class LoadingPipeline {
+    // Target size of one attendance chunk handed to a parser
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    // Rows per batch handed from a parser to an aggregator
+    private static final int BATCH_SIZE = 8192;
+
+    // Mark the end of a stage's output in its queue; chunks are queued as Objects for the marker
+    private static final Object END_OF_CHUNKS = new Object();
+    private static final Batch END_OF_BATCHES = new Batch(0);
+
+    private final int parserThreads;
+    private final int aggregatorThreads;
+
+    /**
+     * Creates a pipeline sized for the available processors.
+     */
+    public LoadingPipeline() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param parserThreads Number of threads parsing attendance chunks
+     */
+    public LoadingPipeline(int parserThreads) {
+        if (parserThreads < 1) {
+            throw new IllegalArgumentException("At least one parser thread is required: " + parserThreads);
+        }
+        this.parserThreads = parserThreads;
+        // Aggregating a batch is cheaper than parsing it, so fewer aggregators keep up
+        this.aggregatorThreads = Math.max(1, parserThreads / 2);
+    }
+
+    /**
+     * Runs the pipeline.
+     *
+     * @param employeeLoader Loads the employee repository; runs concurrently with attendance parsing
+     * @param attendanceFile Path to the attendance CSV file
+     * @return The loaded employees and attendance
+     * @throws IOException If a file cannot be read or a stage fails
+     * @throws CsvException If the employee loader fails to parse its CSV
+     */
+    public Result load(Callable<EmployeeRepository> employeeLoader, Path attendanceFile)
+            throws IOException, CsvException {
+        return load(employeeLoader, Collections.singletonList(attendanceFile));
+    }
+
+    /**
+     * Runs the pipeline over several attendance files. Hours of an employee that appear in more
+     * than one file are added up, exactly as if the files had been concatenated.
+     *
+     * @param employeeLoader Loads the employee repository; runs concurrently with attendance parsing
+     * @param attendanceFiles Paths to the attendance CSV files, each with a header row
+     * @return The loaded employees and attendance
+     * @throws IOException If a file cannot be read or a stage fails
+     * @throws CsvException If the employee loader fails to parse its CSV
+     */
+    public Result load(Callable<EmployeeRepository> employeeLoader, List<Path> attendanceFiles)
+            throws IOException, CsvException {
+        if (attendanceFiles.isEmpty()) {
+            throw new IllegalArgumentException("At least one attendance file is required");
+        }
+        // Queues hold a few items per consumer: enough to keep everyone busy, small enough to bound memory
+        BlockingQueue<Object> chunks = new ArrayBlockingQueue<>(parserThreads * 2);
+        BlockingQueue<Batch> batches = new ArrayBlockingQueue<>(aggregatorThreads * 4);
+        AtomicInteger runningReaders = new AtomicInteger(attendanceFiles.size());
+        AtomicInteger runningParsers = new AtomicInteger(parserThreads);
+        AtomicLong rowsRead = new AtomicLong();
+        AtomicLong invalidRows = new AtomicLong();
+        long[] contentHashes = new long[attendanceFiles.size()];
+
+        int stageCount = 1 + attendanceFiles.size() + parserThreads + aggregatorThreads;
+        ExecutorService executor = Executors.newFixedThreadPool(stageCount, runnable -> {
+            Thread thread = new Thread(runnable, "loading-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Object> stages = new ExecutorCompletionService<>(executor);
+        try {
+            Future<Object> employeeStage = stages.submit(() -> employeeLoader.call());
+            SharedAggregator aggregator = new SharedAggregator(employeeStage);
+            for (int file = 0; file < attendanceFiles.size(); file++) {
+                Path attendanceFile = attendanceFiles.get(file);
+                int index = file;
+                stages.submit(() -> contentHashes[index] = readChunks(attendanceFile, chunks, runningReaders));
+            }
+            for (int i = 0; i < parserThreads; i++) {
+                stages.submit(() -> parseChunks(chunks, batches, runningParsers, rowsRead, invalidRows));
+            }
+            for (int i = 0; i < aggregatorThreads; i++) {
+                stages.submit(() -> aggregateBatches(batches, aggregator));
+            }
+
+            // Wait for every stage; the first failure cancels the rest
+            for (int i = 0; i < stageCount; i++) {
+                stages.take().get();
+            }
+
+            EmployeeRepository employees = (EmployeeRepository) employeeStage.get();
+            StripedAttendanceAggregator attendance = aggregator.get();
+            return new Result(employees, attendance.build(), rowsRead.get(), attendance.getUnknownRows(),
+                              invalidRows.get(), contentHashes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading data", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof ExecutionException && cause.getCause() != null) {
+                // An aggregator reports the employee stage's failure wrapped once more
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof CsvException) {
+                throw (CsvException) cause;
+            }
+            throw new IOException("Loading pipeline failed: " + cause, cause);
+        } finally {
+            // Interrupts stages still blocked on a queue after a failure
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Read stage: maps one file and queues line-aligned chunks, touching their pages so
+     * parsers find them in memory. The header row is skipped. The last reader to finish
+     * ends the parse stage.
+     *
+     * @return CRC32C of the whole file, computed from the mapped windows as they are read
+     */
+    private long readChunks(Path attendanceFile, BlockingQueue<Object> chunks, AtomicInteger runningReaders)
+            throws IOException, InterruptedException {
+        CRC32C contentHash = new CRC32C();
+        try (FileChannel channel = FileChannel.open(attendanceFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            boolean header = true;
+
+            while (position < size) {
+                int length = (int) Math.min(AttendanceReader.WINDOW_SIZE, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean lastWindow = position + length == size;
+
+                int start = 0;
+                if (header) {
+                    start = AttendanceReader.skipLine(window, 0, length);
+                    header = false;
+                }
+                int end = lastWindow ? length : AttendanceReader.lineBoundaryBefore(window, start, length);
+                if (end <= 0) {
+                    throw new IOException("Attendance row longer than " + AttendanceReader.WINDOW_SIZE
+                                          + " bytes at offset " + position);
+                }
+
+                while (start < end) {
+                    int chunkEnd = end;
+                    if (end - start > CHUNK_SIZE) {
+                        // Cut after the last line that fits; one very long line becomes its own chunk
+                        chunkEnd = AttendanceReader.lineBoundaryBefore(window, start, start + CHUNK_SIZE);
+                        if (chunkEnd <= start) {
+                            chunkEnd = AttendanceReader.skipLine(window, start + CHUNK_SIZE, end);
+                        }
+                    }
+                    MappedByteBuffer chunk = window.slice(start, chunkEnd - start);
+                    chunk.load();
+                    chunks.put(chunk);
+                    start = chunkEnd;
+                }
+                // The bytes up to end are in memory now; windows overlap only after end
+                contentHash.update(window.slice(0, end));
+                position += end;
+            }
+        } finally {
+            // Always release the parsers, even when reading failed
+            if (runningReaders.decrementAndGet() == 0) {
+                for (int i = 0; i < parserThreads; i++) {
+                    chunks.put(END_OF_CHUNKS);
+                }
+            }
+        }
+        return contentHash.getValue();
+    }
+
+    /**
+     * Parse stage: turns chunks into primitive batches. The last parser to finish ends the
+     * aggregate stage.
+     */
+    private Object parseChunks(BlockingQueue<Object> chunks, BlockingQueue<Batch> batches,
+                               AtomicInteger runningParsers, AtomicLong rowsRead, AtomicLong invalidRows)
+            throws InterruptedException {
+        try {
+            AttendanceReader reader = new AttendanceReader();
+            BatchingHandler handler = new BatchingHandler(batches, invalidRows);
+            for (Object chunk = chunks.take(); chunk != END_OF_CHUNKS; chunk = chunks.take()) {
+                MappedByteBuffer buffer = (MappedByteBuffer) chunk;
+                rowsRead.addAndGet(reader.readLines(buffer, 0, buffer.limit(), handler));
+                handler.flush();
+            }
+            handler.rethrow();
+        } finally {
+            if (runningParsers.decrementAndGet() == 0) {
+                for (int i = 0; i < aggregatorThreads; i++) {
+                    batches.put(END_OF_BATCHES);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Aggregate stage: adds batches to the shared aggregator once the employee repository is available.
+     */
+    private Object aggregateBatches(BlockingQueue<Batch> batches, SharedAggregator aggregator)
+            throws InterruptedException, ExecutionException {
+        Batch batch = batches.take();
+        // Ordinals are needed from here on, so wait for the employee stage
+        StripedAttendanceAggregator attendance = aggregator.get();
+        for (; batch != END_OF_BATCHES; batch = batches.take()) {
+            attendance.addAll(batch.employeeNumbers, batch.days, batch.units, batch.size);
+        }
+        return null;
+    }
+
+    /**
+     * Collects parsed rows into batches and queues them when full.
+     */
+    private static final class BatchingHandler implements AttendanceReader.RecordHandler {
+        private final BlockingQueue<Batch> batches;
+        private final AtomicLong invalidRows;
+        private Batch current = new Batch(BATCH_SIZE);
+        private InterruptedException interrupted;
+
+        BatchingHandler(BlockingQueue<Batch> batches, AtomicLong invalidRows) {
+            this.batches = batches;
+            this.invalidRows = invalidRows;
+        }
+
+        @Override
+        public void onRecord(int employeeNumber, int year, int month, int day, double hoursWorked) {
+            current.add(employeeNumber, AttendanceStore.epochDay(year, month, day),
+                        Math.round(hoursWorked * AttendanceStore.UNITS_PER_HOUR));
+            if (current.size == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onInvalidRow(String row) {
+            invalidRows.incrementAndGet();
+            // Safe error handling to prevent one bad record from stopping the process
+            System.out.println("⚠ Skipping invalid record: " + row);
+        }
+
+        /**
+         * Queues the current batch if it holds any rows. The handler callbacks cannot throw
+         * InterruptedException, so an interrupt is remembered and rethrown by rethrow().
+         */
+        void flush() {
+            if (current.size == 0 || interrupted != null) {
+                return;
+            }
+            try {
+                batches.put(current);
+                current = new Batch(BATCH_SIZE);
+            } catch (InterruptedException e) {
+                interrupted = e;
+            }
+        }
+
+        void rethrow() throws InterruptedException {
+            if (interrupted != null) {
+                throw interrupted;
+            }
+        }
+    }
+
+    /**
+     * Parsed rows in primitive columns.
+     */
+    private static final class Batch {
+        private final int[] employeeNumbers;
+        private final int[] days;
+        private final long[] units;
+        private int size;
+
+        Batch(int capacity) {
+            this.employeeNumbers = new int[capacity];
+            this.days = new int[capacity];
+            this.units = new long[capacity];
+        }
+
+        void add(int employeeNumber, int day, long unit) {
+            employeeNumbers[size] = employeeNumber;
+            days[size] = day;
+            units[size] = unit;
+            size++;
+        }
+    }
+
+    /**
+     * The aggregator all aggregate stages add to, created once the employee repository is loaded.
+     */
+    private static final class SharedAggregator {
+        private final Future<Object> employeeStage;
+        private StripedAttendanceAggregator aggregator;
+
+        SharedAggregator(Future<Object> employeeStage) {
+            this.employeeStage = employeeStage;
+        }
+
+        synchronized StripedAttendanceAggregator get() throws InterruptedException, ExecutionException {
+            if (aggregator == null) {
+                aggregator = new StripedAttendanceAggregator((EmployeeRepository) employeeStage.get());
+            }
+            return aggregator;
+        }
+    }
+
+    /**
+     * Everything the pipeline loaded.
+     */
+    public static class Result {
+        private final EmployeeRepository employees;
+        private final AttendanceStore attendance;
+        private final long rowsRead;
+        private final long unknownRows;
+        private final long invalidRows;
+        private final long[] contentHashes;
+
+        Result(EmployeeRepository employees, AttendanceStore attendance, long rowsRead,
+               long unknownRows, long invalidRows, long[] contentHashes) {
+            this.employees = employees;
+            this.attendance = attendance;
+            this.rowsRead = rowsRead;
+            this.unknownRows = unknownRows;
+            this.invalidRows = invalidRows;
+            this.contentHashes = contentHashes;
+        }
+
+        public EmployeeRepository getEmployees() { return employees; }
+        public AttendanceStore getAttendance() { return attendance; }
+
+        /**
+         * @return Number of attendance data rows read, valid or not
+         */
+        public long getRowsRead() { return rowsRead; }
+
+        /**
+         * @return Number of attendance rows for employee numbers not in the repository
+         */
+        public long getUnknownRows() { return unknownRows; }
+
+        /**
+         * @return Number of attendance rows that could not be parsed
+         */
+        public long getInvalidRows() { return invalidRows; }
+
+        /**
+         * @param file Index of an attendance file in the list passed to load
+         * @return CRC32C of that file's contents as they were read
+         */
+        public long getContentHash(int file) { return contentHashes[file]; }
+    }
+}
@@ -0,0 +1,304 @@
+package service;
+
+import model.Employee;
+import model.PayrollResult;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reporting lines of the loaded employees, resolved once into a tree of ordinals.
+ * This class demonstrates:
+ * - Immutability: Built once per employee load and shared by every reader
+ * - Data-Oriented Design: The tree is a few int arrays indexed by employee ordinal
+ *   (see EmployeeRepository) instead of linked objects
+ * - Encapsulation: Name matching and cycle handling are hidden behind build()
+ *
+ * The supervisor column is free text such as "Garcia, Manuel III". It is matched against
+ * every employee's "Last, First" name, ignoring case, extra spaces and where the comma sits
+ * ("San, Jose Brad" finds Brad San Jose). Employees whose supervisor is "N/A", unknown,
+ * ambiguous, or part of a reporting cycle become roots of the tree.
+ *
+ * Employees are also kept in top-down order (every supervisor before its reports), so a
+ * single pass over that order in reverse adds every employee's figures into its supervisor's
+ * team totals: team cost rollups take time linear in the number of employees.
+ */
+public final class OrgHierarchy {
+    private static final OrgHierarchy EMPTY = build(EmployeeRepository.empty());
+
+    private final int[] parent;      // ordinal -> supervisor's ordinal, -1 for roots
+    private final int[] order;       // ordinals, every supervisor before its reports
+    private final int[] reportStart; // ordinal -> first index of its direct reports in reports
+    private final int[] reports;     // direct reports of each ordinal, grouped by supervisor
+    private final int[] teamSize;    // ordinal -> employees in its team, itself included
+    private final int unresolved;
+
+    private OrgHierarchy(int[] parent, int[] order, int[] reportStart, int[] reports, int[] teamSize,
+                         int unresolved) {
+        this.parent = parent;
+        this.order = order;
+        this.reportStart = reportStart;
+        this.reports = reports;
+        this.teamSize = teamSize;
+        this.unresolved = unresolved;
+    }
+
+    /**
+     * @return The hierarchy of an empty repository
+     */
+    public static OrgHierarchy empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Resolves every employee's supervisor and builds the tree.
+     *
+     * @param employees The employees to build the hierarchy for
+     * @return The resolved hierarchy
+     */
+    public static OrgHierarchy build(EmployeeRepository employees) {
+        int count = employees.size();
+
+        // Index employees by normalized name; a name shared by two employees resolves to neither
+        // Each employee is read once; compact repositories build a new object on every get()
+        Map<String, Integer> byName = new HashMap<>(count * 2);
+        String[] supervisors = new String[count];
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            Employee employee = employees.get(ordinal);
+            String key = nameKey(employee.getLastName() + " " + employee.getFirstName());
+            byName.merge(key, ordinal, (first, second) -> -1);
+            supervisors[ordinal] = employee.getSupervisor();
+        }
+
+        int[] parent = new int[count];
+        int unresolved = 0;
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            String supervisor = supervisors[ordinal];
+            Integer match = byName.get(nameKey(supervisor));
+            parent[ordinal] = match == null || match == ordinal ? -1 : match;
+            if (parent[ordinal] < 0 && !supervisor.isEmpty() && !supervisor.equalsIgnoreCase("N/A")) {
+                unresolved++;
+            }
+        }
+        unresolved += breakCycles(parent);
+
+        // Direct reports grouped by supervisor (counting sort on the parent ordinal)
+        int[] reportStart = new int[count + 1];
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if (parent[ordinal] >= 0) {
+                reportStart[parent[ordinal] + 1]++;
+            }
+        }
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            reportStart[ordinal + 1] += reportStart[ordinal];
+        }
+        int[] reports = new int[reportStart[count]];
+        int[] next = Arrays.copyOf(reportStart, count);
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if (parent[ordinal] >= 0) {
+                reports[next[parent[ordinal]]++] = ordinal;
+            }
+        }
+
+        // Breadth-first from the roots puts every supervisor before its reports
+        int[] order = new int[count];
+        int size = 0;
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if (parent[ordinal] < 0) {
+                order[size++] = ordinal;
+            }
+        }
+        for (int head = 0; head < size; head++) {
+            int supervisor = order[head];
+            for (int i = reportStart[supervisor]; i < reportStart[supervisor + 1]; i++) {
+                order[size++] = reports[i];
+            }
+        }
+
+        int[] teamSize = new int[count];
+        Arrays.fill(teamSize, 1);
+        for (int i = count - 1; i >= 0; i--) {
+            int ordinal = order[i];
+            if (parent[ordinal] >= 0) {
+                teamSize[parent[ordinal]] += teamSize[ordinal];
+            }
+        }
+        return new OrgHierarchy(parent, order, reportStart, reports, teamSize, unresolved);
+    }
+
+    /**
+     * Makes one member of every reporting cycle a root, so the tree has no loops.
+     *
+     * @return Number of cycles broken
+     */
+    private static int breakCycles(int[] parent) {
+        // 0 = not visited, 1 = on the chain being followed, 2 = known to reach a root
+        byte[] state = new byte[parent.length];
+        int cycles = 0;
+        for (int start = 0; start < parent.length; start++) {
+            int node = start;
+            while (node >= 0 && state[node] == 0) {
+                state[node] = 1;
+                node = parent[node];
+            }
+            if (node >= 0 && state[node] == 1) {
+                // The chain came back to itself
+                parent[node] = -1;
+                cycles++;
+            }
+            for (node = start; node >= 0 && state[node] == 1; node = parent[node]) {
+                state[node] = 2;
+            }
+        }
+        return cycles;
+    }
+
+    /**
+     * Normalizes a name for matching: lower case, commas dropped, runs of spaces collapsed.
+     */
+    private static String nameKey(String name) {
+        return name.replace(',', ' ').trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param ordinal An employee ordinal
+     * @return The supervisor's ordinal, or -1 if the employee is a root
+     */
+    public int supervisorOf(int ordinal) {
+        return parent[ordinal];
+    }
+
+    /**
+     * @param ordinal An employee ordinal
+     * @return Ordinals of the employee's direct reports, in load order
+     */
+    public int[] directReportsOf(int ordinal) {
+        return Arrays.copyOfRange(reports, reportStart[ordinal], reportStart[ordinal + 1]);
+    }
+
+    /**
+     * @param ordinal An employee ordinal
+     * @return Number of employees in the employee's team, the employee included
+     */
+    public int teamSizeOf(int ordinal) {
+        return teamSize[ordinal];
+    }
+
+    /**
+     * @return Ordinals of employees without a resolved supervisor, in load order
+     */
+    public int[] roots() {
+        int count = 0;
+        while (count < order.length && parent[order[count]] < 0) {
+            count++;
+        }
+        return Arrays.copyOf(order, count);
+    }
+
+    /**
+     * @return Number of employees
+     */
+    public int size() {
+        return parent.length;
+    }
+
+    /**
+     * @return Employees made roots because their supervisor could not be resolved
+     *         (unknown or ambiguous name, or a reporting cycle)
+     */
+    public int getUnresolvedCount() {
+        return unresolved;
+    }
+
+    /**
+     * Adds up payroll results per employee and per team in one bottom-up pass.
+     * Results for several periods are added together.
+     *
+     * @param employees The repository the hierarchy was built from
+     * @param results Payroll results of employees in that repository
+     * @return Own and team totals for every employee
+     */
+    public Rollup rollUp(EmployeeRepository employees, Iterable<PayrollResult> results) {
+        if (employees.size() != parent.length) {
+            throw new IllegalArgumentException("Hierarchy covers " + parent.length + " employees, repository has "
+                                               + employees.size());
+        }
+        long[][] own = new long[Measure.values().length][parent.length];
+        for (PayrollResult result : results) {
+            int ordinal = employees.ordinalOf(EmployeeRepository.parseEmployeeNumber(
+                result.getEmployee().getEmployeeNumber()));
+            if (ordinal < 0) {
+                continue;
+            }
+            long allowances = result.getTotalAllowancesCentavos();
+            own[Measure.GROSS.ordinal()][ordinal] += result.getGrossSalaryCentavos();
+            own[Measure.DEDUCTIONS.ordinal()][ordinal] += result.getTotalDeductionsCentavos();
+            own[Measure.ALLOWANCES.ordinal()][ordinal] += allowances;
+            own[Measure.NET.ordinal()][ordinal] += result.getNetSalaryCentavos() + allowances;
+        }
+
+        long[][] team = new long[own.length][];
+        for (int measure = 0; measure < own.length; measure++) {
+            team[measure] = own[measure].clone();
+        }
+        // Reports come after their supervisor in order, so walking it backwards sees every
+        // team complete before it is added to the supervisor's
+        for (int i = order.length - 1; i >= 0; i--) {
+            int ordinal = order[i];
+            int supervisor = parent[ordinal];
+            if (supervisor >= 0) {
+                for (long[] column : team) {
+                    column[supervisor] += column[ordinal];
+                }
+            }
+        }
+        return new Rollup(own, team);
+    }
+
+    /**
+     * An amount rolled up per employee and team.
+     */
+    public enum Measure {
+        /** Gross salary. */
+        GROSS,
+        /** Statutory contributions and withholding tax. */
+        DEDUCTIONS,
+        /** Rice, phone and clothing allowances. */
+        ALLOWANCES,
+        /** Net pay including allowances, as on the payslip. */
+        NET
+    }
+
+    /**
+     * Payroll totals per employee and per team, in centavos (see utils.Money).
+     */
+    public static final class Rollup {
+        private final long[][] own;
+        private final long[][] team;
+
+        private Rollup(long[][] own, long[][] team) {
+            this.own = own;
+            this.team = team;
+        }
+
+        /**
+         * @param ordinal An employee ordinal
+         * @param measure The amount to read
+         * @return The employee's own amount in centavos
+         */
+        public long getOwnCentavos(int ordinal, Measure measure) {
+            return own[measure.ordinal()][ordinal];
+        }
+
+        /**
+         * @param ordinal An employee ordinal
+         * @param measure The amount to read
+         * @return The amount for the employee and everyone reporting to them, directly or not
+         */
+        public long getTeamCentavos(int ordinal, Measure measure) {
+            return team[measure.ordinal()][ordinal];
+        }
+    }
+}
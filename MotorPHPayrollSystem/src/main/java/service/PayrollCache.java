@@ -0,0 +1,238 @@
+package service;
+
+import model.Employee;
+import model.PayPeriod;
+import model.PayrollResult;
+import utils.RateSchedule;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Bounded least-recently-used cache of computed payroll results.
+ * This class demonstrates:
+ * - Encapsulation: Eviction order and statistics are managed internally
+ * - Thread Safety: All operations are synchronized on the cache
+ * - Appropriate Data Structures: LinkedHashMap in access order gives O(1) LRU eviction
+ *
+ * Entries are keyed by employee number and pay period and hold the PayrollResult together
+ * with the rendered payslip text. PayrollSystem invalidates entries whose hours or employee
+ * record change when data is reloaded; a lookup also checks the entry against the caller's
+ * data and rates, so an entry put by a computation still running on older data or rates is
+ * never served.
+ */
+public class PayrollCache {
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * @param maxEntries Maximum number of results kept; least recently used entries are evicted first
+     */
+    public PayrollCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > PayrollCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Looks up the entry computed from the given employee record, hours and rates, and records
+     * a hit or miss. An entry computed from other data is stale: it is removed and counts as a miss.
+     *
+     * @param employeeNumber The numeric employee number
+     * @param period The pay period
+     * @param employee The caller's record of the employee
+     * @param hoursWorked The caller's hours of the employee in the period
+     * @param rates The caller's rate schedule
+     * @return The cached entry, or null on a miss
+     */
+    public synchronized Entry get(int employeeNumber, PayPeriod period, Employee employee, double hoursWorked,
+                                  RateSchedule rates) {
+        Key key = new Key(employeeNumber, period);
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isComputedFrom(employee, hoursWorked, rates)) {
+            entries.remove(key);
+            invalidations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores a computed result and its rendered payslip.
+     *
+     * @param employeeNumber The numeric employee number
+     * @param result The computed payroll result
+     * @param payslip The rendered payslip text
+     * @param rates The rate schedule the result was computed under
+     * @return The stored entry
+     */
+    public synchronized Entry put(int employeeNumber, PayrollResult result, String payslip, RateSchedule rates) {
+        Entry entry = new Entry(result, payslip, rates);
+        entries.put(new Key(employeeNumber, result.getPeriod()), entry);
+        return entry;
+    }
+
+    /**
+     * Removes every entry of one employee.
+     *
+     * @param employeeNumber The numeric employee number
+     */
+    public synchronized void invalidateEmployee(int employeeNumber) {
+        removeIf(key -> key.employeeNumber == employeeNumber);
+    }
+
+    /**
+     * Removes entries whose cached hours no longer match the given attendance.
+     *
+     * @param employees Repository used to resolve employee ordinals
+     * @param attendance The newly loaded attendance
+     */
+    public synchronized void invalidateChangedHours(EmployeeRepository employees, AttendanceStore attendance) {
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> mapEntry = iterator.next();
+            int ordinal = employees.ordinalOf(mapEntry.getKey().employeeNumber);
+            double hours = attendance.hoursFor(ordinal, mapEntry.getKey().period);
+            if (hours != mapEntry.getValue().getResult().getHoursWorked()) {
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public synchronized void clear() {
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    private void removeIf(Predicate<Key> predicate) {
+        List<Key> stale = new ArrayList<>();
+        for (Key key : entries.keySet()) {
+            if (predicate.test(key)) {
+                stale.add(key);
+            }
+        }
+        for (Key key : stale) {
+            entries.remove(key);
+        }
+        invalidations += stale.size();
+    }
+
+    /**
+     * @return Number of entries currently cached
+     */
+    public synchronized int size() { return entries.size(); }
+
+    /**
+     * @return Number of lookups that found an entry
+     */
+    public synchronized long getHits() { return hits; }
+
+    /**
+     * @return Number of lookups that found nothing
+     */
+    public synchronized long getMisses() { return misses; }
+
+    /**
+     * @return Number of entries removed to stay within the size bound
+     */
+    public synchronized long getEvictions() { return evictions; }
+
+    /**
+     * @return Number of entries removed because their data changed
+     */
+    public synchronized long getInvalidations() { return invalidations; }
+
+    /**
+     * @return Fraction of lookups that were hits, or 0.0 before the first lookup
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("PayrollCache[size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, invalidations=%d]",
+                             entries.size(), maxEntries, hits, misses, getHitRate() * 100, evictions, invalidations);
+    }
+
+    /**
+     * A cached payroll result with its rendered payslip.
+     */
+    public static class Entry {
+        private final PayrollResult result;
+        private final String payslip;
+        private final RateSchedule rates;
+
+        Entry(PayrollResult result, String payslip, RateSchedule rates) {
+            this.result = result;
+            this.payslip = payslip;
+            this.rates = rates;
+        }
+
+        public PayrollResult getResult() { return result; }
+        public String getPayslip() { return payslip; }
+
+        private boolean isComputedFrom(Employee employee, double hoursWorked, RateSchedule rates) {
+            return this.rates == rates
+                && result.getHoursWorked() == hoursWorked
+                && (result.getEmployee() == employee || result.getEmployee().equals(employee));
+        }
+    }
+
+    /**
+     * Cache key: employee number and pay period.
+     */
+    private static final class Key {
+        private final int employeeNumber;
+        private final PayPeriod period;
+
+        Key(int employeeNumber, PayPeriod period) {
+            this.employeeNumber = employeeNumber;
+            this.period = period;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return employeeNumber == other.employeeNumber && period.equals(other.period);
+        }
+
+        @Override
+        public int hashCode() {
+            // Combined by hand: this runs on every lookup and Objects.hash would box the number
+            return 31 * employeeNumber + period.hashCode();
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package service;
 
 import model.Employee;
+import model.PayPeriod;
+import utils.DeductionPlan;
 import utils.DeductionsCalculator;
 import utils.DeductionsCalculator.DeductionResult;
+import utils.Money;
+import utils.PayslipTemplate;
+import utils.RateSchedule;
+import utils.StatutoryRates;
 
 import java.util.List;
 
@@ -11,11 +17,35 @@ import java.util.List;
  * This class demonstrates:
  * - Single Responsibility Principle: Focused solely on salary computation
  * - High Cohesion: All methods are related to payroll calculations
- * - Dependency Injection: Uses Employee objects passed as parameters
+ * - Dependency Injection: Uses Employee objects passed as parameters and the statutory
+ *   rates it was created with
  * - Abstraction: Hides complex calculation details behind simple method interfaces
  * - Polymorphism: Uses polymorphic deduction calculations
+ *
+ * Deductions use the rates given to the constructor, normally those in force in the pay
+ * period being computed (see RateSchedule.ratesOn).
  */
 public class PayrollCalculator {
+    /** Standard work hours per month; the hourly rate is the basic salary divided by this. */
+    public static final long STANDARD_MONTHLY_HOURS = 168;
+
+    private final StatutoryRates rates;
+
+    /**
+     * Creates a calculator using the built-in rates (see RateSchedule.builtIn).
+     */
+    public PayrollCalculator() {
+        this(RateSchedule.builtIn().latest());
+    }
+
+    /**
+     * Creates a calculator that computes deductions under the given rates.
+     * 
+     * @param rates The rates in force in the pay period
+     */
+    public PayrollCalculator(StatutoryRates rates) {
+        this.rates = rates;
+    }
 
     /**
      * Computes the gross salary based on hourly rate and hours worked.
@@ -26,9 +56,47 @@ public class PayrollCalculator {
      * @return The computed gross salary.
      */
     public double computeGrossSalary(Employee employee, double hoursWorked) {
-        // Standard work hours per month - could be moved to a constants class in a more complex system
-        double hourlyRate = employee.getBasicSalary() / 168; 
-        return hourlyRate * hoursWorked;
+        return Money.toPesos(computeGrossSalaryCentavos(employee, hoursWorked));
+    }
+
+    /**
+     * Computes the gross salary in centavos: basic salary × hours worked / 168, rounded half up
+     * once at the end. Hours are taken in AttendanceStore fixed point, so the result is exact
+     * integer arithmetic and the same on every thread.
+     * 
+     * @param employee The employee whose salary is being calculated.
+     * @param hoursWorked The number of hours worked by the employee.
+     * @return The computed gross salary in centavos.
+     */
+    public static long computeGrossSalaryCentavos(Employee employee, double hoursWorked) {
+        return computeGrossSalaryCentavos(employee.getBasicSalaryCentavos(), hoursWorked);
+    }
+
+    /**
+     * Computes the gross salary in centavos from the basic salary alone, for callers that read
+     * it without an Employee object (see EmployeeRepository.basicSalaryCentavosAt).
+     * 
+     * @param basicSalary The basic monthly salary in centavos.
+     * @param hoursWorked The number of hours worked by the employee.
+     * @return The computed gross salary in centavos.
+     */
+    public static long computeGrossSalaryCentavos(long basicSalary, double hoursWorked) {
+        long hourUnits = Math.round(hoursWorked * AttendanceStore.UNITS_PER_HOUR);
+        return Money.multiply(basicSalary, hourUnits, STANDARD_MONTHLY_HOURS * AttendanceStore.UNITS_PER_HOUR);
+    }
+
+    /**
+     * Computes an employee's allowances for a pay period: each monthly allowance prorated to
+     * the period's share of a month, so itemized and total allowances always agree.
+     * 
+     * @param employee The employee whose allowances are being calculated.
+     * @param period The pay period.
+     * @return The allowances for the period in centavos.
+     */
+    public static long computeAllowancesCentavos(Employee employee, PayPeriod period) {
+        return period.prorate(Money.ofPesos(employee.getRiceSubsidy()))
+            + period.prorate(Money.ofPesos(employee.getPhoneAllowance()))
+            + period.prorate(Money.ofPesos(employee.getClothingAllowance()));
     }
 
     /**
@@ -39,12 +107,22 @@ public class PayrollCalculator {
      * @return The total deductions amount.
      */
     public double computeDeductions(double grossSalary) {
-        // Using utility methods from DeductionsCalculator - demonstrates delegation
-        double sss = DeductionsCalculator.calculateSSS(grossSalary);
-        double philHealth = DeductionsCalculator.calculatePhilHealth(grossSalary);
-        double pagIbig = DeductionsCalculator.calculatePagIbig(grossSalary);
-        double taxableIncome = grossSalary - (sss + philHealth + pagIbig);
-        double withholdingtax = DeductionsCalculator.calculateTax(taxableIncome);
+        return Money.toPesos(computeDeductionsCentavos(Money.ofPesos(grossSalary)));
+    }
+
+    /**
+     * Computes the total deductions in centavos.
+     * 
+     * @param grossSalary The gross salary before deductions, in centavos.
+     * @return The total deductions in centavos.
+     */
+    public long computeDeductionsCentavos(long grossSalary) {
+        // Each table comes from this calculator's rates - demonstrates delegation
+        long sss = rates.sssCentavos(grossSalary);
+        long philHealth = rates.philHealthCentavos(grossSalary);
+        long pagIbig = rates.pagIbigCentavos(grossSalary);
+        long taxableIncome = grossSalary - (sss + philHealth + pagIbig);
+        long withholdingtax = rates.withholdingTaxCentavos(taxableIncome);
 
         return sss + philHealth + pagIbig + withholdingtax;
     }
@@ -57,7 +135,7 @@ public class PayrollCalculator {
      * @return List of all deductions with types and amounts
      */
     public List<DeductionResult> getItemizedDeductions(double grossSalary) {
-        return DeductionsCalculator.getAllDeductions(grossSalary);
+        return DeductionsCalculator.getAllDeductions(grossSalary, rates);
     }
 
     /**
@@ -69,10 +147,9 @@ public class PayrollCalculator {
      * @return The net salary after deductions and adding allowances.
      */
     public double computeNetSalary(Employee employee, double hoursWorked) {
-        double grossSalary = computeGrossSalary(employee, hoursWorked);
-        double totalDeductions = computeDeductions(grossSalary);
-        double totalAllowances = employee.getRiceSubsidy() + employee.getPhoneAllowance() + employee.getClothingAllowance();
-        return grossSalary - totalDeductions + totalAllowances;
+        long grossSalary = computeGrossSalaryCentavos(employee, hoursWorked);
+        long totalDeductions = computeDeductionsCentavos(grossSalary);
+        return Money.toPesos(grossSalary - totalDeductions + employee.getTotalAllowancesCentavos());
     }
 
     /**
@@ -85,29 +162,42 @@ public class PayrollCalculator {
      */
     public void displayPayroll(Employee employee, double hoursWorked) {
         // Calculate all required values by reusing existing methods - DRY principle
-        double grossSalary = computeGrossSalary(employee, hoursWorked);
-        double totalAllowances = employee.getRiceSubsidy() + employee.getPhoneAllowance() + employee.getClothingAllowance();
+        long grossCentavos = computeGrossSalaryCentavos(employee, hoursWorked);
+        long allowanceCentavos = employee.getTotalAllowancesCentavos();
         
-        // Use polymorphic method to get itemized deductions
-        List<DeductionResult> deductions = getItemizedDeductions(grossSalary);
-        double totalDeductions = deductions.stream().mapToDouble(DeductionResult::getAmount).sum();
+        // Evaluate every deduction in one pass through the compiled deduction plan
+        DeductionPlan plan = DeductionsCalculator.getDefaultPlan();
+        DeductionPlan.Breakdown deductions = plan.newBreakdown();
+        plan.evaluate(grossCentavos, rates, deductions);
         
-        double netSalary = grossSalary - totalDeductions + totalAllowances;
+        double grossSalary = Money.toPesos(grossCentavos);
+        double totalAllowances = Money.toPesos(allowanceCentavos);
+        double totalDeductions = deductions.getTotal();
+        double netSalary = Money.toPesos(grossCentavos - deductions.getTotalCentavos() + allowanceCentavos);
 
-        // Display payroll summary - presentation logic
-        System.out.println("\n💰 Payroll Summary for " + employee.getFullName());
-        System.out.println("-------------------------------------------------");
-        System.out.printf("Gross Salary: PHP %.2f%n", grossSalary);
-        System.out.printf("Total Allowances: PHP %.2f%n", totalAllowances);
+        // Display payroll summary - presentation logic, assembled in one buffer and printed once
+        String rule = "-------------------------------------------------" + System.lineSeparator();
+        StringBuilder summary = new StringBuilder(512);
+        summary.append(System.lineSeparator()).append("💰 Payroll Summary for ").append(employee.getFullName())
+               .append(System.lineSeparator()).append(rule);
+        appendLine(summary, "Gross Salary: PHP ", grossSalary);
+        appendLine(summary, "Total Allowances: PHP ", totalAllowances);
         
         // Display itemized deductions using polymorphism
-        System.out.println("Deductions:");
-        for (DeductionResult deduction : deductions) {
-            System.out.printf("- %s: PHP %.2f%n", deduction.getType(), deduction.getAmount());
+        summary.append("Deductions:").append(System.lineSeparator());
+        for (int slot = 0; slot < deductions.size(); slot++) {
+            summary.append("- ").append(deductions.getType(slot));
+            appendLine(summary, ": PHP ", deductions.getAmount(slot));
         }
         
-        System.out.printf("Total Deductions: PHP %.2f%n", totalDeductions);
-        System.out.printf("Net Salary: PHP %.2f%n", netSalary);
-        System.out.println("-------------------------------------------------");
+        appendLine(summary, "Total Deductions: PHP ", totalDeductions);
+        appendLine(summary, "Net Salary: PHP ", netSalary);
+        System.out.print(summary.append(rule));
+    }
+
+    private static void appendLine(StringBuilder out, String label, double amount) {
+        out.append(label);
+        PayslipTemplate.appendAmount(out, amount, 0);
+        out.append(System.lineSeparator());
     }
 }
\ No newline at end of file
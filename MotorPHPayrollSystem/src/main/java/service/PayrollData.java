@@ -0,0 +1,126 @@
+package service;
+
+import utils.RateSchedule;
+
+import java.time.Instant;
+
+/**
+ * Immutable snapshot of the data a PayrollSystem works on: employees, their reporting lines,
+ * their attendance, the statutory rates payroll is computed under and the year-to-date
+ * ledger of the periods posted from them.
+ * This class demonstrates:
+ * - Immutability: A snapshot never changes, so any number of threads can read it without locks
+ * - Copy-on-Write: Loading builds a new snapshot off to the side; PayrollSystem swaps it in atomically
+ *
+ * A computation that reads the snapshot once at its start sees one consistent version of the
+ * data for its whole run, even if a reload publishes a newer snapshot in the meantime.
+ */
+public final class PayrollData {
+    private static final PayrollData EMPTY = new PayrollData(EmployeeRepository.empty(), OrgHierarchy.empty(),
+                                                             AttendanceStore.empty(), RateSchedule.builtIn(),
+                                                             YearToDateLedger.empty(), 0, Instant.EPOCH);
+
+    private final EmployeeRepository employees;
+    private final OrgHierarchy hierarchy;
+    private final AttendanceStore attendance;
+    private final RateSchedule rates;
+    private final YearToDateLedger ledger;
+    private final long version;
+    private final Instant loadedAt;
+
+    private PayrollData(EmployeeRepository employees, OrgHierarchy hierarchy, AttendanceStore attendance,
+                        RateSchedule rates, YearToDateLedger ledger, long version, Instant loadedAt) {
+        this.employees = employees;
+        this.hierarchy = hierarchy;
+        this.attendance = attendance;
+        this.rates = rates;
+        this.ledger = ledger;
+        this.version = version;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * @return The snapshot before anything is loaded: no employees, no attendance, nothing
+     *         posted and the built-in rates (version 0)
+     */
+    public static PayrollData empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param attendance The new attendance, by ordinals of this snapshot's employees
+     * @return A newer snapshot with this snapshot's employees and the given attendance
+     */
+    PayrollData withAttendance(AttendanceStore attendance) {
+        return with(employees, attendance);
+    }
+
+    /**
+     * Reporting lines are resolved here, once per new set of employees. The ledger still
+     * holds what was posted from this snapshot until withLedger replaces it.
+     *
+     * @return A newer snapshot with the given data
+     */
+    PayrollData with(EmployeeRepository employees, AttendanceStore attendance) {
+        OrgHierarchy resolved = employees == this.employees ? hierarchy : OrgHierarchy.build(employees);
+        return new PayrollData(employees, resolved, attendance, rates, ledger, version + 1, Instant.now());
+    }
+
+    /**
+     * @param rates The newly loaded rate schedule
+     * @return A newer snapshot with this snapshot's employees and attendance and the given rates
+     */
+    PayrollData withRates(RateSchedule rates) {
+        return new PayrollData(employees, hierarchy, attendance, rates, ledger, version + 1, Instant.now());
+    }
+
+    /**
+     * The ledger is derived from the data, so replacing it keeps the version.
+     *
+     * @param ledger Year-to-date totals posted from this snapshot's data and rates
+     * @return This snapshot with the given ledger
+     */
+    PayrollData withLedger(YearToDateLedger ledger) {
+        return new PayrollData(employees, hierarchy, attendance, rates, ledger, version, loadedAt);
+    }
+
+    /**
+     * @return The employees in this snapshot
+     */
+    public EmployeeRepository getEmployees() { return employees; }
+
+    /**
+     * @return The reporting lines of this snapshot's employees
+     */
+    public OrgHierarchy getHierarchy() { return hierarchy; }
+
+    /**
+     * @return The attendance in this snapshot, indexed by the employees' ordinals
+     */
+    public AttendanceStore getAttendance() { return attendance; }
+
+    /**
+     * @return The statutory rate tables payroll of this snapshot is computed under
+     */
+    public RateSchedule getRates() { return rates; }
+
+    /**
+     * @return Year-to-date totals of the periods posted so far, computed from this snapshot
+     */
+    public YearToDateLedger getLedger() { return ledger; }
+
+    /**
+     * @return Number of times data was published before this snapshot; 0 for the empty snapshot
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * @return When this snapshot was published
+     */
+    public Instant getLoadedAt() { return loadedAt; }
+
+    @Override
+    public String toString() {
+        return "PayrollData[version=" + version + ", employees=" + employees.size() + ", loadedAt=" + loadedAt + "]";
+    }
+}
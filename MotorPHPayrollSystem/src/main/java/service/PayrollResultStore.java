@@ -0,0 +1,474 @@
+package service;
+
+import model.Employee;
+import model.PayPeriod;
+import model.PayrollResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented, immutable copy of one payroll run's results for analytics queries.
+ * This class demonstrates:
+ * - Data-Oriented Design: Every field is a primitive array with one slot per result, so a
+ *   query only reads the columns it needs, sequentially
+ * - Dictionary Encoding: Position, employment status and supervisor are stored as small int
+ *   codes into a table of distinct values, so group-by is an array index instead of a hash lookup
+ * - Immutability: Built once per run; any number of threads can query it
+ *
+ * Amounts are whole centavos (see utils.Money); hours are fixed point in units of
+ * AttendanceStore.UNITS_PER_HOUR. Example:
+ *
+ *   store.query().where(Dimension.EMPLOYMENT_STATUS, "Regular").sumBy(Dimension.POSITION, Column.GROSS)
+ */
+public final class PayrollResultStore {
+    private static final PayrollResultStore EMPTY = build(EmployeeRepository.empty(), Collections.emptyList());
+
+    private final EmployeeRepository employees;
+    private final int size;
+    private final int[] ordinal;         // row -> employee ordinal in the repository the run used
+    private final int[] period;          // row -> index into periods
+    private final PayPeriod[] periods;   // distinct periods, in first-seen order
+    private final long[][] columns;      // Column.ordinal() -> row -> value
+    private final int[][] codes;         // Dimension.ordinal() -> row -> index into values
+    private final String[][] values;     // Dimension.ordinal() -> distinct values, in first-seen order
+
+    private PayrollResultStore(EmployeeRepository employees, int size, int[] ordinal, int[] period,
+                               PayPeriod[] periods, long[][] columns, int[][] codes, String[][] values) {
+        this.employees = employees;
+        this.size = size;
+        this.ordinal = ordinal;
+        this.period = period;
+        this.periods = periods;
+        this.columns = columns;
+        this.codes = codes;
+        this.values = values;
+    }
+
+    /**
+     * @return A store without any results
+     */
+    public static PayrollResultStore empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Copies results into columns. Results of employees missing from the repository are skipped.
+     *
+     * @param employees The repository the results were computed from
+     * @param results The results of one run
+     * @return The columnar store, rows in the order of the results
+     */
+    public static PayrollResultStore build(EmployeeRepository employees, List<PayrollResult> results) {
+        int capacity = results.size();
+        int[] ordinal = new int[capacity];
+        int[] period = new int[capacity];
+        long[][] columns = new long[Column.values().length][capacity];
+        int[][] codes = new int[Dimension.values().length][capacity];
+        List<PayPeriod> periods = new ArrayList<>();
+        Map<PayPeriod, Integer> periodIndex = new HashMap<>();
+        List<Map<String, Integer>> dictionaries = new ArrayList<>();
+        for (int i = 0; i < Dimension.values().length; i++) {
+            dictionaries.add(new LinkedHashMap<>());
+        }
+
+        int size = 0;
+        for (PayrollResult result : results) {
+            Employee employee = result.getEmployee();
+            int row = employees.ordinalOf(EmployeeRepository.parseEmployeeNumber(employee.getEmployeeNumber()));
+            if (row < 0) {
+                continue;
+            }
+            ordinal[size] = row;
+            period[size] = periodIndex.computeIfAbsent(result.getPeriod(), key -> {
+                periods.add(key);
+                return periods.size() - 1;
+            });
+            long allowances = result.getTotalAllowancesCentavos();
+            columns[Column.HOURS.ordinal()][size] = Math.round(result.getHoursWorked() * AttendanceStore.UNITS_PER_HOUR);
+            columns[Column.GROSS.ordinal()][size] = result.getGrossSalaryCentavos();
+            columns[Column.SSS.ordinal()][size] = result.getSssCentavos();
+            columns[Column.PHILHEALTH.ordinal()][size] = result.getPhilHealthCentavos();
+            columns[Column.PAGIBIG.ordinal()][size] = result.getPagIbigCentavos();
+            columns[Column.WITHHOLDING_TAX.ordinal()][size] = result.getWithholdingTaxCentavos();
+            columns[Column.ALLOWANCES.ordinal()][size] = allowances;
+            columns[Column.NET.ordinal()][size] = result.getNetSalaryCentavos() + allowances;
+            for (Dimension dimension : Dimension.values()) {
+                Map<String, Integer> dictionary = dictionaries.get(dimension.ordinal());
+                String value = dimension.attribute.apply(employee);
+                codes[dimension.ordinal()][size] = dictionary.computeIfAbsent(value, key -> dictionary.size());
+            }
+            size++;
+        }
+
+        String[][] values = new String[Dimension.values().length][];
+        for (Dimension dimension : Dimension.values()) {
+            values[dimension.ordinal()] = dictionaries.get(dimension.ordinal()).keySet().toArray(new String[0]);
+        }
+        return new PayrollResultStore(employees, size, ordinal, period, periods.toArray(new PayPeriod[0]), columns,
+                                      codes, values);
+    }
+
+    /**
+     * @return Number of results in the store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The repository the run was computed from; ordinalAt refers to it
+     */
+    public EmployeeRepository getEmployees() {
+        return employees;
+    }
+
+    /**
+     * @return The distinct periods of the run, in the order they first appear
+     */
+    public List<PayPeriod> getPeriods() {
+        return Collections.unmodifiableList(Arrays.asList(periods));
+    }
+
+    /**
+     * @param row A row index
+     * @return The employee ordinal of the row in getEmployees()
+     */
+    public int ordinalAt(int row) {
+        return ordinal[row];
+    }
+
+    /**
+     * @param row A row index
+     * @return The pay period of the row
+     */
+    public PayPeriod periodAt(int row) {
+        return periods[period[row]];
+    }
+
+    /**
+     * @param row A row index
+     * @param column The column to read
+     * @return The value in centavos, or fixed-point units for HOURS
+     */
+    public long valueAt(int row, Column column) {
+        return columns[column.ordinal()][row];
+    }
+
+    /**
+     * @param row A row index
+     * @param dimension The attribute to read
+     * @return The employee attribute of the row
+     */
+    public String attributeAt(int row, Dimension dimension) {
+        return values[dimension.ordinal()][codes[dimension.ordinal()][row]];
+    }
+
+    /**
+     * @return A query over every row; narrow it down with the where methods
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * A numeric column of the store.
+     */
+    public enum Column {
+        /** Hours worked, in units of AttendanceStore.UNITS_PER_HOUR. */
+        HOURS,
+        /** Gross salary. */
+        GROSS,
+        /** SSS contribution. */
+        SSS,
+        /** PhilHealth contribution. */
+        PHILHEALTH,
+        /** Pag-IBIG contribution. */
+        PAGIBIG,
+        /** Withholding tax. */
+        WITHHOLDING_TAX,
+        /** Rice, phone and clothing allowances. */
+        ALLOWANCES,
+        /** Net pay including allowances, as on the payslip. */
+        NET
+    }
+
+    /**
+     * An employee attribute rows can be filtered and grouped by.
+     */
+    public enum Dimension {
+        /** Job position. */
+        POSITION(Employee::getPosition),
+        /** Employment status, e.g. Regular or Probationary. */
+        EMPLOYMENT_STATUS(Employee::getEmploymentStatus),
+        /** Supervisor as written in the employee record. */
+        SUPERVISOR(Employee::getSupervisor);
+
+        private final Function<Employee, String> attribute;
+
+        Dimension(Function<Employee, String> attribute) {
+            this.attribute = attribute;
+        }
+    }
+
+    /**
+     * Filters and aggregates over the store. Filters are combined with AND and evaluated in one
+     * scan when the first aggregate runs; the matching rows are then reused by later aggregates.
+     * A query is meant for one thread; parallel() only splits its own scans over the common
+     * fork-join pool.
+     */
+    public final class Query {
+        private final List<int[]> dimensionFilters = new ArrayList<>(); // {dimension, code}
+        private final List<long[]> rangeFilters = new ArrayList<>();    // {column, min, max}
+        private int periodFilter = -1;
+        private boolean noMatch;
+        private boolean parallel;
+        private int[] rows;
+
+        private Query() {
+        }
+
+        /**
+         * Keeps rows whose employee attribute equals a value.
+         *
+         * @param dimension The attribute
+         * @param value The value to keep, matched exactly
+         * @return This query
+         */
+        public Query where(Dimension dimension, String value) {
+            int code = Arrays.asList(values[dimension.ordinal()]).indexOf(value);
+            if (code < 0) {
+                noMatch = true;
+            }
+            dimensionFilters.add(new int[] {dimension.ordinal(), code});
+            rows = null;
+            return this;
+        }
+
+        /**
+         * Keeps rows whose column value lies in a range.
+         *
+         * @param column The column
+         * @param min Smallest value to keep (inclusive)
+         * @param max Largest value to keep (inclusive)
+         * @return This query
+         */
+        public Query where(Column column, long min, long max) {
+            rangeFilters.add(new long[] {column.ordinal(), min, max});
+            rows = null;
+            return this;
+        }
+
+        /**
+         * Keeps rows of one pay period.
+         *
+         * @param payPeriod The period
+         * @return This query
+         */
+        public Query inPeriod(PayPeriod payPeriod) {
+            int index = Arrays.asList(periods).indexOf(payPeriod);
+            if (index < 0 || (periodFilter >= 0 && periodFilter != index)) {
+                noMatch = true;
+            }
+            periodFilter = index;
+            rows = null;
+            return this;
+        }
+
+        /**
+         * Runs the scans of this query on all available cores.
+         *
+         * @return This query
+         */
+        public Query parallel() {
+            parallel = true;
+            return this;
+        }
+
+        /**
+         * @return Indexes of the matching rows, in store order
+         */
+        public int[] rows() {
+            if (rows == null) {
+                IntStream all = IntStream.range(0, noMatch ? 0 : size);
+                rows = (parallel ? all.parallel() : all).filter(this::matches).toArray();
+            }
+            return rows;
+        }
+
+        private boolean matches(int row) {
+            if (periodFilter >= 0 && period[row] != periodFilter) {
+                return false;
+            }
+            for (int[] filter : dimensionFilters) {
+                if (codes[filter[0]][row] != filter[1]) {
+                    return false;
+                }
+            }
+            for (long[] filter : rangeFilters) {
+                long value = columns[(int) filter[0]][row];
+                if (value < filter[1] || value > filter[2]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private IntStream rowStream() {
+            IntStream stream = IntStream.of(rows());
+            return parallel ? stream.parallel() : stream;
+        }
+
+        /**
+         * @return Number of matching rows
+         */
+        public int count() {
+            return rows().length;
+        }
+
+        /**
+         * @param column The column to add up
+         * @return Sum of the column over the matching rows
+         */
+        public long sum(Column column) {
+            long[] values = columns[column.ordinal()];
+            return rowStream().mapToLong(row -> values[row]).sum();
+        }
+
+        /**
+         * Nearest-rank percentile: the smallest matching value with at least p percent of the
+         * matching values at or below it.
+         *
+         * @param column The column
+         * @param p Percentile between 0 and 100, e.g. 50 for the median
+         * @return The percentile, or 0 if no row matches
+         */
+        public long percentile(Column column, double p) {
+            checkPercentile(p);
+            long[] values = columns[column.ordinal()];
+            return nearestRank(rowStream().mapToLong(row -> values[row]).toArray(), p);
+        }
+
+        /**
+         * Adds up a column per value of an attribute, in one scan over the matching rows.
+         *
+         * @param dimension The attribute to group by
+         * @param column The column to add up
+         * @return Sum per attribute value, in the order the values first appear in the run;
+         *         values without matching rows are left out
+         */
+        public Map<String, Long> sumBy(Dimension dimension, Column column) {
+            int groups = values[dimension.ordinal()].length;
+            int[] code = codes[dimension.ordinal()];
+            long[] values = columns[column.ordinal()];
+            // Slot 2g holds the sum of group g, slot 2g + 1 its row count
+            long[] totals = rowStream().collect(() -> new long[groups * 2], (acc, row) -> {
+                acc[code[row] * 2] += values[row];
+                acc[code[row] * 2 + 1]++;
+            }, (left, right) -> {
+                for (int i = 0; i < left.length; i++) {
+                    left[i] += right[i];
+                }
+            });
+            Map<String, Long> sums = new LinkedHashMap<>();
+            for (int group = 0; group < groups; group++) {
+                if (totals[group * 2 + 1] > 0) {
+                    sums.put(PayrollResultStore.this.values[dimension.ordinal()][group], totals[group * 2]);
+                }
+            }
+            return sums;
+        }
+
+        /**
+         * Counts the matching rows per value of an attribute.
+         *
+         * @param dimension The attribute to group by
+         * @return Row count per attribute value, in the order the values first appear in the run;
+         *         values without matching rows are left out
+         */
+        public Map<String, Long> countBy(Dimension dimension) {
+            int groups = values[dimension.ordinal()].length;
+            int[] code = codes[dimension.ordinal()];
+            long[] counts = new long[groups];
+            for (int row : rows()) {
+                counts[code[row]]++;
+            }
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (int group = 0; group < groups; group++) {
+                if (counts[group] > 0) {
+                    result.put(values[dimension.ordinal()][group], counts[group]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Computes a nearest-rank percentile of a column per value of an attribute.
+         *
+         * @param dimension The attribute to group by
+         * @param column The column
+         * @param p Percentile between 0 and 100
+         * @return Percentile per attribute value, in the order the values first appear in the run;
+         *         values without matching rows are left out
+         */
+        public Map<String, Long> percentileBy(Dimension dimension, Column column, double p) {
+            checkPercentile(p);
+            int groups = values[dimension.ordinal()].length;
+            int[] code = codes[dimension.ordinal()];
+            long[] values = columns[column.ordinal()];
+            int[] matching = rows();
+
+            // Bucket the matching values by group (counting sort), then rank each bucket on its own
+            int[] start = new int[groups + 1];
+            for (int row : matching) {
+                start[code[row] + 1]++;
+            }
+            for (int group = 0; group < groups; group++) {
+                start[group + 1] += start[group];
+            }
+            long[] grouped = new long[matching.length];
+            int[] next = Arrays.copyOf(start, groups);
+            for (int row : matching) {
+                grouped[next[code[row]]++] = values[row];
+            }
+            long[] result = new long[groups];
+            IntStream groupStream = IntStream.range(0, groups);
+            (parallel ? groupStream.parallel() : groupStream).forEach(group ->
+                result[group] = nearestRank(Arrays.copyOfRange(grouped, start[group], start[group + 1]), p));
+
+            Map<String, Long> percentiles = new LinkedHashMap<>();
+            for (int group = 0; group < groups; group++) {
+                if (start[group + 1] > start[group]) {
+                    percentiles.put(PayrollResultStore.this.values[dimension.ordinal()][group], result[group]);
+                }
+            }
+            return percentiles;
+        }
+
+        private long nearestRank(long[] values, double p) {
+            if (values.length == 0) {
+                return 0;
+            }
+            if (parallel) {
+                Arrays.parallelSort(values);
+            } else {
+                Arrays.sort(values);
+            }
+            int rank = (int) Math.ceil(p / 100.0 * values.length);
+            return values[Math.max(rank, 1) - 1];
+        }
+
+        private void checkPercentile(double p) {
+            if (!(p >= 0 && p <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: " + p);
+            }
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package service;
 
 import model.Employee;
-import utils.DeductionsCalculator;
+import model.PayPeriod;
+import model.PayrollResult;
+import utils.BatchDeductionsCalculator;
+import utils.PayslipExporter;
+import utils.PayrollMetrics;
 import utils.PayslipGenerator;
-import utils.TaxCalculator;
+import utils.RateSchedule;
+import utils.StatutoryRates;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Checksum;
 
 /**
  * Manages employee payroll operations, including data loading and payroll processing.
@@ -21,15 +35,70 @@ import java.util.logging.Logger;
  * - Single Responsibility Principle: Each method has a focused purpose
  * - Composition: Utilizes various utility classes to perform specialized operations
  */
-public class PayrollSystem {
+public class PayrollSystem implements AutoCloseable {
     // Logger for error handling and system information - demonstrates good practice for error handling
     private static final Logger LOGGER = Logger.getLogger(PayrollSystem.class.getName());
     
-    // Collection of employees - encapsulated as private field
-    private final List<Employee> employees = new ArrayList<>();
-    
-    // Map structure for storing attendance records by employee and month - demonstrates appropriate data structure use
-    private final Map<String, Map<String, Double>> attendanceRecords = new HashMap<>(); // Employee -> Month -> Hours Worked
+    // Current employees and attendance - an immutable snapshot replaced as a whole on every load.
+    // Readers take the current snapshot without locking; loaders publish a new one atomically.
+    private final AtomicReference<PayrollData> data = new AtomicReference<>(PayrollData.empty());
+
+    // Serializes loads and postings so neither interleaves with a reload; readers never take it
+    private final Object loadLock = new Object();
+
+    // Files of the last loadData call, used by reload()
+    private volatile String employeeSource;
+    private volatile List<String> attendanceSources;
+    private volatile Path snapshotSource;
+
+    // Default number of payroll results kept in the cache
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    // Recently computed results and payslips, keyed by employee number and period
+    private final PayrollCache cache;
+
+    // Results of the latest processAllPayroll run, kept in columns for analytics queries
+    private volatile Run lastRun = new Run(PayrollData.empty(), Collections.emptyList(), PayrollResultStore.empty());
+
+    // Fork-join pool of parallel payroll runs with one worker per core, created by the first run
+    // and shut down by close(); guarded by the system's monitor
+    private ForkJoinPool pool;
+    private boolean closed;
+
+    // Whether loaded employees are packed off-heap (see CompactEmployeeStore)
+    private volatile boolean compactEmployees;
+
+    // Columns parseEmployee reads (Employee # through Clothing Allowance)
+    private static final int EMPLOYEE_COLUMNS = 17;
+
+    // Shared metrics registry - counters and latencies of loading and payroll runs
+    private static final PayrollMetrics METRICS = PayrollMetrics.global();
+    private static final PayrollMetrics.LatencyHistogram PAYROLL_LATENCY = METRICS.histogram("payroll.employee.latency");
+    private static final PayrollMetrics.LatencyHistogram BATCH_LATENCY = METRICS.histogram("payroll.batch.latency");
+    private static final PayrollMetrics.Counter RESULTS_COMPUTED = METRICS.counter("payroll.results.computed");
+
+    // Worker threads of the shared fork-join pool
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    // Months covered by the interactive payroll run (June to December 2024)
+    private static final List<PayPeriod> DEFAULT_PERIODS =
+        PayPeriod.monthlyRange(YearMonth.of(2024, 6), YearMonth.of(2024, 12));
+
+    /**
+     * Creates a payroll system with the default result cache size.
+     */
+    public PayrollSystem() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a payroll system.
+     * 
+     * @param cacheSize Maximum number of computed payroll results to keep
+     */
+    public PayrollSystem(int cacheSize) {
+        this.cache = new PayrollCache(cacheSize);
+    }
 
     /**
      * Loads employee data from a CSV file.
@@ -40,33 +109,143 @@ public class PayrollSystem {
      * @throws CsvException If CSV parsing fails
      */
     public void loadEmployeeData(String filePath) throws IOException, CsvException {
+        long start = System.nanoTime();
+        try {
+            synchronized (loadLock) {
+                PayrollData current = data.get();
+                EmployeeRepository employees = readEmployees(filePath, new CRC32C());
+                // Attendance already loaded follows the employees to their new ordinals
+                AttendanceStore attendance = current.getAttendance().remap(current.getEmployees(), employees);
+                publishLocked(current, current.with(employees, attendance));
+                invalidateEmployeeChanges(current.getEmployees(), employees);
+            }
+            METRICS.histogram("load.employees.duration").recordSince(start);
+            System.out.println("✅ Employee data loaded successfully.");
+        } catch (IOException | CsvException e) {
+            // Logging and re-throwing exceptions - maintains exception chain
+            LOGGER.log(Level.SEVERE, "❌ Error loading employee data: {0}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Parses the employee CSV into a new repository holding only the rows of that file.
+     * Safe to call from a loader thread: it touches no shared state.
+     * 
+     * @param filePath Path to the CSV file
+     * @param contentHash Updated with every byte of the file as it is read
+     * @return The new repository
+     * @throws IOException If file cannot be read
+     * @throws CsvException If CSV parsing fails
+     */
+    private EmployeeRepository readEmployees(String filePath, Checksum contentHash) throws IOException, CsvException {
         try (
             // Resource management with try-with-resources - ensures proper closing of resources
-            InputStreamReader fileReader = new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8);
+            InputStreamReader fileReader = new InputStreamReader(
+                new CheckedInputStream(new FileInputStream(filePath), contentHash), StandardCharsets.UTF_8);
             CSVReader reader = new CSVReader(fileReader)
         ) {
+            // Compact records are packed row by row, so the file never sits on the heap as objects
+            EmployeeRepository.Builder builder = new EmployeeRepository.Builder(compactEmployees);
             String[] line;
             boolean firstLine = true;
+            long loaded = 0;
+            long skipped = 0;
             while ((line = reader.readNext()) != null) {
                 // Skip header row
                 if (firstLine) {
                     firstLine = false;
                     continue;
                 }
+                if (line.length < EMPLOYEE_COLUMNS) {
+                    LOGGER.log(Level.WARNING, "⚠ Skipping employee record with missing columns: {0}", String.join("|", line));
+                    skipped++;
+                    continue;
+                }
                 try {
-                    // Parse each line into an Employee object and add to collection
-                    employees.add(parseEmployee(line));
-                } catch (NumberFormatException e) {
-                    // Graceful error handling for parsing issues
-                    LOGGER.log(Level.WARNING, "⚠ Error parsing numeric fields: {0}", String.join("|", line));
+                    // Parse each line into an Employee object and add to the repository
+                    builder.add(parseEmployee(line));
+                    loaded++;
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    // Graceful error handling for parsing issues (bad numbers or employee IDs)
+                    LOGGER.log(Level.WARNING, "⚠ Error parsing employee record: {0}", String.join("|", line));
                 }
             }
-            System.out.println("✅ Employee data loaded successfully.");
-        } catch (IOException | CsvException e) {
-            // Logging and re-throwing exceptions - maintains exception chain
-            LOGGER.log(Level.SEVERE, "❌ Error loading employee data: {0}", e.getMessage());
+            METRICS.counter("employees.rows.loaded").add(loaded);
+            METRICS.counter("employees.rows.skipped").add(skipped);
+            return builder.build();
+        }
+    }
+
+    /**
+     * Chooses how later loads keep employee records. Compact records live off-heap and cost a
+     * fraction of the memory of Employee objects, which suits millions of employees; the price
+     * is that every lookup builds a fresh Employee, so payroll runs build each one at most once.
+     * Takes effect on the next load or reload.
+     * 
+     * @param compact true to pack employees off-heap, false (the default) for plain objects
+     */
+    public void setCompactEmployees(boolean compact) {
+        this.compactEmployees = compact;
+    }
+
+    /**
+     * Loads effective-dated SSS, PhilHealth, Pag-IBIG and tax tables and publishes them with a
+     * new data snapshot, so payroll computed from then on uses them. Cached results were
+     * computed with the old rates, so they are cleared; posted periods whose tables changed
+     * are posted again with the new ones.
+     *
+     * @param directory Directory of table files (see RateSchedule)
+     * @return The loaded schedule
+     * @throws IOException If a table file cannot be read or is malformed
+     */
+    public RateSchedule loadRates(Path directory) throws IOException {
+        RateSchedule schedule;
+        try {
+            schedule = RateSchedule.load(directory);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "❌ Error loading rate tables: {0}", e.getMessage());
             throw e;
         }
+        synchronized (loadLock) {
+            PayrollData current = data.get();
+            publishLocked(current, current.withRates(schedule));
+            cache.clear();
+        }
+        System.out.println("✅ Loaded " + schedule.getTableCount() + " statutory rate tables.");
+        return schedule;
+    }
+
+    /**
+     * @return The currently loaded employees
+     */
+    public EmployeeRepository getEmployees() {
+        return data.get().getEmployees();
+    }
+
+    /**
+     * Returns the current data snapshot. It never changes, so a caller that needs several
+     * consistent reads (e.g. employees and their attendance) should take it once and keep it.
+     * 
+     * @return The current employees and attendance
+     */
+    public PayrollData getData() {
+        return data.get();
+    }
+
+    /**
+     * @return The months processPayroll(String) covers (June to December 2024)
+     */
+    public static List<PayPeriod> getDefaultPeriods() {
+        return Collections.unmodifiableList(DEFAULT_PERIODS);
+    }
+
+    /**
+     * @return The cache of computed payroll results, e.g. for its hit/miss statistics
+     */
+    public PayrollCache getPayrollCache() {
+        return cache;
     }
 
     /**
@@ -103,98 +282,845 @@ public class PayrollSystem {
     }
 
     /**
-     * Loads and aggregates attendance records per employee per month.
-     * Demonstrates data aggregation and complex data structure manipulation.
+     * Loads attendance records into a per-employee daily time series.
+     * Replaces any attendance loaded before. Employee data must be loaded first:
+     * rows for employee numbers that are not in the repository are skipped.
      * 
      * @param filePath Path to the CSV file.
      * @throws IOException If file cannot be read
      * @throws CsvException If CSV parsing fails
      */
     public void loadAttendanceRecords(String filePath) throws IOException, CsvException {
-        try (
-            InputStreamReader fileReader = new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8);
-            CSVReader reader = new CSVReader(fileReader)
-        ) {
-            String[] line;
-            boolean firstLine = true;
-            while ((line = reader.readNext()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
+        synchronized (loadLock) {
+            loadAttendanceRecords(filePath, data.get());
+        }
+    }
+
+    private void loadAttendanceRecords(String filePath, PayrollData current) throws IOException {
+        EmployeeRepository employees = current.getEmployees();
+        AttendanceStore.Builder builder = new AttendanceStore.Builder(employees.size());
+        long[] unknownRows = new long[1];
+        long[] invalidRows = new long[1];
+        long start = System.nanoTime();
+        try {
+            // Memory-mapped reader parses rows in place; only irregular rows go through OpenCSV
+            long rows = new AttendanceReader().read(Paths.get(filePath), new AttendanceReader.RecordHandler() {
+                @Override
+                public void onRecord(int employeeNumber, int year, int month, int day, double hoursWorked) {
+                    // Aggregate straight into the primitive store by employee ordinal and day
+                    int ordinal = employees.ordinalOf(employeeNumber);
+                    if (ordinal < 0) {
+                        unknownRows[0]++;
+                        return;
+                    }
+                    builder.add(ordinal, year, month, day, hoursWorked);
                 }
 
-                try {
-                    // Extract relevant data from CSV record
-                    String employeeNumber = line[0].trim(); // Employee ID
-                    String date = line[3].trim(); // Date in MM/DD/YYYY format
-                    double hoursWorked = parseDouble(line[4]); // Original hours worked
-
-                    // Extract month and year to create a monthly key
-                    String monthKey = date.substring(0, 2) + "/" + date.substring(6); // Extract MM/YYYY
-
-                    // Use nested Map to aggregate hours by employee and month - demonstrates complex data structure
-                    attendanceRecords.putIfAbsent(employeeNumber, new HashMap<>());
-                    attendanceRecords.get(employeeNumber).put(monthKey,
-                        attendanceRecords.get(employeeNumber).getOrDefault(monthKey, 0.0) + hoursWorked);
-                } catch (Exception e) {
+                @Override
+                public void onInvalidRow(String row) {
                     // Safe error handling to prevent one bad record from stopping the process
-                    System.out.println("⚠ Skipping invalid record: " + Arrays.toString(line));
+                    invalidRows[0]++;
+                    System.out.println("⚠ Skipping invalid record: " + row);
                 }
+            });
+            AttendanceStore attendance = builder.build();
+            publishLocked(current, current.withAttendance(attendance));
+            recordAttendanceMetrics(rows, unknownRows[0], invalidRows[0], start);
+            cache.invalidateChangedHours(employees, attendance);
+            if (unknownRows[0] > 0) {
+                System.out.println("⚠ Skipped " + unknownRows[0] + " attendance records for unknown employees.");
             }
             System.out.println("✅ Attendance records loaded and aggregated successfully.");
-        } catch (IOException | CsvException e) {
+        } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "❌ Error loading attendance records: {0}", e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Adds the outcome of an attendance load to the metrics.
+     */
+    private static void recordAttendanceMetrics(long rows, long unknownRows, long invalidRows, long startNanos) {
+        METRICS.histogram("load.attendance.duration").recordSince(startNanos);
+        METRICS.counter("attendance.rows.loaded").add(rows - unknownRows - invalidRows);
+        METRICS.counter("attendance.rows.unknownEmployee").add(unknownRows);
+        METRICS.counter("attendance.rows.invalid").add(invalidRows);
+    }
+
+    /**
+     * Loads employee and attendance data, reusing a binary snapshot when the CSV files are unchanged.
+     * On a snapshot miss both CSVs are parsed concurrently by a LoadingPipeline and a fresh
+     * snapshot is written for next time. The new data is built off to the side and swapped in
+     * atomically, so this may be called again while payroll is being computed (see reload()).
+     * 
+     * @param employeeFile Path to the employee CSV file
+     * @param attendanceFile Path to the attendance CSV file
+     * @param snapshotFile Path of the snapshot to read or write, or null to always parse the CSVs
+     * @throws IOException If a CSV file cannot be read
+     * @throws CsvException If CSV parsing fails
+     */
+    public void loadData(String employeeFile, String attendanceFile, Path snapshotFile) throws IOException, CsvException {
+        loadData(employeeFile, Collections.singletonList(attendanceFile), snapshotFile);
+    }
+
+    /**
+     * Loads employee data and attendance from several files, e.g. one biometric export per site.
+     * The files are read and aggregated concurrently; hours of an employee found in more than one
+     * file are added up. The snapshot is only used when there is a single attendance file.
+     * 
+     * @param employeeFile Path to the employee CSV file
+     * @param attendanceFiles Paths to the attendance CSV files
+     * @param snapshotFile Path of the snapshot to read or write, or null to always parse the CSVs
+     * @throws IOException If a CSV file cannot be read
+     * @throws CsvException If CSV parsing fails
+     */
+    public void loadData(String employeeFile, List<String> attendanceFiles, Path snapshotFile)
+            throws IOException, CsvException {
+        List<String> sources = Collections.unmodifiableList(new ArrayList<>(attendanceFiles));
+        synchronized (loadLock) {
+            loadDataLocked(employeeFile, sources, sources.size() == 1 ? snapshotFile : null);
+            employeeSource = employeeFile;
+            attendanceSources = sources;
+            snapshotSource = snapshotFile;
+        }
+    }
+
+    /**
+     * Reloads the files of the last loadData call and swaps the new data in.
+     * Payroll computations that are already running finish on the data they started with.
+     * If loading fails, the current data stays in place.
+     * 
+     * @return The newly published data
+     * @throws IOException If a CSV file cannot be read
+     * @throws CsvException If CSV parsing fails
+     * @throws IllegalStateException If loadData has not been called yet
+     */
+    public PayrollData reload() throws IOException, CsvException {
+        synchronized (loadLock) {
+            if (employeeSource == null) {
+                throw new IllegalStateException("Nothing to reload - loadData has not been called");
+            }
+            List<String> sources = attendanceSources;
+            loadDataLocked(employeeSource, sources, sources.size() == 1 ? snapshotSource : null);
+            PayrollData reloaded = data.get();
+            System.out.println("✅ Payroll data reloaded (version " + reloaded.getVersion() + ").");
+            return reloaded;
+        }
+    }
+
+    private void loadDataLocked(String employeeFile, List<String> attendanceFiles, Path snapshotFile)
+            throws IOException, CsvException {
+        PayrollData current = data.get();
+        Path employeePath = Paths.get(employeeFile);
+        List<Path> attendancePaths = new ArrayList<>(attendanceFiles.size());
+        for (String attendanceFile : attendanceFiles) {
+            attendancePaths.add(Paths.get(attendanceFile));
+        }
+
+        long start = System.nanoTime();
+        DataSnapshot snapshot = snapshotFile == null ? null
+            : DataSnapshot.readIfCurrent(snapshotFile, employeePath, attendancePaths.get(0), compactEmployees);
+        if (snapshot != null) {
+            METRICS.counter("snapshot.hits").increment();
+            METRICS.histogram("load.snapshot.duration").recordSince(start);
+            EmployeeRepository employees = snapshot.getEmployees();
+            publishLocked(current, current.with(employees, snapshot.getAttendance()));
+            cache.clear();
+            System.out.println("✅ Employee and attendance data loaded from snapshot.");
+            return;
+        }
+
+        METRICS.counter("snapshot.misses").increment();
+
+        // Employees and attendance load concurrently; attendance is parsed on every core
+        LoadingPipeline.Result loaded;
+        DataSnapshot.Fingerprint employeeSource = null;
+        DataSnapshot.Fingerprint attendanceSource = null;
+        CRC32C employeeHash = new CRC32C();
+        try {
+            if (snapshotFile != null) {
+                // Taken before reading, so a file changed while loading cannot match the snapshot
+                employeeSource = DataSnapshot.Fingerprint.of(employeePath);
+                attendanceSource = DataSnapshot.Fingerprint.of(attendancePaths.get(0));
+            }
+            // A fresh repository, so employees removed from the file are gone after a reload
+            loaded = new LoadingPipeline().load(() -> readEmployees(employeeFile, employeeHash),
+                                                attendancePaths);
+        } catch (IOException | CsvException e) {
+            LOGGER.log(Level.SEVERE, "❌ Error loading payroll data: {0}", e.getMessage());
+            throw e;
+        }
+        EmployeeRepository employees = loaded.getEmployees();
+        AttendanceStore attendance = loaded.getAttendance();
+        publishLocked(current, current.with(employees, attendance));
+        System.out.println("✅ Employee data loaded successfully.");
+        recordAttendanceMetrics(loaded.getRowsRead(), loaded.getUnknownRows(), loaded.getInvalidRows(), start);
+        invalidateEmployeeChanges(current.getEmployees(), employees);
+        cache.invalidateChangedHours(employees, attendance);
+        if (loaded.getUnknownRows() > 0) {
+            System.out.println("⚠ Skipped " + loaded.getUnknownRows() + " attendance records for unknown employees.");
+        }
+        System.out.println("✅ Attendance records loaded and aggregated successfully.");
+
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            // The content hashes were computed while loading, so the sources are not read again
+            DataSnapshot.write(snapshotFile, employeeSource.withContentHash(employeeHash.getValue()),
+                               attendanceSource.withContentHash(loaded.getContentHash(0)), employees, attendance);
+        } catch (IOException e) {
+            // A missing snapshot only costs startup time next run, so keep going
+            LOGGER.log(Level.WARNING, "⚠ Could not write data snapshot: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops cached results of employees that a load removed or changed. The cache is keyed by
+     * employee number, so entries of unchanged employees stay valid even when the new
+     * repository gives them other ordinals.
+     *
+     * @param previous The repository before the load
+     * @param next The newly loaded repository
+     */
+    private void invalidateEmployeeChanges(EmployeeRepository previous, EmployeeRepository next) {
+        for (int ordinal = 0; ordinal < previous.size(); ordinal++) {
+            int number = previous.numberAt(ordinal);
+            int reloaded = next.ordinalOf(number);
+            if (reloaded < 0 || !next.sameRecord(reloaded, previous, ordinal)) {
+                cache.invalidateEmployee(number);
+            }
+        }
+    }
+
     /**
      * Processes payroll by computing total salary based on attendance records.
      * Generates payslips for each month from June to December.
-     * Demonstrates iteration through collection and delegation to specialized components.
      * 
      * @param employeeNumber The employee ID to process payroll for
      */
     public void processPayroll(String employeeNumber) {
-        // Find the employee using Java 8 Stream API - demonstrates modern Java features
-        Employee employee = employees.stream()
-                .filter(e -> e.getEmployeeNumber().equals(employeeNumber))
-                .findFirst()
-                .orElse(null);
+        processPayroll(employeeNumber, DEFAULT_PERIODS);
+    }
 
-        if (employee == null) {
+    /**
+     * Processes payroll for one employee and generates a payslip for each pay period.
+     * Demonstrates iteration through collection and delegation to specialized components.
+     * 
+     * @param employeeNumber The employee ID to process payroll for
+     * @param periods The pay periods to generate payslips for
+     */
+    public void processPayroll(String employeeNumber, List<PayPeriod> periods) {
+        // One snapshot for the whole call, so a concurrent reload cannot mix two versions
+        PayrollData data = this.data.get();
+        EmployeeRepository employees = data.getEmployees();
+        // Constant-time lookup through the repository's hash index
+        int ordinal = employees.ordinalOf(EmployeeRepository.parseEmployeeNumber(employeeNumber));
+
+        if (ordinal < 0) {
             System.out.println("⚠ Employee not found.");
             return;
         }
-
-        // Retrieve attendance records for the employee
-        Map<String, Double> monthlyHours = attendanceRecords.getOrDefault(employeeNumber, new HashMap<>());
-        String[] months = {"06/2024", "07/2024", "08/2024", "09/2024", "10/2024", "11/2024", "12/2024"};
+        Employee employee = employees.get(ordinal);
+        AttendanceStore attendance = data.getAttendance();
         
-        // Process each month's payroll
-        for (String month : months) {
-            Double totalHoursWorked = monthlyHours.getOrDefault(month, 0.0);
+        // Process each period's payroll - hours come from constant-time range sums
+        for (PayPeriod period : periods) {
+            double totalHoursWorked = attendance.hoursFor(ordinal, period);
             if (totalHoursWorked == 0.0) {
-                System.out.println("⚠ No attendance records found for " + employee.getFullName() + " in " + month);
+                System.out.println("⚠ No attendance records found for " + employee.getFullName() + " in " + period);
                 continue;
             }
 
-            // Calculate payroll components
-            double hourlyRate = employee.getBasicSalary() / 168; // Standard monthly hours
-            double grossSalary = totalHoursWorked * hourlyRate;
-            double sss = DeductionsCalculator.calculateSSS(grossSalary);
-            double philHealth = DeductionsCalculator.calculatePhilHealth(grossSalary);
-            double pagIbig = DeductionsCalculator.calculatePagIbig(grossSalary);
-            double taxableIncome = grossSalary - (sss + philHealth + pagIbig);
-            double withholdingTax = TaxCalculator.computeWithholdingTax(taxableIncome);
-            double totalDeductions = sss + philHealth + pagIbig + withholdingTax;
-            double netSalary = grossSalary - totalDeductions;
-
-            // Generate Payslip with correct monthly total - delegates to specialized class
-            System.out.println("\n========================= PAYSLIP FOR " + month + " =========================\n");
-            PayslipGenerator.generatePayslip(employee, totalHoursWorked, grossSalary, 
-                                             totalDeductions, sss, philHealth, pagIbig,
-                                             withholdingTax, netSalary);
+            PayrollCache.Entry entry = payrollEntry(data, ordinal, period, totalHoursWorked);
+
+            // Print the payslip with correct period total
+            System.out.println("\n========================= PAYSLIP FOR " + period + " =========================\n");
+            System.out.print(entry.getPayslip());
+        }
+    }
+
+    /**
+     * Computes (or fetches from the cache) payroll for one employee and period without printing.
+     * Safe to call from several threads at once, e.g. request handlers of PayrollServer.
+     * 
+     * @param employeeNumber The employee ID
+     * @param period The pay period
+     * @return The result and its rendered payslip, or null if the employee is unknown
+     *         or has no attendance in the period
+     */
+    public PayrollCache.Entry getPayroll(String employeeNumber, PayPeriod period) {
+        PayrollData data = this.data.get();
+        EmployeeRepository employees = data.getEmployees();
+        int ordinal = employees.ordinalOf(EmployeeRepository.parseEmployeeNumber(employeeNumber));
+        if (ordinal < 0) {
+            return null;
+        }
+        double totalHoursWorked = data.getAttendance().hoursFor(ordinal, period);
+        return totalHoursWorked == 0.0 ? null : payrollEntry(data, ordinal, period, totalHoursWorked);
+    }
+
+    /**
+     * Returns the cached result and payslip for an employee and period, computing them on a miss.
+     * A cached entry computed from other data than the caller's (e.g. put by a computation that
+     * was still running on the previous version or rates during a reload) counts as a miss.
+     */
+    private PayrollCache.Entry payrollEntry(PayrollData data, int ordinal, PayPeriod period, double totalHoursWorked) {
+        EmployeeRepository employees = data.getEmployees();
+        Employee employee = employees.get(ordinal);
+        RateSchedule rates = data.getRates();
+        // Reuse the cached result and payslip when this employee and period were computed before
+        PayrollCache.Entry entry = cache.get(employees.numberAt(ordinal), period, employee, totalHoursWorked, rates);
+        if (entry == null) {
+            long start = System.nanoTime();
+            PayrollResult result = computePayroll(employee, period, totalHoursWorked, rates);
+            entry = cache.put(employees.numberAt(ordinal), result, PayslipGenerator.renderPayslip(result), rates);
+            PAYROLL_LATENCY.recordSince(start);
+            RESULTS_COMPUTED.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Computes the payroll components for one employee and period under the loaded rates.
+     * Safe to call from several threads at once.
+     * 
+     * @param employee The employee to compute payroll for
+     * @param period The pay period
+     * @param totalHoursWorked Hours worked in the period
+     * @return The computed payroll result
+     */
+    public PayrollResult computePayroll(Employee employee, PayPeriod period, double totalHoursWorked) {
+        return computePayroll(employee, period, totalHoursWorked, data.get().getRates());
+    }
+
+    /**
+     * Pure function of its inputs: the rates come with the caller's data snapshot.
+     */
+    private static PayrollResult computePayroll(Employee employee, PayPeriod period, double totalHoursWorked,
+                                                RateSchedule schedule) {
+        // Whole centavos throughout, so every path computes bit-identical amounts
+        // Rates are those in force on the period's last day, so past periods keep their own tables
+        // and scaled to the period's share of a month
+        StatutoryRates rates = schedule.ratesFor(period);
+        long grossSalary = PayrollCalculator.computeGrossSalaryCentavos(employee, totalHoursWorked);
+        long sss = rates.sssCentavos(grossSalary);
+        long philHealth = rates.philHealthCentavos(grossSalary);
+        long pagIbig = rates.pagIbigCentavos(grossSalary);
+        long taxableIncome = grossSalary - (sss + philHealth + pagIbig);
+        long withholdingTax = rates.withholdingTaxCentavos(taxableIncome);
+        long totalDeductions = sss + philHealth + pagIbig + withholdingTax;
+        long netSalary = grossSalary - totalDeductions;
+        long allowances = PayrollCalculator.computeAllowancesCentavos(employee, period);
+
+        return new PayrollResult(employee, period, totalHoursWorked, grossSalary,
+                                 sss, philHealth, pagIbig, withholdingTax, totalDeductions, netSalary, allowances);
+    }
+
+    /**
+     * Processes payroll for every employee and every given period using all available cores.
+     * 
+     * @param periods The pay periods to process
+     * @return Results ordered by employee (load order), then by period
+     */
+    public List<PayrollResult> processAllPayroll(List<PayPeriod> periods) {
+        return processAllPayroll(periods, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Processes payroll for every employee and every given period on a fork-join pool.
+     * Each employee × period pair writes into its own slot of a result array, so the
+     * returned order is fixed regardless of how the work was scheduled.
+     * Pairs without attendance are left out, exactly like processPayroll skips them.
+     * The results are also kept in columnar form, see getLastRun().
+     * 
+     * @param periods The pay periods to process
+     * @param parallelism Number of worker threads to use; runs with one per core share the
+     *                    system's pool, any other number uses a pool of its own for the run
+     * @return Results ordered by employee (load order), then by period
+     */
+    public List<PayrollResult> processAllPayroll(List<PayPeriod> periods, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        PayrollData data = this.data.get();
+        List<PayrollResult> results = processAllPayroll(data, null, periods, parallelism);
+        lastRun = new Run(data, new ArrayList<>(periods), PayrollResultStore.build(data.getEmployees(), results));
+        return results;
+    }
+
+    /**
+     * Returns the results of the latest processAllPayroll run in columnar form, for filter,
+     * group-by, sum and percentile queries without a rerun.
+     * 
+     * @return The latest run's results; empty before the first run
+     */
+    public PayrollResultStore getLastRun() {
+        return lastRun.store;
+    }
+
+    /**
+     * Returns the results of a run over the given periods in columnar form. The latest run is
+     * reused when it covers exactly these periods and the data is unchanged since; otherwise
+     * payroll is run for every employee first, which then becomes the latest run.
+     * 
+     * @param periods The pay periods the run must cover
+     * @return The run's results
+     */
+    public PayrollResultStore getRun(List<PayPeriod> periods) {
+        Run run = lastRun;
+        if (run.data != data.get() || !run.periods.equals(periods)) {
+            processAllPayroll(periods);
+            run = lastRun;
+        }
+        return run.store;
+    }
+
+    /**
+     * Runs payroll for some or all employees of a snapshot on the fork-join pool.
+     * 
+     * @param ordinals Ordinals of the employees to process, ascending; null for every employee
+     * @return Results ordered by employee, then by period
+     */
+    private List<PayrollResult> processAllPayroll(PayrollData data, int[] ordinals, List<PayPeriod> periods,
+                                                  int parallelism) {
+        PayPeriod[] periodKeys = periods.toArray(new PayPeriod[0]);
+        EmployeeRepository employees = data.getEmployees();
+        AttendanceStore attendance = data.getAttendance();
+        int count = ordinals == null ? employees.size() : ordinals.length;
+        PayrollResult[] slots = new PayrollResult[count * periodKeys.length];
+        if (slots.length == 0) {
+            return new ArrayList<>();
+        }
+        // Resolve each period's rates once for the whole run
+        RateSchedule schedule = data.getRates();
+        StatutoryRates[] periodRates = new StatutoryRates[periodKeys.length];
+        for (int i = 0; i < periodKeys.length; i++) {
+            periodRates[i] = schedule.ratesFor(periodKeys[i]);
+        }
+
+        PayrollTask task = new PayrollTask(employees, ordinals, attendance, periodKeys, periodRates, slots,
+                                           0, slots.length);
+        if (parallelism == DEFAULT_PARALLELISM) {
+            pool().invoke(task);
+        } else {
+            // Any other parallelism gets a pool of its own for this run only
+            ForkJoinPool runPool = new ForkJoinPool(parallelism);
+            try {
+                runPool.invoke(task);
+            } finally {
+                runPool.shutdown();
+            }
+        }
+
+        List<PayrollResult> results = new ArrayList<>(slots.length);
+        for (PayrollResult result : slots) {
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Computes payroll cost per employee and per team (an employee plus everyone reporting to
+     * them, directly or not) over the given periods. Payroll is computed once for everyone,
+     * then one bottom-up pass over the reporting tree adds up every team.
+     * 
+     * @param periods The pay periods to add up
+     * @return The data the rollup was computed from, and the rollup itself
+     */
+    public TeamCosts computeTeamCosts(List<PayPeriod> periods) {
+        PayrollData data = this.data.get();
+        List<PayrollResult> results = processAllPayroll(data, null, periods, DEFAULT_PARALLELISM);
+        return new TeamCosts(data, data.getHierarchy().rollUp(data.getEmployees(), results));
+    }
+
+    /**
+     * A payroll run's results with the data snapshot and periods they were computed from.
+     */
+    private static final class Run {
+        private final PayrollData data;
+        private final List<PayPeriod> periods;
+        private final PayrollResultStore store;
+
+        Run(PayrollData data, List<PayPeriod> periods, PayrollResultStore store) {
+            this.data = data;
+            this.periods = periods;
+            this.store = store;
+        }
+    }
+
+    /**
+     * Team cost rollup together with the data snapshot its ordinals refer to.
+     */
+    public static class TeamCosts {
+        private final PayrollData data;
+        private final OrgHierarchy.Rollup rollup;
+
+        TeamCosts(PayrollData data, OrgHierarchy.Rollup rollup) {
+            this.data = data;
+            this.rollup = rollup;
+        }
+
+        /**
+         * @return The employees, hierarchy and attendance the rollup was computed from
+         */
+        public PayrollData getData() { return data; }
+
+        /**
+         * @return Own and team totals by employee ordinal
+         */
+        public OrgHierarchy.Rollup getRollup() { return rollup; }
+    }
+
+    /**
+     * Returns an employee's running year-to-date totals, with the tax due on them under the
+     * annual table and the true-up still to withhold. Covers the periods posted with
+     * postPayroll or closeYear whose last day falls in the year.
+     * 
+     * @param employeeNumber The employee ID
+     * @param year Calendar year
+     * @return The totals; all zero if no period of that year was posted
+     */
+    public YearToDateLedger.YearToDate getYearToDate(String employeeNumber, int year) {
+        // The ledger comes with the data snapshot, so a concurrent reload is never seen half done
+        return data.get().getLedger().get(EmployeeRepository.parseEmployeeNumber(employeeNumber), year);
+    }
+
+    /**
+     * Runs payroll for every employee and the given periods and posts the results to the
+     * year-to-date ledger. Posting is the only way results reach the ledger: payroll computed
+     * for the console, the server, exports or team costs never changes year-to-date totals.
+     * Posting a period again replaces what was posted for it, so nothing is counted twice.
+     * Posted periods stay posted across reloads, where they are posted again for the employees
+     * whose data changed. The new ledger is published with a new snapshot, atomically.
+     * 
+     * @param periods The pay periods to post
+     * @return Number of results posted
+     */
+    public int postPayroll(List<PayPeriod> periods) {
+        synchronized (loadLock) {
+            PayrollData current = data.get();
+            List<PayrollResult> results = processAllPayroll(current, null, periods, DEFAULT_PARALLELISM);
+            YearToDateLedger.Builder ledger = current.getLedger().toBuilder().rates(current.getRates()).posted(periods);
+            record(ledger, results);
+            data.set(current.withLedger(ledger.build()));
+            return results.size();
+        }
+    }
+
+    /**
+     * Closes a year: posts payroll for every employee and the given periods of the year, so
+     * the ledger is complete, then returns every employee's totals and final true-up.
+     * 
+     * @param year Calendar year to close
+     * @param periods The pay periods of the year
+     * @return Year-to-date totals of every employee with attendance in the year, in load order
+     */
+    public List<YearToDateLedger.YearToDate> closeYear(int year, List<PayPeriod> periods) {
+        synchronized (loadLock) {
+            postPayroll(periods);
+            PayrollData posted = data.get();
+            EmployeeRepository employees = posted.getEmployees();
+            YearToDateLedger ledger = posted.getLedger();
+            List<YearToDateLedger.YearToDate> totals = new ArrayList<>(employees.size());
+            for (int ordinal = 0; ordinal < employees.size(); ordinal++) {
+                YearToDateLedger.YearToDate ytd = ledger.get(employees.numberAt(ordinal), year);
+                if (ytd.getPeriodCount() > 0) {
+                    totals.add(ytd);
+                }
+            }
+            return totals;
+        }
+    }
+
+    private static void record(YearToDateLedger.Builder ledger, List<PayrollResult> results) {
+        for (PayrollResult result : results) {
+            ledger.record(EmployeeRepository.parseEmployeeNumber(result.getEmployee().getEmployeeNumber()), result);
+        }
+    }
+
+    /**
+     * Publishes a new snapshot with its ledger brought up to date. Posted periods are posted
+     * again, in posting order, only for the employees whose inputs changed: new or removed
+     * employees, changed records and changed hours in a posted period. When the tables of a
+     * posted period changed, every employee is posted again. The ledger is built off to the
+     * side, so readers see the old snapshot and ledger or the new ones, never a mix.
+     * Called with loadLock held.
+     * 
+     * @param previous The published snapshot, whose ledger is current
+     * @param next The snapshot to publish
+     */
+    private void publishLocked(PayrollData previous, PayrollData next) {
+        YearToDateLedger ledger = previous.getLedger();
+        List<PayPeriod> posted = ledger.getPostedPeriods();
+        YearToDateLedger.Builder builder = ledger.toBuilder().rates(next.getRates());
+        if (!posted.isEmpty()) {
+            int[] ordinals = null;
+            if (samePostedRates(previous.getRates(), next.getRates(), posted)) {
+                Set<Integer> stale = new HashSet<>();
+                ordinals = changedEmployees(previous, next, posted, stale);
+                builder.removeEmployees(stale);
+            } else {
+                builder.removeAll();
+            }
+            record(builder, processAllPayroll(next, ordinals, posted, DEFAULT_PARALLELISM));
+        }
+        data.set(next.withLedger(builder.build()));
+    }
+
+    private static boolean samePostedRates(RateSchedule before, RateSchedule after, List<PayPeriod> posted) {
+        if (before == after) {
+            return true;
+        }
+        for (PayPeriod period : posted) {
+            if (!before.ratesFor(period).hasSameTables(after.ratesFor(period))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the employees whose posted payroll changes from one snapshot to the next.
+     * 
+     * @param stale Receives the numbers of those employees and of removed employees
+     * @return Ordinals in next of the employees to post again, ascending
+     */
+    private static int[] changedEmployees(PayrollData previous, PayrollData next, List<PayPeriod> posted,
+                                          Set<Integer> stale) {
+        EmployeeRepository before = previous.getEmployees();
+        EmployeeRepository after = next.getEmployees();
+        AttendanceStore hoursBefore = previous.getAttendance();
+        AttendanceStore hoursAfter = next.getAttendance();
+        int[] changed = new int[after.size()];
+        int count = 0;
+        for (int ordinal = 0; ordinal < after.size(); ordinal++) {
+            int number = after.numberAt(ordinal);
+            int old = before == after ? ordinal : before.ordinalOf(number);
+            boolean differs = old < 0 || (before != after && !before.sameRecord(old, after, ordinal));
+            for (int period = 0; period < posted.size() && !differs && hoursBefore != hoursAfter; period++) {
+                differs = hoursBefore.hoursFor(old, posted.get(period)) != hoursAfter.hoursFor(ordinal, posted.get(period));
+            }
+            if (differs) {
+                changed[count++] = ordinal;
+                stale.add(number);
+            }
+        }
+        if (before != after) {
+            for (int ordinal = 0; ordinal < before.size(); ordinal++) {
+                if (after.ordinalOf(before.numberAt(ordinal)) < 0) {
+                    stale.add(before.numberAt(ordinal));
+                }
+            }
+        }
+        return Arrays.copyOf(changed, count);
+    }
+
+    /**
+     * Receives payroll results one at a time, e.g. to write them out as they are computed.
+     */
+    @FunctionalInterface
+    public interface ResultSink {
+        /**
+         * @param result The next computed result
+         * @throws IOException If the result cannot be written
+         */
+        void accept(PayrollResult result) throws IOException;
+    }
+
+    /**
+     * Computes payroll employee by employee and hands each result to a sink as soon as it is ready.
+     * Nothing is kept after a result is passed on, so memory use does not grow with the size of
+     * the results. Results bypass the cache for the same reason.
+     * 
+     * @param periods The pay periods to process
+     * @param employeeNumbers The employees to process, in order; null for every employee in load order
+     * @param sink Receives the results; pairs without attendance are skipped
+     * @return Number of results passed to the sink
+     * @throws IOException If the sink fails
+     */
+    public long streamPayroll(List<PayPeriod> periods, List<String> employeeNumbers, ResultSink sink)
+            throws IOException {
+        PayrollData data = this.data.get();
+        EmployeeRepository employees = data.getEmployees();
+        AttendanceStore attendance = data.getAttendance();
+        int count = employeeNumbers == null ? employees.size() : employeeNumbers.size();
+        long results = 0;
+        for (int i = 0; i < count; i++) {
+            int ordinal = i;
+            if (employeeNumbers != null) {
+                ordinal = employees.ordinalOf(EmployeeRepository.parseEmployeeNumber(employeeNumbers.get(i)));
+                if (ordinal < 0) {
+                    System.out.println("⚠ Employee not found: " + employeeNumbers.get(i));
+                    continue;
+                }
+            }
+            Employee employee = employees.get(ordinal);
+            for (PayPeriod period : periods) {
+                double totalHoursWorked = attendance.hoursFor(ordinal, period);
+                if (totalHoursWorked != 0.0) {
+                    PayrollResult result = computePayroll(employee, period, totalHoursWorked, data.getRates());
+                    sink.accept(result);
+                    results++;
+                }
+            }
+        }
+        RESULTS_COMPUTED.add(results);
+        return results;
+    }
+
+    /**
+     * Runs payroll and exports the payslips to files. Results are streamed to the exporter
+     * as they are computed, so memory use does not grow with the size of the run.
+     * 
+     * @param periods The pay periods to process
+     * @param employeeNumbers The employees to export, in order; null for every employee
+     * @param target Output directory (PER_EMPLOYEE) or output file (COMBINED)
+     * @param mode Whether to write one file per employee or a single combined file
+     * @return Number of payslips written
+     * @throws IOException If the payslips cannot be written
+     */
+    public int exportPayslips(List<PayPeriod> periods, List<String> employeeNumbers, Path target,
+                              PayslipExporter.Mode mode) throws IOException {
+        int written;
+        // Closing writes the rest and syncs, so success is only reported after it
+        try (PayslipExporter exporter = PayslipExporter.open(target, mode)) {
+            streamPayroll(periods, employeeNumbers, exporter::write);
+            written = exporter.getPayslipsWritten();
+        }
+        System.out.println("✅ Exported " + written + " payslips to " + target);
+        return written;
+    }
+
+    /**
+     * @return The shared fork-join pool, created on first use
+     * @throws IllegalStateException If the system was closed
+     */
+    private synchronized ForkJoinPool pool() {
+        if (closed) {
+            throw new IllegalStateException("Payroll system is closed");
+        }
+        if (pool == null) {
+            pool = new ForkJoinPool(DEFAULT_PARALLELISM);
+        }
+        return pool;
+    }
+
+    /**
+     * Shuts down the fork-join pool of parallel payroll runs. Runs already under way finish;
+     * later parallel runs fail. Single-employee payroll keeps working.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Fork-join task covering a contiguous range of employee × period slots.
+     * Demonstrates divide and conquer: ranges are split in half until small enough to run directly.
+     * Ranges are split between employees, so each employee's periods fall in one leaf and a
+     * compact record is materialized once per run.
+     */
+    private class PayrollTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 256;
+
+        private final EmployeeRepository employees;
+        private final int[] ordinals;
+        private final AttendanceStore attendance;
+        private final PayPeriod[] periods;
+        private final StatutoryRates[] periodRates;
+        private final PayrollResult[] slots;
+        private final int from;
+        private final int to;
+
+        PayrollTask(EmployeeRepository employees, int[] ordinals, AttendanceStore attendance, PayPeriod[] periods,
+                    StatutoryRates[] periodRates, PayrollResult[] slots, int from, int to) {
+            this.employees = employees;
+            this.ordinals = ordinals;
+            this.attendance = attendance;
+            this.periods = periods;
+            this.periodRates = periodRates;
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                computeLeaf();
+                return;
+            }
+            int employeesInRange = (to - from) / periods.length;
+            if (employeesInRange < 2) {
+                computeLeaf();
+                return;
+            }
+            int mid = from + employeesInRange / 2 * periods.length;
+            invokeAll(new PayrollTask(employees, ordinals, attendance, periods, periodRates, slots, from, mid),
+                      new PayrollTask(employees, ordinals, attendance, periods, periodRates, slots, mid, to));
+        }
+
+        /**
+         * Gathers the gross salaries of the slots in range period by period, runs the batch
+         * deduction engine over each period's salaries under that period's rates, then fills
+         * in the results. Gross salary is read from the basic salary column; an Employee is
+         * only built for the results, once per employee, and shared by its periods.
+         */
+        private void computeLeaf() {
+            long start = System.nanoTime();
+            int[] batchSlots = new int[to - from];
+            double[] hours = new double[to - from];
+            long[] gross = new long[to - from];
+            BatchDeductionsCalculator.Columns columns = new BatchDeductionsCalculator.Columns(to - from);
+            Employee[] materialized = new Employee[(to - from) / periods.length];
+            int computed = 0;
+            for (int period = 0; period < periods.length; period++) {
+                int count = 0;
+                // Slots are employee-major, so this period's slots are periods.length apart
+                for (int slot = from + Math.floorMod(period - from, periods.length); slot < to;
+                     slot += periods.length) {
+                    int ordinal = ordinalAt(slot);
+                    double hoursWorked = attendance.hoursFor(ordinal, periods[period]);
+                    if (hoursWorked != 0.0) {
+                        batchSlots[count] = slot;
+                        hours[count] = hoursWorked;
+                        gross[count] = PayrollCalculator.computeGrossSalaryCentavos(employees.basicSalaryCentavosAt(ordinal),
+                                                                                    hoursWorked);
+                        count++;
+                    }
+                }
+
+                BatchDeductionsCalculator.calculate(gross, periodRates[period], count, columns);
+
+                for (int i = 0; i < count; i++) {
+                    int slot = batchSlots[i];
+                    int index = (slot - from) / periods.length;
+                    Employee employee = materialized[index];
+                    if (employee == null) {
+                        employee = employees.get(ordinalAt(slot));
+                        materialized[index] = employee;
+                    }
+                    slots[slot] = new PayrollResult(employee, periods[period],
+                                                    hours[i], gross[i], columns.getSss()[i], columns.getPhilHealth()[i],
+                                                    columns.getPagIbig()[i], columns.getWithholdingTax()[i],
+                                                    columns.getTotalDeductions()[i], columns.getNetSalary()[i],
+                                                    PayrollCalculator.computeAllowancesCentavos(employee, periods[period]));
+                }
+                computed += count;
+            }
+            BATCH_LATENCY.recordSince(start);
+            RESULTS_COMPUTED.add(computed);
+        }
+
+        private int ordinalAt(int slot) {
+            return ordinals == null ? slot / periods.length : ordinals[slot / periods.length];
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe attendance aggregator that several ingestion threads can feed at once,
+ * e.g. one thread per site's biometric export.
+ * This class demonstrates:
+ * - Lock Striping: Employees are spread over many locks, so threads adding hours for
+ *   different employees rarely wait for each other
+ * - Encapsulation: Callers add rows by employee number; ordinals and locks stay hidden
+ *
+ * All hours go into one AttendanceStore.Builder. Each employee's row in the builder is only
+ * touched under that employee's stripe lock, and rows of different employees share no state,
+ * so no lock ever covers the whole builder. Hours are fixed point, so the result does not
+ * depend on which thread added which row or in what order.
+ *
+ * Also usable directly as the handler of several AttendanceReaders running on their own threads.
+ */
+public class StripedAttendanceAggregator implements AttendanceReader.RecordHandler {
+    private final EmployeeRepository employees;
+    private final AttendanceStore.Builder builder;
+    private final Object[] stripes;
+    private final int stripeMask;
+    private final LongAdder recordsAdded = new LongAdder();
+    private final LongAdder unknownRows = new LongAdder();
+    private final LongAdder invalidRows = new LongAdder();
+
+    /**
+     * Creates an aggregator with four stripes per available processor.
+     *
+     * @param employees Repository used to resolve employee numbers to ordinals
+     */
+    public StripedAttendanceAggregator(EmployeeRepository employees) {
+        this(employees, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Creates an aggregator.
+     *
+     * @param employees Repository used to resolve employee numbers to ordinals
+     * @param stripes Number of locks, rounded up to a power of two
+     */
+    public StripedAttendanceAggregator(EmployeeRepository employees, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("At least one stripe is required: " + stripes);
+        }
+        this.employees = employees;
+        this.builder = new AttendanceStore.Builder(employees.size());
+        int count = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Object[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Object();
+        }
+        this.stripeMask = count - 1;
+    }
+
+    /**
+     * Adds fixed-point hours worked by an employee on an epoch day.
+     *
+     * @param employeeNumber The numeric employee number
+     * @param day Epoch day
+     * @param units Hours in units of AttendanceStore.UNITS_PER_HOUR
+     * @return false if the employee is not in the repository; the row is counted and dropped
+     */
+    public boolean add(int employeeNumber, int day, long units) {
+        int ordinal = employees.ordinalOf(employeeNumber);
+        if (ordinal < 0) {
+            unknownRows.increment();
+            return false;
+        }
+        synchronized (stripes[ordinal & stripeMask]) {
+            builder.addUnits(ordinal, day, units);
+        }
+        recordsAdded.increment();
+        return true;
+    }
+
+    /**
+     * Adds a batch of rows. Consecutive rows that fall into the same stripe are added under one
+     * lock acquisition, which is the common case for files sorted by employee.
+     *
+     * @param employeeNumbers Numeric employee numbers
+     * @param days Epoch days
+     * @param units Hours in units of AttendanceStore.UNITS_PER_HOUR
+     * @param size Number of rows to take from the arrays
+     */
+    public void addAll(int[] employeeNumbers, int[] days, long[] units, int size) {
+        long added = 0;
+        long unknown = 0;
+        int i = 0;
+        while (i < size) {
+            int ordinal = employees.ordinalOf(employeeNumbers[i]);
+            if (ordinal < 0) {
+                unknown++;
+                i++;
+                continue;
+            }
+            int stripe = ordinal & stripeMask;
+            synchronized (stripes[stripe]) {
+                builder.addUnits(ordinal, days[i], units[i]);
+                added++;
+                // Keep the lock while the following rows belong to the same stripe
+                for (i++; i < size; i++) {
+                    int next = employees.ordinalOf(employeeNumbers[i]);
+                    if (next < 0 || (next & stripeMask) != stripe) {
+                        break;
+                    }
+                    builder.addUnits(next, days[i], units[i]);
+                    added++;
+                }
+            }
+        }
+        recordsAdded.add(added);
+        unknownRows.add(unknown);
+    }
+
+    @Override
+    public void onRecord(int employeeNumber, int year, int month, int day, double hoursWorked) {
+        add(employeeNumber, AttendanceStore.epochDay(year, month, day),
+            Math.round(hoursWorked * AttendanceStore.UNITS_PER_HOUR));
+    }
+
+    @Override
+    public void onInvalidRow(String row) {
+        invalidRows.increment();
+        // Safe error handling to prevent one bad record from stopping the process
+        System.out.println("⚠ Skipping invalid record: " + row);
+    }
+
+    /**
+     * Freezes the hours added so far. Call once every ingestion thread has finished;
+     * no rows may be added while build() runs.
+     *
+     * @return An immutable store with the hours added so far
+     */
+    public AttendanceStore build() {
+        // Passing through every stripe lock makes all earlier additions visible to this thread
+        for (Object stripe : stripes) {
+            synchronized (stripe) {
+                // nothing to do
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return Number of rows added to the store
+     */
+    public long getRecordsAdded() { return recordsAdded.sum(); }
+
+    /**
+     * @return Number of rows dropped because the employee is not in the repository
+     */
+    public long getUnknownRows() { return unknownRows.sum(); }
+
+    /**
+     * @return Number of rows reported invalid through onInvalidRow
+     */
+    public long getInvalidRows() { return invalidRows.sum(); }
+}
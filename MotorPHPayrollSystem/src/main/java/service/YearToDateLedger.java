@@ -0,0 +1,369 @@
+package service;
+
+import model.PayPeriod;
+import model.PayrollResult;
+import utils.Money;
+import utils.RateSchedule;
+import utils.StatutoryRates;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Running year-to-date payroll totals per employee, updated as each period is posted.
+ * This class demonstrates:
+ * - Incremental Computation: Every recorded period adjusts the running totals once, so
+ *   year-to-date figures and the year-end tax true-up cost O(1) per employee to read
+ * - Immutability: A ledger never changes; posting builds a new one that shares every account
+ *   it did not touch, and PayrollSystem publishes it with its data snapshot
+ * - Builder Pattern: Accounts are copied on first change in a Builder, so a posting costs
+ *   time in proportion to the employees it touches
+ * - Encapsulation: Replacement and overlap rules are hidden behind the Builder
+ *
+ * Only PayrollSystem's posting path records results; payroll computed for display or export
+ * leaves the totals alone. A period counts toward the year its last day falls in. Recording a
+ * period again replaces what was recorded for it before, e.g. after attendance was corrected,
+ * and a period replaces any recorded period it overlaps, so posting weekly and then monthly
+ * payroll for the same dates never counts them twice. The ledger also remembers which periods
+ * were posted, in posting order, and the rate schedule they were posted under; the annual tax
+ * of the totals is reconciled under that schedule. All amounts are whole centavos (see utils.Money).
+ */
+public final class YearToDateLedger {
+    private static final YearToDateLedger EMPTY =
+        new YearToDateLedger(Collections.emptyMap(), Collections.emptyList(), RateSchedule.builtIn());
+
+    private final Map<Long, Account> accounts;
+    private final List<PayPeriod> postedPeriods;
+    private final RateSchedule rates;
+
+    private YearToDateLedger(Map<Long, Account> accounts, List<PayPeriod> postedPeriods, RateSchedule rates) {
+        this.accounts = accounts;
+        this.postedPeriods = postedPeriods;
+        this.rates = rates;
+    }
+
+    /**
+     * @return A ledger with nothing posted
+     */
+    public static YearToDateLedger empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return A builder starting from this ledger's accounts, periods and rates
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * @return The periods posted so far, oldest posting first
+     */
+    public List<PayPeriod> getPostedPeriods() {
+        return postedPeriods;
+    }
+
+    /**
+     * @return The rate schedule the totals were posted under
+     */
+    public RateSchedule getRates() {
+        return rates;
+    }
+
+    /**
+     * Reads an employee's totals for a year.
+     *
+     * @param employeeNumber The numeric employee number
+     * @param year Calendar year
+     * @return The totals; all zero if nothing was recorded
+     */
+    public YearToDate get(int employeeNumber, int year) {
+        Account account = accounts.get(key(employeeNumber, year));
+        return account == null ? new YearToDate(employeeNumber, year, new long[Measure.values().length], 0, null, null)
+                               : account.snapshot(employeeNumber, year, yearEndRates(year));
+    }
+
+    /**
+     * Reads the totals of every employee with recorded periods in a year, e.g. for year-end close.
+     *
+     * @param year Calendar year
+     * @return One entry per employee, in no particular order
+     */
+    public List<YearToDate> getYear(int year) {
+        List<YearToDate> totals = new ArrayList<>();
+        StatutoryRates yearEndRates = yearEndRates(year);
+        for (Map.Entry<Long, Account> entry : accounts.entrySet()) {
+            if ((int) (entry.getKey() & 0xFFFF) == year) {
+                totals.add(entry.getValue().snapshot((int) (entry.getKey() >>> 16), year, yearEndRates));
+            }
+        }
+        return totals;
+    }
+
+    private StatutoryRates yearEndRates(int year) {
+        return rates.ratesOn(LocalDate.of(year, 12, 31));
+    }
+
+    private static long key(int employeeNumber, int year) {
+        // Employee numbers are non-negative; years fit in 16 bits
+        return ((long) employeeNumber << 16) | (year & 0xFFFF);
+    }
+
+    /**
+     * Builds a new ledger from an existing one. Not thread-safe; the built ledger is.
+     */
+    public static final class Builder {
+        private final Map<Long, Account> accounts;
+        private final Set<Long> copied = new HashSet<>();
+        private final Set<PayPeriod> postedPeriods;
+        private RateSchedule rates;
+
+        private Builder(YearToDateLedger ledger) {
+            this.accounts = new HashMap<>(ledger.accounts);
+            this.postedPeriods = new LinkedHashSet<>(ledger.postedPeriods);
+            this.rates = ledger.rates;
+        }
+
+        /**
+         * Marks periods as posted, after every period posted before; a period posted again
+         * moves to the end.
+         *
+         * @param periods The periods being posted
+         * @return This builder
+         */
+        public Builder posted(List<PayPeriod> periods) {
+            postedPeriods.removeAll(periods);
+            postedPeriods.addAll(periods);
+            return this;
+        }
+
+        /**
+         * @param rates The rate schedule recorded results were computed under
+         * @return This builder
+         */
+        public Builder rates(RateSchedule rates) {
+            this.rates = rates;
+            return this;
+        }
+
+        /**
+         * Removes everything recorded for some employees, in every year.
+         *
+         * @param employeeNumbers The numeric employee numbers
+         * @return This builder
+         */
+        public Builder removeEmployees(Set<Integer> employeeNumbers) {
+            if (!employeeNumbers.isEmpty()) {
+                accounts.keySet().removeIf(key -> employeeNumbers.contains((int) (key >>> 16)));
+            }
+            return this;
+        }
+
+        /**
+         * Removes every account, keeping the posted periods.
+         *
+         * @return This builder
+         */
+        public Builder removeAll() {
+            accounts.clear();
+            return this;
+        }
+
+        /**
+         * Adds a computed result to its employee's year-to-date totals.
+         *
+         * @param employeeNumber The numeric employee number
+         * @param result The computed payroll result
+         * @return This builder
+         */
+        public Builder record(int employeeNumber, PayrollResult result) {
+            long key = key(employeeNumber, result.getPeriod().getEnd().getYear());
+            Account account = accounts.get(key);
+            if (account == null) {
+                account = new Account();
+                accounts.put(key, account);
+                copied.add(key);
+            } else if (copied.add(key)) {
+                // Accounts of the ledger being built from are shared, so change a copy
+                account = account.copy();
+                accounts.put(key, account);
+            }
+            account.record(result);
+            return this;
+        }
+
+        /**
+         * @return The new ledger
+         */
+        public YearToDateLedger build() {
+            return new YearToDateLedger(Collections.unmodifiableMap(new HashMap<>(accounts)),
+                                        Collections.unmodifiableList(new ArrayList<>(postedPeriods)), rates);
+        }
+    }
+
+    /**
+     * A running total kept per employee and year.
+     */
+    public enum Measure {
+        /** Gross salary. */
+        GROSS,
+        /** SSS contribution. */
+        SSS,
+        /** PhilHealth contribution. */
+        PHILHEALTH,
+        /** Pag-IBIG contribution. */
+        PAGIBIG,
+        /** Gross salary less contributions. */
+        TAXABLE_INCOME,
+        /** Withholding tax deducted. */
+        TAX_WITHHELD
+    }
+
+    /**
+     * Amounts one recorded period added to the totals; the result itself is not kept.
+     */
+    private static final class Recorded {
+        final PayPeriod period;
+        final long[] amounts = new long[Measure.values().length];
+
+        Recorded(PayrollResult result) {
+            period = result.getPeriod();
+            long contributions = result.getSssCentavos() + result.getPhilHealthCentavos() + result.getPagIbigCentavos();
+            amounts[Measure.GROSS.ordinal()] = result.getGrossSalaryCentavos();
+            amounts[Measure.SSS.ordinal()] = result.getSssCentavos();
+            amounts[Measure.PHILHEALTH.ordinal()] = result.getPhilHealthCentavos();
+            amounts[Measure.PAGIBIG.ordinal()] = result.getPagIbigCentavos();
+            amounts[Measure.TAXABLE_INCOME.ordinal()] = result.getGrossSalaryCentavos() - contributions;
+            amounts[Measure.TAX_WITHHELD.ordinal()] = result.getWithholdingTaxCentavos();
+        }
+    }
+
+    /**
+     * One employee's recorded periods in one year and their totals. Changed only by the
+     * Builder that created or copied it, so a built ledger's accounts never change.
+     */
+    private static final class Account {
+        private final NavigableMap<LocalDate, Recorded> periods;
+        private final long[] totals;
+
+        Account() {
+            this(new TreeMap<>(), new long[Measure.values().length]);
+        }
+
+        private Account(NavigableMap<LocalDate, Recorded> periods, long[] totals) {
+            this.periods = periods;
+            this.totals = totals;
+        }
+
+        Account copy() {
+            return new Account(new TreeMap<>(periods), totals.clone());
+        }
+
+        void record(PayrollResult result) {
+            PayPeriod period = result.getPeriod();
+            // Recorded periods never overlap, so only the one starting before this period
+            // and those starting inside it can overlap it
+            Map.Entry<LocalDate, Recorded> before = periods.lowerEntry(period.getStart());
+            if (before != null && !before.getValue().period.getEnd().isBefore(period.getStart())) {
+                add(periods.remove(before.getKey()), -1);
+            }
+            LocalDate start;
+            while ((start = periods.ceilingKey(period.getStart())) != null && !start.isAfter(period.getEnd())) {
+                add(periods.remove(start), -1);
+            }
+            Recorded recorded = new Recorded(result);
+            periods.put(period.getStart(), recorded);
+            add(recorded, 1);
+        }
+
+        private void add(Recorded recorded, int sign) {
+            for (int measure = 0; measure < totals.length; measure++) {
+                totals[measure] += sign * recorded.amounts[measure];
+            }
+        }
+
+        YearToDate snapshot(int employeeNumber, int year, StatutoryRates yearEndRates) {
+            LocalDate throughDate = periods.isEmpty() ? null : periods.lastEntry().getValue().period.getEnd();
+            return new YearToDate(employeeNumber, year, totals.clone(), periods.size(), throughDate, yearEndRates);
+        }
+    }
+
+    /**
+     * Immutable year-to-date totals of one employee, with the annual tax reconciliation.
+     */
+    public static final class YearToDate {
+        private final int employeeNumber;
+        private final int year;
+        private final long[] totals;
+        private final int periodCount;
+        private final LocalDate throughDate;
+        private final StatutoryRates yearEndRates;
+
+        private YearToDate(int employeeNumber, int year, long[] totals, int periodCount, LocalDate throughDate,
+                           StatutoryRates yearEndRates) {
+            this.employeeNumber = employeeNumber;
+            this.year = year;
+            this.totals = totals;
+            this.periodCount = periodCount;
+            this.throughDate = throughDate;
+            this.yearEndRates = yearEndRates;
+        }
+
+        public int getEmployeeNumber() { return employeeNumber; }
+        public int getYear() { return year; }
+
+        /**
+         * @return Number of pay periods recorded in the year
+         */
+        public int getPeriodCount() { return periodCount; }
+
+        /**
+         * @return Last day of the latest recorded period, or null if none was recorded
+         */
+        public LocalDate getThroughDate() { return throughDate; }
+
+        /**
+         * @param measure The total to read
+         * @return The year-to-date total in centavos
+         */
+        public long getCentavos(Measure measure) {
+            return totals[measure.ordinal()];
+        }
+
+        /**
+         * @return Income tax due on the year-to-date taxable income under the annual table in
+         *         force at the end of the year, in the schedule the periods were posted under;
+         *         0 if nothing was recorded
+         */
+        public long getAnnualTaxDueCentavos() {
+            return yearEndRates == null ? 0 : yearEndRates.annualTaxCentavos(totals[Measure.TAXABLE_INCOME.ordinal()]);
+        }
+
+        /**
+         * Tax still to withhold in the final period of the year; negative when too much was
+         * withheld and the difference is refunded.
+         *
+         * @return Annual tax due less tax withheld so far, in centavos
+         */
+        public long getTrueUpCentavos() {
+            return getAnnualTaxDueCentavos() - totals[Measure.TAX_WITHHELD.ordinal()];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("YTD %d %d: gross %.2f, withheld %.2f, annual tax %.2f, true-up %.2f",
+                                 employeeNumber, year, Money.toPesos(getCentavos(Measure.GROSS)),
+                                 Money.toPesos(getCentavos(Measure.TAX_WITHHELD)),
+                                 Money.toPesos(getAnnualTaxDueCentavos()), Money.toPesos(getTrueUpCentavos()));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package utils;
+
+/**
+ * Computes statutory deductions for many gross salaries at once.
+ * This class demonstrates:
+ * - Utility Class Pattern: Contains only static methods with no instance state
+ * - Data-Oriented Design: Works on parallel primitive arrays (columns) instead of objects
+ * - Consistency: Uses the same compiled rate tables as the scalar calculators, so results are identical
+ *
+ * One pass over the input fills every output column. The loop body has no calls that
+ * allocate and no data-dependent branches: brackets are chosen by counting bounds in the
+ * compiled RateTables, which keeps the loop friendly to the JIT's loop optimizations.
+ * All columns hold whole centavos (see Money), so a batch gives exactly the same amounts
+ * as the scalar calculators, however the work was split.
+ */
+public class BatchDeductionsCalculator {
+
+    private BatchDeductionsCalculator() {
+    }
+
+    /**
+     * Computes SSS, PhilHealth, Pag-IBIG, taxable income, withholding tax, total deductions
+     * and net pay (before allowances) for gross[0..count), all under the same rates, e.g.
+     * those in force in the pay period of the batch. Allocates nothing.
+     *
+     * @param gross Gross salaries in centavos
+     * @param rates Rates for every entry
+     * @param count Number of entries to process
+     * @param out Output columns; must hold at least count entries
+     */
+    public static void calculate(long[] gross, StatutoryRates rates, int count, Columns out) {
+        if (count > gross.length || count > out.capacity()) {
+            throw new IllegalArgumentException("Batch of " + count + " exceeds input or output capacity");
+        }
+        calculateRun(gross, rates, 0, count, out);
+    }
+
+    /**
+     * Computes the same columns as calculate(gross, rates, count, out), each entry under its
+     * own rates, so entries of different periods can share one batch. Consecutive entries
+     * with the same rates are computed as one run.
+     *
+     * @param gross Gross salaries in centavos
+     * @param rates Rates for each entry; entries usually share a few instances
+     * @param count Number of entries to process
+     * @param out Output columns; must hold at least count entries
+     */
+    public static void calculate(long[] gross, StatutoryRates[] rates, int count, Columns out) {
+        if (count > gross.length || count > rates.length || count > out.capacity()) {
+            throw new IllegalArgumentException("Batch of " + count + " exceeds input or output capacity");
+        }
+        int from = 0;
+        while (from < count) {
+            int to = from + 1;
+            while (to < count && rates[to] == rates[from]) {
+                to++;
+            }
+            calculateRun(gross, rates[from], from, to, out);
+            from = to;
+        }
+    }
+
+    /**
+     * Fills the columns for gross[from..to) under one set of rates, reading its tables once.
+     */
+    private static void calculateRun(long[] gross, StatutoryRates rates, int from, int to, Columns out) {
+        long[] sssColumn = out.sss;
+        long[] philHealthColumn = out.philHealth;
+        long[] pagIbigColumn = out.pagIbig;
+        long[] taxableColumn = out.taxableIncome;
+        long[] taxColumn = out.withholdingTax;
+        long[] totalColumn = out.totalDeductions;
+        long[] netColumn = out.netSalary;
+        RateTable sssTable = rates.getTable(RateSchedule.Kind.SSS);
+        RateTable philHealthTable = rates.getTable(RateSchedule.Kind.PHILHEALTH);
+        RateTable pagIbigTable = rates.getTable(RateSchedule.Kind.PAGIBIG);
+        RateTable taxTable = rates.getTable(RateSchedule.Kind.WITHHOLDING_TAX);
+
+        for (int i = from; i < to; i++) {
+            long salary = gross[i];
+            long sss = sssTable.apply(salary);
+            long philHealth = philHealthTable.apply(salary);
+            long pagIbig = pagIbigTable.apply(salary);
+            long taxable = salary - (sss + philHealth + pagIbig);
+            long tax = taxTable.apply(taxable);
+            long total = sss + philHealth + pagIbig + tax;
+
+            sssColumn[i] = sss;
+            philHealthColumn[i] = philHealth;
+            pagIbigColumn[i] = pagIbig;
+            taxableColumn[i] = taxable;
+            taxColumn[i] = tax;
+            totalColumn[i] = total;
+            netColumn[i] = salary - total;
+        }
+    }
+
+    /**
+     * Reusable output columns for calculate(), in centavos.
+     * Demonstrates encapsulation of related arrays; allocate once and reuse across batches.
+     */
+    public static class Columns {
+        private final long[] sss;
+        private final long[] philHealth;
+        private final long[] pagIbig;
+        private final long[] taxableIncome;
+        private final long[] withholdingTax;
+        private final long[] totalDeductions;
+        private final long[] netSalary;
+
+        /**
+         * @param capacity Largest batch these columns can hold
+         */
+        public Columns(int capacity) {
+            this.sss = new long[capacity];
+            this.philHealth = new long[capacity];
+            this.pagIbig = new long[capacity];
+            this.taxableIncome = new long[capacity];
+            this.withholdingTax = new long[capacity];
+            this.totalDeductions = new long[capacity];
+            this.netSalary = new long[capacity];
+        }
+
+        public int capacity() { return sss.length; }
+        public long[] getSss() { return sss; }
+        public long[] getPhilHealth() { return philHealth; }
+        public long[] getPagIbig() { return pagIbig; }
+        public long[] getTaxableIncome() { return taxableIncome; }
+        public long[] getWithholdingTax() { return withholdingTax; }
+        public long[] getTotalDeductions() { return totalDeductions; }
+        public long[] getNetSalary() { return netSalary; }
+    }
+}
@@ -0,0 +1,407 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic employee and attendance CSV files for load and scaling tests.
+ * This class demonstrates:
+ * - Builder Pattern: Settings are chained before calling generate()
+ * - Determinism: All randomness comes from one seeded SplittableRandom, so a seed always
+ *   produces byte-identical files
+ * - Streaming: Rows are written as they are generated, so headcounts in the millions use
+ *   constant memory
+ *
+ * The files use the same layout as src/data/employee_data.csv and attendance_records.csv.
+ * Basic salaries are spread over the withholding tax brackets by configurable weights. The
+ * lowest bracket reaches down to part-time salaries of PHP 2,000, inside the SSS minimum
+ * contribution bracket and below the Pag-IBIG cap, so every SSS and tax branch is exercised. Supervisors always refer to an earlier employee by
+ * "Last, First", forming one organization tree. Malformed rows can be injected at a given rate
+ * to exercise the loaders' error handling.
+ */
+public class DatasetGenerator {
+    /** Header of employee_data.csv. */
+    public static final String EMPLOYEE_HEADER = "Employee #,Last Name,First Name,Birthday,Address,Phone Number,"
+        + "SSS #,Philhealth #,TIN #,Pag-ibig #,Status,Position,Immediate Supervisor,Basic Salary,Rice Subsidy,"
+        + "Phone Allowance,Clothing Allowance,Gross Semi-monthly Rate,Hourly Rate";
+
+    /** Header of attendance_records.csv. */
+    public static final String ATTENDANCE_HEADER = "Employee #,Last Name,First Name,Date,Hours Worked";
+
+    // First employee number, as in the bundled data
+    private static final int FIRST_EMPLOYEE_NUMBER = 10001;
+
+    // Monthly basic salary range per withholding tax bracket (see TaxCalculator), before contributions;
+    // the untaxed bracket starts inside the SSS minimum contribution bracket (below PHP 4,250)
+    private static final double[] BRACKET_SALARY_FLOOR = {2_000, 20_833, 33_333, 66_667, 166_667, 666_667};
+    private static final double[] BRACKET_SALARY_CEILING = {20_832, 33_332, 66_666, 166_666, 666_666, 1_000_000};
+
+    private static final String[] LAST_NAMES = {
+        "Garcia", "Lim", "Aquino", "Reyes", "Hernandez", "Villanueva", "San Jose", "Romualdez", "Atienza",
+        "Alvaro", "Salcedo", "Lopez", "Farala", "Martinez", "Romero", "Mata", "De Leon", "Gonzales", "Castro",
+        "Santos", "Del Rosario", "Bautista", "Lazaro", "Delos Santos", "Cruz", "Mendoza", "Torres", "Ramos",
+        "Flores", "Rivera", "Dela Cruz", "Manalo", "Navarro", "Pascual", "Domingo", "Soriano", "Aguilar",
+        "Valdez", "Morales", "Ocampo", "Panganiban", "Salazar", "Tolentino", "Yap", "Tan", "Sy", "Chua",
+        "Lacson", "Magsaysay", "Quirino"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Manuel", "Antonio", "Bianca Sofia", "Isabella", "Eduard", "Andrea Mae", "Brad", "Alice", "Rosie",
+        "Roderick", "Anthony", "Josie", "Martha", "Leila", "Fredrick", "Christian", "Selena", "Allison", "Cydney",
+        "Mark", "Darlene", "Kolby", "Vella", "Tomas", "Jacklyn", "Percival", "Garfield", "Lizeth", "Carol",
+        "Emelia", "Delia", "Maria", "Jose", "Juan", "Ana", "Ramon", "Teresa", "Carlos", "Luz", "Miguel",
+        "Rosa", "Pedro", "Carmen", "Rafael", "Elena", "Gabriel", "Lourdes", "Paolo", "Cristina", "Ricardo"
+    };
+    private static final String[] CITIES = {
+        "Makati City", "Quezon City", "Taguig City", "Pasig City", "Manila", "Mandaluyong City",
+        "Dasmarinas, Cavite", "Santa Rosa, Laguna", "Antipolo, Rizal", "Malolos, Bulacan"
+    };
+    private static final String[] BRACKET_POSITIONS = {
+        "Customer Service Agent", "Sales & Marketing", "Payroll Rank and File", "Account Team Leader",
+        "Account Manager", "Chief Operating Officer"
+    };
+
+    private final long seed;
+    private int headcount = 1_000;
+    private LocalDate firstDay = LocalDate.of(2024, 6, 3);
+    private LocalDate lastDay = LocalDate.of(2024, 12, 31);
+    private double malformedRate = 0.0;
+    private double absenceRate = 0.05;
+    private double[] bracketWeights = {30, 25, 20, 15, 7, 3};
+
+    /**
+     * @param seed Seed of the random generator; the same settings and seed give the same files
+     */
+    public DatasetGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param headcount Number of employees to generate
+     * @return This generator
+     */
+    public DatasetGenerator headcount(int headcount) {
+        if (headcount < 1 || headcount > Integer.MAX_VALUE - FIRST_EMPLOYEE_NUMBER) {
+            throw new IllegalArgumentException("Headcount out of range: " + headcount);
+        }
+        this.headcount = headcount;
+        return this;
+    }
+
+    /**
+     * @param firstDay First day of attendance (inclusive)
+     * @param lastDay Last day of attendance (inclusive)
+     * @return This generator
+     */
+    public DatasetGenerator dateRange(LocalDate firstDay, LocalDate lastDay) {
+        if (lastDay.isBefore(firstDay)) {
+            throw new IllegalArgumentException("Date range ends before it starts: " + firstDay + " - " + lastDay);
+        }
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        return this;
+    }
+
+    /**
+     * @param malformedRate Fraction of rows, 0 to 1, replaced by a malformed or irregular row
+     * @return This generator
+     */
+    public DatasetGenerator malformedRate(double malformedRate) {
+        this.malformedRate = fraction(malformedRate, "Malformed rate");
+        return this;
+    }
+
+    /**
+     * @param absenceRate Fraction of working days, 0 to 1, without an attendance row
+     * @return This generator
+     */
+    public DatasetGenerator absenceRate(double absenceRate) {
+        this.absenceRate = fraction(absenceRate, "Absence rate");
+        return this;
+    }
+
+    /**
+     * Sets how employees are spread over the six withholding tax brackets, lowest first.
+     *
+     * @param weights Six non-negative relative weights, e.g. {30, 25, 20, 15, 7, 3}
+     * @return This generator
+     */
+    public DatasetGenerator bracketWeights(double[] weights) {
+        if (weights.length != BRACKET_SALARY_FLOOR.length) {
+            throw new IllegalArgumentException("Expected " + BRACKET_SALARY_FLOOR.length + " bracket weights, got "
+                                               + weights.length);
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Bracket weights must not be negative: " + Arrays.toString(weights));
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one bracket weight must be positive");
+        }
+        this.bracketWeights = weights.clone();
+        return this;
+    }
+
+    /**
+     * Writes employee_data.csv and attendance_records.csv into a directory.
+     *
+     * @param directory Output directory; created if missing
+     * @return Counts of what was written
+     * @throws IOException If a file cannot be written
+     */
+    public Summary generate(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        SplittableRandom random = new SplittableRandom(seed);
+        // Each file gets its own stream, so changing one setting does not reshuffle the other file
+        SplittableRandom employeeRandom = random.split();
+        SplittableRandom attendanceRandom = random.split();
+
+        Summary summary = new Summary();
+        try (BufferedWriter out = Files.newBufferedWriter(directory.resolve("employee_data.csv"),
+                                                          StandardCharsets.UTF_8)) {
+            writeEmployees(out, employeeRandom, summary);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(directory.resolve("attendance_records.csv"),
+                                                          StandardCharsets.UTF_8)) {
+            writeAttendance(out, attendanceRandom, summary);
+        }
+        return summary;
+    }
+
+    private void writeEmployees(BufferedWriter out, SplittableRandom random, Summary summary) throws IOException {
+        out.write(EMPLOYEE_HEADER);
+        out.newLine();
+        StringBuilder row = new StringBuilder(256);
+        for (int i = 0; i < headcount; i++) {
+            row.setLength(0);
+            if (random.nextDouble() < malformedRate) {
+                appendMalformedEmployee(row, i, random);
+                summary.malformedEmployees++;
+            } else {
+                appendEmployee(row, i, random);
+                summary.employees++;
+            }
+            out.append(row).append('\n');
+        }
+    }
+
+    private void appendEmployee(StringBuilder row, int i, SplittableRandom random) {
+        int bracket = pickBracket(random);
+        double basicSalary = Math.round(BRACKET_SALARY_FLOOR[bracket]
+            + random.nextDouble() * (BRACKET_SALARY_CEILING[bracket] - BRACKET_SALARY_FLOOR[bracket]));
+        double phoneAllowance = 500 * (1 + random.nextInt(4));
+        double clothingAllowance = 500 * (1 + random.nextInt(2));
+        LocalDate birthday = LocalDate.of(1960 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28));
+
+        row.append(FIRST_EMPLOYEE_NUMBER + i).append(',')
+           .append(lastName(i)).append(',')
+           .append(firstName(i)).append(',')
+           .append(String.format(Locale.ROOT, "%02d/%02d/%d", birthday.getMonthValue(), birthday.getDayOfMonth(),
+                                 birthday.getYear())).append(',')
+           .append('"').append(1 + random.nextInt(2000)).append(' ')
+           .append(LAST_NAMES[random.nextInt(LAST_NAMES.length)]).append(" Street, ")
+           .append(CITIES[random.nextInt(CITIES.length)]).append("\",")
+           .append(digits(random, 3)).append('-').append(digits(random, 3)).append('-').append(digits(random, 3))
+           .append(',')
+           .append(digits(random, 2)).append('-').append(digits(random, 7)).append('-').append(digits(random, 1))
+           .append(',')
+           .append(digits(random, 12)).append(',')
+           .append(digits(random, 3)).append('-').append(digits(random, 3)).append('-').append(digits(random, 3))
+           .append("-000,")
+           .append(digits(random, 12)).append(',')
+           .append(random.nextInt(5) == 0 ? "Probationary" : "Regular").append(',')
+           .append(BRACKET_POSITIONS[bracket]).append(',');
+        if (i == 0) {
+            row.append("N/A");
+        } else {
+            // Pick an earlier employee from the first quarter so the tree stays shallow and wide
+            int supervisor = random.nextInt(Math.max(1, i / 4));
+            row.append('"').append(lastName(supervisor)).append(", ").append(firstName(supervisor)).append('"');
+        }
+        row.append(',')
+           .append(peso(basicSalary)).append(',')
+           .append(peso(1500)).append(',')
+           .append(peso(phoneAllowance)).append(',')
+           .append(peso(clothingAllowance)).append(',')
+           .append(peso(basicSalary / 2)).append(',')
+           .append(String.format(Locale.ROOT, "%.2f", basicSalary / 168));
+    }
+
+    private void appendMalformedEmployee(StringBuilder row, int i, SplittableRandom random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                // Employee number that is not a number
+                row.append("E-").append(FIRST_EMPLOYEE_NUMBER + i).append(',').append(lastName(i)).append(',')
+                   .append(firstName(i)).append(",01/01/1990,\"Somewhere\",000-000-000,00-0000000-0,000000000000,")
+                   .append("000-000-000-000,000000000000,Regular,Customer Service Agent,N/A,")
+                   .append("\"20,000\",\"1,500\",500,500,\"10,000\",119.05");
+                break;
+            case 1:
+                // Too few columns
+                row.append(FIRST_EMPLOYEE_NUMBER + i).append(',').append(lastName(i)).append(',').append(firstName(i));
+                break;
+            default:
+                // Non-numeric salary - loaded with a warning and a salary of 0
+                row.append(FIRST_EMPLOYEE_NUMBER + i).append(',').append(lastName(i)).append(',')
+                   .append(firstName(i)).append(",01/01/1990,\"Somewhere\",000-000-000,00-0000000-0,000000000000,")
+                   .append("000-000-000-000,000000000000,Regular,Customer Service Agent,N/A,")
+                   .append("N/A,\"1,500\",500,500,N/A,N/A");
+        }
+    }
+
+    private void writeAttendance(BufferedWriter out, SplittableRandom random, Summary summary) throws IOException {
+        out.write(ATTENDANCE_HEADER);
+        out.newLine();
+        StringBuilder row = new StringBuilder(64);
+        for (LocalDate date = firstDay; !date.isAfter(lastDay); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            String day = String.format(Locale.ROOT, "%02d/%02d/%d", date.getMonthValue(), date.getDayOfMonth(),
+                                       date.getYear());
+            for (int i = 0; i < headcount; i++) {
+                if (random.nextDouble() < absenceRate) {
+                    continue;
+                }
+                row.setLength(0);
+                if (random.nextDouble() < malformedRate) {
+                    appendMalformedAttendance(row, i, day, random);
+                    summary.malformedAttendanceRows++;
+                } else {
+                    // Around 8 hours, with overtime and undertime; kept within a plausible day
+                    double hours = Math.min(12.0, Math.max(4.0, 8.0 + random.nextGaussian() * 0.75));
+                    row.append(FIRST_EMPLOYEE_NUMBER + i).append(',').append(lastName(i)).append(',')
+                       .append(firstName(i)).append(',').append(day).append(',');
+                    appendHundredths(row, Math.round(hours * 100));
+                    summary.attendanceRows++;
+                }
+                out.append(row).append('\n');
+            }
+        }
+    }
+
+    private void appendMalformedAttendance(StringBuilder row, int i, String day, SplittableRandom random) {
+        String prefix = (FIRST_EMPLOYEE_NUMBER + i) + "," + lastName(i) + "," + firstName(i) + ",";
+        switch (random.nextInt(5)) {
+            case 0:
+                row.append(prefix).append("13/45/").append(day, 6, 10).append(",8.00");  // Impossible date
+                break;
+            case 1:
+                row.append(prefix).append(day).append(",eight");                      // Non-numeric hours
+                break;
+            case 2:
+                row.append(prefix).append(day);                                        // Missing column
+                break;
+            case 3:
+                // Employee number nobody has
+                row.append(FIRST_EMPLOYEE_NUMBER + headcount + i).append(",Nobody,Unknown,").append(day).append(",8.00");
+                break;
+            default:
+                // Valid but quoted - must take the loaders' slow path and still count
+                row.append(FIRST_EMPLOYEE_NUMBER + i).append(",\"").append(lastName(i)).append("\",\"")
+                   .append(firstName(i)).append("\",").append(day).append(",8.00");
+        }
+    }
+
+    private int pickBracket(SplittableRandom random) {
+        double total = 0;
+        for (double weight : bracketWeights) {
+            total += weight;
+        }
+        double pick = random.nextDouble() * total;
+        for (int bracket = 0; bracket < bracketWeights.length - 1; bracket++) {
+            pick -= bracketWeights[bracket];
+            if (pick < 0) {
+                return bracket;
+            }
+        }
+        return bracketWeights.length - 1;
+    }
+
+    /**
+     * Last names cycle every LAST_NAMES.length * FIRST_NAMES.length employees; together with
+     * firstName(i) every employee gets a unique "Last, First" pair.
+     */
+    private static String lastName(int i) {
+        return LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+
+    private static String firstName(int i) {
+        int generation = i / (FIRST_NAMES.length * LAST_NAMES.length);
+        String name = FIRST_NAMES[i % FIRST_NAMES.length];
+        return generation == 0 ? name : name + " " + toLetters(generation);
+    }
+
+    /**
+     * @return Bijective base-26 letters for a positive number: 1 = A, 26 = Z, 27 = AA
+     */
+    private static String toLetters(int number) {
+        StringBuilder letters = new StringBuilder();
+        for (int n = number; n > 0; n = (n - 1) / 26) {
+            letters.append((char) ('A' + (n - 1) % 26));
+        }
+        return letters.reverse().toString();
+    }
+
+    /**
+     * Appends a non-negative amount given in hundredths with two decimals, e.g. 853 as "8.53".
+     */
+    private static void appendHundredths(StringBuilder row, long hundredths) {
+        long cents = hundredths % 100;
+        row.append(hundredths / 100).append('.').append(cents < 10 ? "0" : "").append(cents);
+    }
+
+    private static String digits(SplittableRandom random, int count) {
+        char[] chars = new char[count];
+        for (int i = 0; i < count; i++) {
+            chars[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Formats an amount like the bundled data: whole pesos with thousands separators, quoted.
+     */
+    private static String peso(double amount) {
+        return '"' + String.format(Locale.ROOT, "%,.0f", amount) + '"';
+    }
+
+    private static double fraction(double value, String name) {
+        if (!(value >= 0.0 && value <= 1.0)) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1: " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Counts of rows written by generate().
+     */
+    public static class Summary {
+        private long employees;
+        private long malformedEmployees;
+        private long attendanceRows;
+        private long malformedAttendanceRows;
+
+        public long getEmployees() { return employees; }
+        public long getMalformedEmployees() { return malformedEmployees; }
+        public long getAttendanceRows() { return attendanceRows; }
+        public long getMalformedAttendanceRows() { return malformedAttendanceRows; }
+
+        @Override
+        public String toString() {
+            return String.format("%d employees (%d malformed), %d attendance rows (%d malformed or irregular)",
+                                 employees + malformedEmployees, malformedEmployees,
+                                 attendanceRows + malformedAttendanceRows, malformedAttendanceRows);
+        }
+    }
+}
@@ -14,6 +14,20 @@ public interface Deductible {
      * @return The calculated deduction amount
      */
     double calculateDeduction(double salary);
+
+    /**
+     * Calculates the deduction in whole centavos (see Money) under the statutory rates of a
+     * pay period. The default ignores the rates and converts to pesos and back, which suits
+     * deductions that are not statutory; the SSS, PhilHealth, Pag-IBIG and tax calculators
+     * read their table from the rates with exact integer arithmetic.
+     * 
+     * @param salaryCentavos The salary amount in centavos
+     * @param rates The rates in force in the pay period (see RateSchedule.ratesOn)
+     * @return The deduction amount in centavos
+     */
+    default long calculateDeductionCentavos(long salaryCentavos, StatutoryRates rates) {
+        return Money.ofPesos(calculateDeduction(Money.toPesos(salaryCentavos)));
+    }
     
     /**
      * Gets the name or type of this deduction.
@@ -21,4 +35,25 @@ public interface Deductible {
      * @return String representation of the deduction type
      */
     String getDeductionType();
+
+    /**
+     * Gets the amount this deduction is computed from.
+     * Statutory contributions are taken from gross salary; deductions such as withholding
+     * tax are taken from taxable income (gross salary less all gross-based deductions).
+     * 
+     * @return The base this deduction is computed from
+     */
+    default Base getDeductionBase() {
+        return Base.GROSS_SALARY;
+    }
+
+    /**
+     * The amount a deduction is computed from.
+     */
+    enum Base {
+        /** Gross salary for the period. */
+        GROSS_SALARY,
+        /** Gross salary less every GROSS_SALARY deduction. */
+        TAXABLE_INCOME
+    }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package utils;
+
+import java.util.List;
+
+/**
+ * A set of Deductible calculators compiled into a fixed evaluation order.
+ * This class demonstrates:
+ * - Polymorphism: Any Deductible implementation can take part in a plan
+ * - Immutability: A compiled plan never changes and can be shared between threads
+ * - Separation of Concerns: The plan knows the evaluation order; the result holder keeps the amounts
+ *
+ * Compiling sorts the calculators by Deductible.Base once: gross-based contributions are
+ * evaluated first and summed, then taxable-income deductions are evaluated on gross salary
+ * less that sum. Evaluating writes into a caller-supplied Breakdown, so a caller that reuses
+ * its Breakdown evaluates deductions for every employee without allocating.
+ * Amounts are whole centavos (see Money), so totals are exact. Statutory deductions are
+ * evaluated under the rates passed in, normally those in force in the pay period.
+ */
+public class DeductionPlan {
+    private final Deductible[] grossStage;    // Evaluated on gross salary
+    private final int[] grossSlots;           // Output slot of each gross-stage deduction
+    private final Deductible[] taxableStage;  // Evaluated on taxable income
+    private final int[] taxableSlots;         // Output slot of each taxable-stage deduction
+    private final String[] types;             // Output slot -> deduction type name
+
+    private DeductionPlan(Deductible[] grossStage, int[] grossSlots, Deductible[] taxableStage,
+                          int[] taxableSlots, String[] types) {
+        this.grossStage = grossStage;
+        this.grossSlots = grossSlots;
+        this.taxableStage = taxableStage;
+        this.taxableSlots = taxableSlots;
+        this.types = types;
+    }
+
+    /**
+     * Compiles a plan. Output slots keep the order of the given list.
+     *
+     * @param deductions The deductions to evaluate
+     * @return The compiled plan
+     */
+    public static DeductionPlan compile(List<? extends Deductible> deductions) {
+        int grossCount = 0;
+        for (Deductible deduction : deductions) {
+            if (deduction.getDeductionBase() == Deductible.Base.GROSS_SALARY) {
+                grossCount++;
+            }
+        }
+
+        Deductible[] grossStage = new Deductible[grossCount];
+        int[] grossSlots = new int[grossCount];
+        Deductible[] taxableStage = new Deductible[deductions.size() - grossCount];
+        int[] taxableSlots = new int[taxableStage.length];
+        String[] types = new String[deductions.size()];
+
+        int g = 0;
+        int t = 0;
+        for (int slot = 0; slot < deductions.size(); slot++) {
+            Deductible deduction = deductions.get(slot);
+            types[slot] = deduction.getDeductionType();
+            if (deduction.getDeductionBase() == Deductible.Base.GROSS_SALARY) {
+                grossStage[g] = deduction;
+                grossSlots[g++] = slot;
+            } else {
+                taxableStage[t] = deduction;
+                taxableSlots[t++] = slot;
+            }
+        }
+        return new DeductionPlan(grossStage, grossSlots, taxableStage, taxableSlots, types);
+    }
+
+    /**
+     * @return A new result holder sized for this plan; reuse it across evaluations
+     */
+    public Breakdown newBreakdown() {
+        return new Breakdown(types);
+    }
+
+    /**
+     * Evaluates every deduction for a gross salary in centavos in one pass.
+     *
+     * @param grossSalary The gross salary for the period in centavos
+     * @param rates The rates in force in the pay period (see RateSchedule.ratesOn)
+     * @param out The holder to write the amounts into (from newBreakdown())
+     */
+    public void evaluate(long grossSalary, StatutoryRates rates, Breakdown out) {
+        if (out.types != types) {
+            throw new IllegalArgumentException("Breakdown was not created by this plan");
+        }
+        long[] amounts = out.amounts;
+
+        long contributions = 0;
+        for (int i = 0; i < grossStage.length; i++) {
+            long amount = grossStage[i].calculateDeductionCentavos(grossSalary, rates);
+            amounts[grossSlots[i]] = amount;
+            contributions += amount;
+        }
+
+        long taxableIncome = grossSalary - contributions;
+        long total = contributions;
+        for (int i = 0; i < taxableStage.length; i++) {
+            long amount = taxableStage[i].calculateDeductionCentavos(taxableIncome, rates);
+            amounts[taxableSlots[i]] = amount;
+            total += amount;
+        }
+
+        out.grossSalary = grossSalary;
+        out.taxableIncome = taxableIncome;
+        out.total = total;
+    }
+
+    /**
+     * Reusable holder for the result of one plan evaluation.
+     * Demonstrates encapsulation: amounts are read by slot, in the order the plan was compiled with.
+     */
+    public static class Breakdown {
+        private final String[] types;
+        private final long[] amounts;
+        private long grossSalary;
+        private long taxableIncome;
+        private long total;
+
+        private Breakdown(String[] types) {
+            this.types = types;
+            this.amounts = new long[types.length];
+        }
+
+        /**
+         * @return Number of deductions (slots)
+         */
+        public int size() { return amounts.length; }
+
+        /**
+         * @param slot Deduction slot, 0 to size() - 1
+         * @return The deduction type name
+         */
+        public String getType(int slot) { return types[slot]; }
+
+        /**
+         * @param slot Deduction slot, 0 to size() - 1
+         * @return The deduction amount
+         */
+        public double getAmount(int slot) { return Money.toPesos(amounts[slot]); }
+
+        /**
+         * @param slot Deduction slot, 0 to size() - 1
+         * @return The deduction amount in centavos
+         */
+        public long getAmountCentavos(int slot) { return amounts[slot]; }
+
+        /**
+         * @return The gross salary the plan was evaluated for
+         */
+        public double getGrossSalary() { return Money.toPesos(grossSalary); }
+
+        /**
+         * @return Gross salary less all gross-based deductions
+         */
+        public double getTaxableIncome() { return Money.toPesos(taxableIncome); }
+
+        /**
+         * @return Sum of all deductions
+         */
+        public double getTotal() { return Money.toPesos(total); }
+
+        /**
+         * @return Sum of all deductions in centavos
+         */
+        public long getTotalCentavos() { return total; }
+    }
+}
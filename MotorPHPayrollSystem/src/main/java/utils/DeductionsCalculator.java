@@ -1,6 +1,7 @@
 package utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -11,27 +12,28 @@ import java.util.List;
  * - Delegation: Coordinates calls to specialized calculator classes
  * - Facade Pattern: Provides a simplified interface to complex calculation subsystems
  * - Polymorphism: Uses interface and implementation classes for different deduction types
+ *
+ * Methods that take no rates use the built-in tables (see RateSchedule.builtIn); payroll for
+ * a pay period passes the rates in force in that period.
  */
 public class DeductionsCalculator {
-    // List of available deduction calculators - demonstrates polymorphism
-    private static final List<Deductible> deductionCalculators = new ArrayList<>();
-    
-    static {
-        // Initialize the list with available deduction calculators
-        deductionCalculators.add(new SSSCalculator());
-        deductionCalculators.add(new PhilHealthCalculator());
-        deductionCalculators.add(new TaxCalculator());
-    }
+    // Available deduction calculators compiled once into an evaluation plan - demonstrates polymorphism
+    private static final DeductionPlan DEFAULT_PLAN = DeductionPlan.compile(Arrays.asList(
+        new PagIbigCalculator(),
+        new SSSCalculator(),
+        new PhilHealthCalculator(),
+        new TaxCalculator()
+    ));
     
     /**
      * Computes Pag-IBIG contribution (capped at PHP 100).
-     * Demonstrates a business rule implementation with a maximum cap.
+     * Demonstrates delegation to a specialized calculator class.
      * 
      * @param grossSalary The employee's gross salary
      * @return The computed Pag-IBIG contribution
      */
     public static double calculatePagIbig(double grossSalary) {
-        return Math.min(grossSalary * 0.02, 100);
+        return PagIbigCalculator.getPagIbigContribution(grossSalary);
     }
 
     /**
@@ -66,34 +68,88 @@ public class DeductionsCalculator {
     public static double calculateTax(double taxableIncome) {
         return TaxCalculator.computeWithholdingTax(taxableIncome);
     }
+
+    /**
+     * Computes Pag-IBIG contribution in centavos (see Money).
+     * 
+     * @param grossSalary The employee's gross salary in centavos
+     * @param rates The rates in force in the pay period
+     * @return The computed Pag-IBIG contribution in centavos
+     */
+    public static long calculatePagIbigCentavos(long grossSalary, StatutoryRates rates) {
+        return PagIbigCalculator.getPagIbigContributionCentavos(grossSalary, rates);
+    }
+
+    /**
+     * Computes PhilHealth contribution in centavos (see Money).
+     * 
+     * @param grossSalary The employee's gross salary in centavos
+     * @param rates The rates in force in the pay period
+     * @return The computed PhilHealth contribution in centavos
+     */
+    public static long calculatePhilHealthCentavos(long grossSalary, StatutoryRates rates) {
+        return PhilHealthCalculator.getPhilHealthContributionCentavos(grossSalary, rates);
+    }
+
+    /**
+     * Computes SSS contribution in centavos (see Money).
+     * 
+     * @param grossSalary The employee's gross salary in centavos
+     * @param rates The rates in force in the pay period
+     * @return The computed SSS contribution in centavos
+     */
+    public static long calculateSSSCentavos(long grossSalary, StatutoryRates rates) {
+        return SSSCalculator.getSSSContributionCentavos(grossSalary, rates);
+    }
+
+    /**
+     * Computes withholding tax in centavos (see Money).
+     * 
+     * @param taxableIncome The employee's taxable income in centavos
+     * @param rates The rates in force in the pay period
+     * @return The computed withholding tax in centavos
+     */
+    public static long calculateTaxCentavos(long taxableIncome, StatutoryRates rates) {
+        return TaxCalculator.computeWithholdingTaxCentavos(taxableIncome, rates);
+    }
+    
+    /**
+     * Returns the standard deduction plan (Pag-IBIG, SSS, PhilHealth, withholding tax).
+     * Callers that compute deductions for many employees should evaluate this plan into
+     * one reused Breakdown instead of calling getAllDeductions.
+     * 
+     * @return The compiled standard deduction plan
+     */
+    public static DeductionPlan getDefaultPlan() {
+        return DEFAULT_PLAN;
+    }
     
+    /**
+     * Gets all deductions for a salary under the built-in tables.
+     * 
+     * @param grossSalary The gross salary to calculate deductions from
+     * @return List of DeductionResult objects containing deduction type and amount
+     */
+    public static List<DeductionResult> getAllDeductions(double grossSalary) {
+        return getAllDeductions(grossSalary, RateSchedule.builtIn().latest());
+    }
+
     /**
      * Polymorphic method to get all deductions for a salary.
      * Demonstrates abstraction and polymorphism by processing different types of deductions uniformly.
      * 
      * @param grossSalary The gross salary to calculate deductions from
+     * @param rates The rates in force in the pay period (see RateSchedule.ratesOn)
      * @return List of DeductionResult objects containing deduction type and amount
      */
-    public static List<DeductionResult> getAllDeductions(double grossSalary) {
-        List<DeductionResult> results = new ArrayList<>();
-        
-        // Add Pag-IBIG manually since it has a different calculation method
-        results.add(new DeductionResult("Pag-IBIG Contribution", calculatePagIbig(grossSalary)));
-        
-        // Polymorphically process all other deductions
-        for (Deductible calculator : deductionCalculators) {
-            if (calculator instanceof TaxCalculator) {
-                // Need to calculate taxable income for tax
-                double sss = calculateSSS(grossSalary);
-                double philHealth = calculatePhilHealth(grossSalary);
-                double pagIbig = calculatePagIbig(grossSalary);
-                double taxableIncome = grossSalary - (sss + philHealth + pagIbig);
-                results.add(new DeductionResult(calculator.getDeductionType(), calculator.calculateDeduction(taxableIncome)));
-            } else {
-                results.add(new DeductionResult(calculator.getDeductionType(), calculator.calculateDeduction(grossSalary)));
-            }
+    public static List<DeductionResult> getAllDeductions(double grossSalary, StatutoryRates rates) {
+        DeductionPlan.Breakdown breakdown = DEFAULT_PLAN.newBreakdown();
+        DEFAULT_PLAN.evaluate(Money.ofPesos(grossSalary), rates, breakdown);
+
+        List<DeductionResult> results = new ArrayList<>(breakdown.size());
+        for (int slot = 0; slot < breakdown.size(); slot++) {
+            results.add(new DeductionResult(breakdown.getType(slot), breakdown.getAmount(slot)));
         }
-        
         return results;
     }
     
@@ -0,0 +1,37 @@
+package utils;
+
+/**
+ * Utility class for writing JSON text without a JSON library.
+ * Demonstrates the utility class pattern: static helpers shared by the HTTP server and report writers.
+ */
+public class JsonText {
+    private JsonText() {
+    }
+
+    /**
+     * Quotes a string as a JSON string literal, escaping quotes, backslashes and control characters.
+     *
+     * @param value The string to quote
+     * @return The JSON string literal, including the surrounding quotes
+     */
+    public static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': quoted.append("\\\""); break;
+                case '\\': quoted.append("\\\\"); break;
+                case '\n': quoted.append("\\n"); break;
+                case '\r': quoted.append("\\r"); break;
+                case '\t': quoted.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
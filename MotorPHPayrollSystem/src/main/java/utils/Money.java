@@ -0,0 +1,83 @@
+package utils;
+
+/**
+ * Fixed-point money arithmetic on whole centavos held in a primitive long.
+ * This class demonstrates:
+ * - Utility Class Pattern: Contains only static methods with no instance state
+ * - Encapsulation: Every rounding decision in the payroll is made here, in one place
+ *
+ * Amounts are plain longs rather than objects, so they cost nothing to allocate and sum
+ * exactly: adding centavos gives the same total in any order or on any number of threads.
+ * Rounding happens only where a rate is applied, always to the nearest centavo with halves
+ * rounded away from zero (HALF_UP). Doubles are used only at the edges, to read amounts from
+ * CSV files and to print them.
+ */
+public final class Money {
+    /** Centavos per peso. */
+    public static final long CENTAVOS_PER_PESO = 100;
+
+    /** Basis points (hundredths of a percent) in a whole, for rates such as 3% = 300. */
+    public static final long BASIS_POINTS = 10_000;
+
+    private Money() {
+    }
+
+    /**
+     * Converts pesos to centavos, rounding half up at the centavo.
+     *
+     * @param pesos An amount in pesos, e.g. read from a CSV file
+     * @return The amount in centavos
+     */
+    public static long ofPesos(double pesos) {
+        // Shift by 100 first so .5 centavo ties are decided on the scaled value
+        double scaled = pesos * CENTAVOS_PER_PESO;
+        return (long) (scaled < 0 ? -Math.floor(-scaled + 0.5) : Math.floor(scaled + 0.5));
+    }
+
+    /**
+     * Converts centavos to pesos for display. The result prints exactly with %.2f.
+     *
+     * @param centavos An amount in centavos
+     * @return The amount in pesos
+     */
+    public static double toPesos(long centavos) {
+        return centavos / (double) CENTAVOS_PER_PESO;
+    }
+
+    /**
+     * Multiplies an amount by a fraction and rounds half up to the centavo.
+     * The product must fit in a long, which holds for payroll amounts and rates.
+     *
+     * @param centavos The amount
+     * @param numerator Numerator of the fraction
+     * @param denominator Denominator of the fraction; must be positive
+     * @return centavos × numerator / denominator, rounded half up
+     */
+    public static long multiply(long centavos, long numerator, long denominator) {
+        return divide(centavos * numerator, denominator);
+    }
+
+    /**
+     * Applies a rate given in basis points, e.g. 2% is 200.
+     *
+     * @param centavos The amount
+     * @param basisPoints The rate in hundredths of a percent
+     * @return The rounded share of the amount
+     */
+    public static long percent(long centavos, long basisPoints) {
+        return divide(centavos * basisPoints, BASIS_POINTS);
+    }
+
+    /**
+     * Divides and rounds half up (ties away from zero).
+     *
+     * @param dividend The value to divide
+     * @param divisor A positive divisor
+     * @return The rounded quotient
+     */
+    public static long divide(long dividend, long divisor) {
+        // Odd divisors have no exact ties; adding divisor / 2 still rounds to the nearest value
+        long half = divisor / 2;
+        return dividend >= 0 ? (dividend + half) / divisor : -((-dividend + half) / divisor);
+    }
+}
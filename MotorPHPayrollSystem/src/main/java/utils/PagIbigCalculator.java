@@ -0,0 +1,65 @@
+package utils;
+
+/**
+ * Utility class for computing Pag-IBIG (HDMF) contributions.
+ * This class demonstrates:
+ * - Polymorphism: Implements the Deductible interface
+ * - Single Responsibility Principle: Focused solely on Pag-IBIG calculations
+ * - Encapsulation: Hides where the contribution rate and cap come from
+ */
+public class PagIbigCalculator implements Deductible {
+    /**
+     * Computes the Pag-IBIG contribution (2% of salary, capped at PHP 100) under the built-in
+     * table (see RateSchedule.builtIn).
+     * 
+     * @param salary The employee's gross salary.
+     * @return The employee's Pag-IBIG contribution.
+     */
+    public static double getPagIbigContribution(double salary) {
+        return Money.toPesos(getPagIbigContributionCentavos(Money.ofPesos(salary), RateSchedule.builtIn().latest()));
+    }
+
+    /**
+     * Computes the Pag-IBIG contribution in centavos under the Pag-IBIG table of the given rates.
+     * 
+     * @param salary The employee's gross salary in centavos.
+     * @param rates The rates in force in the pay period.
+     * @return The contribution in centavos, rounded half up and capped by the table.
+     */
+    public static long getPagIbigContributionCentavos(long salary, StatutoryRates rates) {
+        return rates.pagIbigCentavos(salary);
+    }
+
+    /**
+     * Implementation of the Deductible interface method.
+     * 
+     * @param salary The salary amount for deduction calculation
+     * @return The calculated Pag-IBIG deduction
+     */
+    @Override
+    public double calculateDeduction(double salary) {
+        return getPagIbigContribution(salary);
+    }
+
+    /**
+     * Implementation of the Deductible interface method, using the Pag-IBIG table of the rates.
+     * 
+     * @param salaryCentavos The salary amount in centavos
+     * @param rates The rates in force in the pay period
+     * @return The contribution in centavos
+     */
+    @Override
+    public long calculateDeductionCentavos(long salaryCentavos, StatutoryRates rates) {
+        return getPagIbigContributionCentavos(salaryCentavos, rates);
+    }
+
+    /**
+     * Implementation of the Deductible interface method.
+     * 
+     * @return The deduction type name
+     */
+    @Override
+    public String getDeductionType() {
+        return "Pag-IBIG Contribution";
+    }
+}
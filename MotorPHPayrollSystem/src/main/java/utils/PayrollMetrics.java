@@ -0,0 +1,265 @@
+package utils;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * In-process registry of runtime metrics for the payroll hot paths.
+ * This class demonstrates:
+ * - Singleton Pattern: One shared registry is reachable through global()
+ * - Thread Safety: Counters and histograms are built on LongAdder, so threads recording
+ *   at the same time do not contend on a single memory location
+ * - Observer Pattern: Gauges are callbacks that read live values only when reported
+ *
+ * Metrics are created on first use by name. The registry can be exposed as a JMX MBean
+ * (see PayrollMetricsMXBean) and can print a text report on a fixed schedule.
+ */
+public class PayrollMetrics implements PayrollMetricsMXBean {
+    /** JMX name the global registry is registered under. */
+    public static final String OBJECT_NAME = "MotorPH:type=PayrollMetrics";
+
+    private static final PayrollMetrics GLOBAL = new PayrollMetrics();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService reporter;
+
+    /**
+     * @return The registry shared by the whole application
+     */
+    public static PayrollMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the counter with the given name, creating it on first use.
+     *
+     * @param name Dotted metric name, e.g. "attendance.rows.loaded"
+     * @return The counter
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Returns the latency histogram with the given name, creating it on first use.
+     *
+     * @param name Dotted metric name, e.g. "load.attendance.duration"
+     * @return The histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Registers a gauge. A gauge registered again under the same name replaces the old one.
+     *
+     * @param name Dotted metric name
+     * @param value Reads the current value; called whenever metrics are reported
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Registers this registry with the platform MBean server. Calling it again has no effect.
+     *
+     * @return The name the MBean is registered under
+     * @throws JMException If registration fails
+     */
+    public synchronized ObjectName registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (!server.isRegistered(name)) {
+            server.registerMBean(this, name);
+        }
+        return name;
+    }
+
+    /**
+     * Prints the report to a stream at a fixed rate on a daemon thread, replacing any earlier schedule.
+     *
+     * @param period Time between reports
+     * @param unit Unit of period
+     * @param out Stream the report is written to
+     */
+    public synchronized void startReporting(long period, TimeUnit unit, PrintStream out) {
+        stopReporting();
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payroll-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> out.print(getReport()), period, period, unit);
+    }
+
+    /**
+     * Stops the periodic report, if one is running.
+     */
+    public synchronized void stopReporting() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getGauges() {
+        Map<String, Double> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsDouble()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getLatencyCounts() {
+        Map<String, Long> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> values.put(name, histogram.getCount()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP99Micros() {
+        Map<String, Double> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> values.put(name, histogram.percentileNanos(0.99) / 1_000.0));
+        return values;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder("=============== PAYROLL METRICS ===============\n");
+        getCounters().forEach((name, value) -> report.append(String.format(" %-36s %12d%n", name, value)));
+        getGauges().forEach((name, value) -> report.append(String.format(" %-36s %12.3f%n", name, value)));
+        new TreeMap<>(histograms).forEach((name, histogram) -> report.append(String.format(
+            " %-36s count=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus%n", name, histogram.getCount(),
+            histogram.getMeanNanos() / 1_000.0, histogram.percentileNanos(0.50) / 1_000.0,
+            histogram.percentileNanos(0.99) / 1_000.0, histogram.getMaxNanos() / 1_000.0)));
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Monotonic count of events, e.g. rows loaded.
+     */
+    public static class Counter {
+        private final LongAdder count = new LongAdder();
+
+        public void increment() { count.increment(); }
+        public void add(long amount) { count.add(amount); }
+        public long get() { return count.sum(); }
+        void reset() { count.reset(); }
+    }
+
+    /**
+     * Distribution of durations in power-of-two nanosecond buckets.
+     * Recording costs one bucket lookup and three adder updates; percentiles are estimated
+     * as the upper bound of the bucket they fall in, so they are accurate to a factor of two.
+     */
+    public static class LatencyHistogram {
+        private final LongAdder[] buckets = new LongAdder[Long.SIZE + 1]; // bucket i: [2^(i-1), 2^i)
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        LatencyHistogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Records the time elapsed since a System.nanoTime() reading.
+         *
+         * @param startNanos The System.nanoTime() value taken when the operation started
+         */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Records one duration.
+         *
+         * @param nanos Duration in nanoseconds; negative values count as 0
+         */
+        public void record(long nanos) {
+            long value = Math.max(0, nanos);
+            buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+            count.increment();
+            totalNanos.add(value);
+            maxNanos.accumulate(value);
+        }
+
+        public long getCount() { return count.sum(); }
+        public long getMaxNanos() { return maxNanos.get(); }
+
+        /**
+         * @return Mean duration in nanoseconds, or 0 if nothing was recorded
+         */
+        public double getMeanNanos() {
+            long samples = count.sum();
+            return samples == 0 ? 0.0 : (double) totalNanos.sum() / samples;
+        }
+
+        /**
+         * Estimates a percentile.
+         *
+         * @param fraction Percentile as a fraction, e.g. 0.99
+         * @return Upper bound of the bucket holding the percentile, capped at the maximum seen
+         */
+        public long percentileNanos(double fraction) {
+            long[] snapshot = new long[buckets.length];
+            long samples = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                snapshot[i] = buckets[i].sum();
+                samples += snapshot[i];
+            }
+            if (samples == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(fraction * samples);
+            long seen = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    long upperBound = i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                    return Math.min(upperBound, getMaxNanos());
+                }
+            }
+            return getMaxNanos();
+        }
+
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+    }
+}
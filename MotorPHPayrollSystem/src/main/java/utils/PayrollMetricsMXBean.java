@@ -0,0 +1,39 @@
+package utils;
+
+import java.util.Map;
+
+/**
+ * Management interface of PayrollMetrics, as seen from JConsole, VisualVM or any JMX client.
+ * Demonstrates interface segregation: JMX clients see read-only views, not the registry itself.
+ */
+public interface PayrollMetricsMXBean {
+    /**
+     * @return Current value of every counter, by name
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * @return Current value of every gauge, by name
+     */
+    Map<String, Double> getGauges();
+
+    /**
+     * @return Number of samples recorded by every latency histogram, by name
+     */
+    Map<String, Long> getLatencyCounts();
+
+    /**
+     * @return Estimated 99th percentile of every latency histogram in microseconds, by name
+     */
+    Map<String, Double> getLatencyP99Micros();
+
+    /**
+     * @return All metrics as the text printed by the periodic dump
+     */
+    String getReport();
+
+    /**
+     * Resets every counter and histogram. Gauges read live values and are not affected.
+     */
+    void reset();
+}
@@ -0,0 +1,168 @@
+package utils;
+
+import model.Employee;
+import model.PayrollResult;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Writes a payroll register - one row per employee and pay period - as CSV or JSON Lines.
+ * This class demonstrates:
+ * - Single Responsibility Principle: Only formats rows; computing payroll is done elsewhere
+ * - Streaming: Each row is written as soon as it is given, so registers of any size use constant memory
+ * - Resource Management: Implements Closeable for use in try-with-resources
+ *
+ * Every row carries the employee, the period, hours worked, gross salary, each deduction, the
+ * net salary before allowances, total allowances and the final net salary - the amount paid,
+ * as on the payslip. Amounts are rounded to centavos, as on the payslip.
+ */
+public class PayrollRegisterWriter implements Closeable, Flushable {
+    /**
+     * Output format of the register.
+     */
+    public enum Format {
+        /** Comma-separated values with a header row. */
+        CSV,
+        /** One JSON object per line. */
+        JSONL;
+
+        /**
+         * @param name "csv" or "jsonl" (case-insensitive; "json" is accepted for JSONL)
+         * @return The matching format
+         * @throws IllegalArgumentException If the name is not a known format
+         */
+        public static Format parse(String name) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "csv": return CSV;
+                case "json":
+                case "jsonl": return JSONL;
+                default: throw new IllegalArgumentException("Unknown format: " + name + " (expected csv or jsonl)");
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "Employee #,Last Name,First Name,Period,Period Start,Period End,"
+        + "Hours Worked,Gross Salary,SSS,PhilHealth,Pag-IBIG,Withholding Tax,Total Deductions,"
+        + "Net Salary Before Allowances,Total Allowances,Final Net Salary";
+
+    private final Writer out;
+    private final Format format;
+    private final StringBuilder row = new StringBuilder(256);
+    private long rowsWritten;
+
+    /**
+     * Creates a register writer; the CSV header is written immediately.
+     *
+     * @param out Destination; should be buffered
+     * @param format Output format
+     * @throws IOException If the header cannot be written
+     */
+    public PayrollRegisterWriter(Writer out, Format format) throws IOException {
+        this.out = out;
+        this.format = format;
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Writes one register row.
+     *
+     * @param result The payroll result to write
+     * @throws IOException If the row cannot be written
+     */
+    public void write(PayrollResult result) throws IOException {
+        row.setLength(0);
+        if (format == Format.CSV) {
+            appendCsv(row, result);
+        } else {
+            appendJson(row, result);
+        }
+        row.append('\n');
+        out.append(row);
+        rowsWritten++;
+    }
+
+    /**
+     * @return Number of rows written so far, not counting the CSV header
+     */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Appends a payroll result as a JSON object, using the same fields as a register row.
+     *
+     * @param json Where to append the object
+     * @param result The payroll result
+     */
+    public static void appendJson(StringBuilder json, PayrollResult result) {
+        Employee employee = result.getEmployee();
+        json.append("{\"employeeNumber\":").append(JsonText.quote(employee.getEmployeeNumber()))
+            .append(",\"lastName\":").append(JsonText.quote(employee.getLastName()))
+            .append(",\"firstName\":").append(JsonText.quote(employee.getFirstName()))
+            .append(",\"period\":").append(JsonText.quote(result.getPeriod().getLabel()))
+            .append(",\"start\":\"").append(result.getPeriod().getStart()).append('"')
+            .append(",\"end\":\"").append(result.getPeriod().getEnd()).append('"')
+            .append(",\"hoursWorked\":").append(result.getHoursWorked())
+            .append(",\"grossSalary\":").append(amount(result.getGrossSalary()))
+            .append(",\"sss\":").append(amount(result.getSss()))
+            .append(",\"philHealth\":").append(amount(result.getPhilHealth()))
+            .append(",\"pagIbig\":").append(amount(result.getPagIbig()))
+            .append(",\"withholdingTax\":").append(amount(result.getWithholdingTax()))
+            .append(",\"totalDeductions\":").append(amount(result.getTotalDeductions()))
+            .append(",\"netSalaryBeforeAllowances\":").append(amount(result.getNetSalary()))
+            .append(",\"totalAllowances\":").append(amount(result.getTotalAllowances()))
+            .append(",\"finalNetSalary\":").append(amount(result.getFinalNetSalary()))
+            .append('}');
+    }
+
+    private static void appendCsv(StringBuilder csv, PayrollResult result) {
+        Employee employee = result.getEmployee();
+        csv.append(csvField(employee.getEmployeeNumber())).append(',')
+           .append(csvField(employee.getLastName())).append(',')
+           .append(csvField(employee.getFirstName())).append(',')
+           .append(csvField(result.getPeriod().getLabel())).append(',')
+           .append(result.getPeriod().getStart()).append(',')
+           .append(result.getPeriod().getEnd()).append(',')
+           .append(result.getHoursWorked()).append(',')
+           .append(amount(result.getGrossSalary())).append(',')
+           .append(amount(result.getSss())).append(',')
+           .append(amount(result.getPhilHealth())).append(',')
+           .append(amount(result.getPagIbig())).append(',')
+           .append(amount(result.getWithholdingTax())).append(',')
+           .append(amount(result.getTotalDeductions())).append(',')
+           .append(amount(result.getNetSalary())).append(',')
+           .append(amount(result.getTotalAllowances())).append(',')
+           .append(amount(result.getFinalNetSalary()));
+    }
+
+    /**
+     * Quotes a CSV field when it contains a separator, quote or line break.
+     */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String amount(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
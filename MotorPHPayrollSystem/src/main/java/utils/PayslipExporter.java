@@ -0,0 +1,257 @@
+package utils;
+
+import model.PayrollResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports payslips for a whole payroll run to files.
+ * This class demonstrates:
+ * - Producer-Consumer Pattern: The caller renders payslips while a background thread writes them
+ * - Separation of Concerns: Formatting stays in PayslipGenerator; this class only moves bytes
+ * - Resource Management: Implements Closeable; file channels are always closed, and errors
+ *   from the writer are rethrown
+ *
+ * Results are written as they are given, so a run of any size can be streamed through an
+ * exporter. Rendered payslips are batched into chunks of about 64 KB and handed to the writer
+ * thread through a small bounded queue, so rendering and disk I/O overlap without unbounded
+ * memory use. Nothing is forced to disk while writing: close() syncs the batch once - the
+ * combined file, or the target directory after every per-employee file is written.
+ */
+public class PayslipExporter implements Closeable {
+    /**
+     * How payslips are laid out on disk.
+     */
+    public enum Mode {
+        /** One file per employee (payslip_EMPLOYEENUMBER.txt) inside the target directory. */
+        PER_EMPLOYEE,
+        /** All payslips in a single file at the target path. */
+        COMBINED
+    }
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int QUEUE_CAPACITY = 16;
+
+    // Marks the end of the run in the queue
+    private static final Chunk END = new Chunk(null, null);
+
+    private final Path target;
+    private final Mode mode;
+    private final BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Writer writer;
+    private final Thread writerThread;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(CHUNK_SIZE + 4096);
+    private final PrintStream out = new PrintStream(buffer, false, StandardCharsets.UTF_8);
+    private String currentFile;
+    private int payslipsWritten;
+    private boolean closed;
+
+    private PayslipExporter(Path target, Mode mode) {
+        this.target = target;
+        this.mode = mode;
+        this.writer = new Writer(queue, target, mode);
+        this.writerThread = new Thread(writer, "payslip-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Starts an export. Results of one employee are expected to be adjacent, as
+     * PayrollSystem.streamPayroll and processAllPayroll give them.
+     *
+     * @param target Output directory (PER_EMPLOYEE) or output file (COMBINED)
+     * @param mode The output layout
+     * @return An exporter to write results to and close
+     * @throws IOException If the target directory cannot be created
+     */
+    public static PayslipExporter open(Path target, Mode mode) throws IOException {
+        if (mode == Mode.PER_EMPLOYEE) {
+            Files.createDirectories(target);
+        } else if (target.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+        }
+        return new PayslipExporter(target, mode);
+    }
+
+    /**
+     * Renders one payslip and queues it for writing.
+     *
+     * @param result The payroll result to export
+     * @throws IOException If the writer has failed or the export was interrupted
+     */
+    public void write(PayrollResult result) throws IOException {
+        String file = mode == Mode.PER_EMPLOYEE
+            ? "payslip_" + result.getEmployee().getEmployeeNumber() + ".txt"
+            : target.getFileName().toString();
+
+        // Hand over the buffer when it is full or the next payslip goes to another file
+        if (buffer.size() >= CHUNK_SIZE || (currentFile != null && !currentFile.equals(file))) {
+            handOver();
+        }
+        currentFile = file;
+
+        out.println("========================= PAYSLIP FOR " + result.getPeriod() + " =========================");
+        PayslipGenerator.generatePayslip(out, result);
+        out.println();
+        payslipsWritten++;
+    }
+
+    /**
+     * @return Number of payslips written so far
+     */
+    public int getPayslipsWritten() {
+        return payslipsWritten;
+    }
+
+    /**
+     * Writes what is left, waits for the writer and syncs the batch to disk once.
+     *
+     * @throws IOException If any payslip could not be written or synced
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            handOver();
+            put(END);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writerThread.interrupt();
+            throw new IOException("Interrupted while exporting payslips", e);
+        } catch (IOException e) {
+            writerThread.interrupt();
+            throw e;
+        }
+        if (writer.failure != null) {
+            throw writer.failure;
+        }
+    }
+
+    private void handOver() throws IOException {
+        out.flush();
+        if (buffer.size() > 0) {
+            try {
+                put(new Chunk(currentFile, buffer.toByteArray()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writerThread.interrupt();
+                throw new IOException("Interrupted while exporting payslips", e);
+            }
+            buffer.reset();
+        }
+    }
+
+    /**
+     * Queues a chunk, giving up early if the writer has already failed.
+     */
+    private void put(Chunk chunk) throws IOException, InterruptedException {
+        while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (writer.failure != null) {
+                throw writer.failure;
+            }
+        }
+    }
+
+    /**
+     * Rendered bytes destined for one file.
+     */
+    private static final class Chunk {
+        private final String file;
+        private final byte[] bytes;
+
+        Chunk(String file, byte[] bytes) {
+            this.file = file;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Background writer: drains the queue into file channels, then forces the batch once.
+     */
+    private static final class Writer implements Runnable {
+        private final BlockingQueue<Chunk> queue;
+        private final Path target;
+        private final Mode mode;
+        private volatile IOException failure;
+
+        Writer(BlockingQueue<Chunk> queue, Path target, Mode mode) {
+            this.queue = queue;
+            this.target = target;
+            this.mode = mode;
+        }
+
+        @Override
+        public void run() {
+            FileChannel channel = null;
+            String openFile = null;
+            try {
+                for (Chunk chunk = queue.take(); chunk != END; chunk = queue.take()) {
+                    if (!chunk.file.equals(openFile)) {
+                        if (channel != null) {
+                            channel.close();
+                        }
+                        Path path = mode == Mode.PER_EMPLOYEE ? target.resolve(chunk.file) : target;
+                        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                                   StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                        openFile = chunk.file;
+                    }
+                    ByteBuffer bytes = ByteBuffer.wrap(chunk.bytes);
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                }
+                // One sync for the whole batch rather than one per file
+                if (mode == Mode.COMBINED && channel != null) {
+                    channel.force(false);
+                } else if (mode == Mode.PER_EMPLOYEE) {
+                    syncDirectory(target);
+                }
+            } catch (IOException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                failure = new IOException("Payslip writer interrupted", e);
+            } finally {
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                        // The original failure is more useful than a close failure
+                    }
+                }
+            }
+        }
+
+        /**
+         * Forces a directory once, so the entries of the files created in it are durable;
+         * file contents are left to the operating system's write-back. Platforms that cannot
+         * open a directory for syncing skip it.
+         */
+        private static void syncDirectory(Path directory) throws IOException {
+            FileChannel channel;
+            try {
+                channel = FileChannel.open(directory, StandardOpenOption.READ);
+            } catch (IOException e) {
+                return;
+            }
+            try (channel) {
+                channel.force(true);
+            }
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package utils;
 
 import model.Employee;
+import model.PayPeriod;
+import model.PayrollResult;
+
+import utils.PayslipTemplate.Field;
+
+import java.io.PrintStream;
 
 /**
  * Utility class for generating and displaying employee payslips.
@@ -8,8 +14,95 @@ import model.Employee;
  * - Utility Class Pattern: Contains only static methods with no instance state
  * - Separation of Concerns: Handles only the presentation of payroll data
  * - Single Responsibility Principle: Focused solely on payslip generation
+ *
+ * The layout is a PayslipTemplate compiled once when the class loads, so rendering a payslip
+ * only copies literals and writes numbers; no format string is parsed per line.
  */
 public class PayslipGenerator {
+    // Counts every payslip rendered, whichever overload was used
+    private static final PayrollMetrics.Counter PAYSLIPS_RENDERED = PayrollMetrics.global().counter("payslips.rendered");
+
+    private static final String RULE = "-------------------------------------------\n";
+    private static final String DOUBLE_RULE = "===========================================\n";
+
+    // Payslip layout, compiled once; the labels are padded here instead of on every payslip
+    private static final PayslipTemplate TEXT = PayslipTemplate.compile(
+        "\n" + DOUBLE_RULE
+        + "                 PAYSLIP                \n"
+        + DOUBLE_RULE
+        + " Employee: {name:22} ID: {employeeNumber}\n"
+        + " Birthdate: {birthDate:30}\n"
+        + " Address: {address:40}\n"
+        + " Phone No.: {phoneNumber:30}\n"
+        + " TIN No.: {tinNumber:30}\n"
+        + " SSS No.: {sssNumber:30}\n"
+        + " PhilHealth No.: {philHealthNumber:30}\n"
+        + " Pag-IBIG No.: {pagIbigNumber:30}\n"
+        + " Status: {status:30}\n"
+        + " Position: {position:30}\n"
+        + " Supervisor: {supervisor:30}\n"
+        + RULE
+        + " " + label("Basic Salary:", 30) + " PHP {basicSalary:12}\n"
+        + " " + label("Hourly Rate:", 30) + " PHP {hourlyRate:12}\n"
+        + " " + label("Hours Worked:", 30) + " {hoursWorked:10}\n"
+        + " " + label("Gross Salary:", 30) + " PHP {grossSalary:12}\n"
+        + RULE
+        + " ✅ Allowances:\n"
+        + " - " + label("Rice Subsidy:", 27) + " PHP {riceSubsidy:12}\n"
+        + " - " + label("Phone Allowance:", 27) + " PHP {phoneAllowance:12}\n"
+        + " - " + label("Clothing Allowance:", 27) + " PHP {clothingAllowance:12}\n"
+        + " " + label("Total Allowances:", 30) + " PHP {totalAllowances:12}\n"
+        + RULE
+        + " ✅ Deductions:\n"
+        + " - " + label("Pag-IBIG:", 27) + " PHP {pagIbig:12}\n"
+        + " - " + label("PhilHealth:", 27) + " PHP {philHealth:12}\n"
+        + " - " + label("SSS:", 27) + " PHP {sss:12}\n"
+        + " - " + label("Withholding Tax:", 27) + " PHP {withholdingTax:12}\n"
+        + " - " + label("Total Deductions:", 27) + " PHP {totalDeductions:12}\n"
+        + RULE
+        + " ✅ " + label("Final Net Salary:", 30) + " PHP {netPay:12}\n"
+        + DOUBLE_RULE,
+        PayslipTemplate.Escaping.NONE);
+
+    // The same fields as an HTML table, e.g. for the HTTP server
+    private static final PayslipTemplate HTML = PayslipTemplate.compile(
+        "<table class=\"payslip\">\n"
+        + "<tr><th colspan=\"2\">PAYSLIP</th></tr>\n"
+        + "<tr><td>Employee</td><td>{name} (ID: {employeeNumber})</td></tr>\n"
+        + "<tr><td>Birthdate</td><td>{birthDate}</td></tr>\n"
+        + "<tr><td>Address</td><td>{address}</td></tr>\n"
+        + "<tr><td>Phone No.</td><td>{phoneNumber}</td></tr>\n"
+        + "<tr><td>TIN No.</td><td>{tinNumber}</td></tr>\n"
+        + "<tr><td>SSS No.</td><td>{sssNumber}</td></tr>\n"
+        + "<tr><td>PhilHealth No.</td><td>{philHealthNumber}</td></tr>\n"
+        + "<tr><td>Pag-IBIG No.</td><td>{pagIbigNumber}</td></tr>\n"
+        + "<tr><td>Status</td><td>{status}</td></tr>\n"
+        + "<tr><td>Position</td><td>{position}</td></tr>\n"
+        + "<tr><td>Supervisor</td><td>{supervisor}</td></tr>\n"
+        + "<tr><td>Basic Salary</td><td>PHP {basicSalary}</td></tr>\n"
+        + "<tr><td>Hourly Rate</td><td>PHP {hourlyRate}</td></tr>\n"
+        + "<tr><td>Hours Worked</td><td>{hoursWorked}</td></tr>\n"
+        + "<tr><td>Gross Salary</td><td>PHP {grossSalary}</td></tr>\n"
+        + "<tr><th colspan=\"2\">Allowances</th></tr>\n"
+        + "<tr><td>Rice Subsidy</td><td>PHP {riceSubsidy}</td></tr>\n"
+        + "<tr><td>Phone Allowance</td><td>PHP {phoneAllowance}</td></tr>\n"
+        + "<tr><td>Clothing Allowance</td><td>PHP {clothingAllowance}</td></tr>\n"
+        + "<tr><td>Total Allowances</td><td>PHP {totalAllowances}</td></tr>\n"
+        + "<tr><th colspan=\"2\">Deductions</th></tr>\n"
+        + "<tr><td>Pag-IBIG</td><td>PHP {pagIbig}</td></tr>\n"
+        + "<tr><td>PhilHealth</td><td>PHP {philHealth}</td></tr>\n"
+        + "<tr><td>SSS</td><td>PHP {sss}</td></tr>\n"
+        + "<tr><td>Withholding Tax</td><td>PHP {withholdingTax}</td></tr>\n"
+        + "<tr><td>Total Deductions</td><td>PHP {totalDeductions}</td></tr>\n"
+        + "<tr><th>Final Net Salary</th><th>PHP {netPay}</th></tr>\n"
+        + "</table>\n",
+        PayslipTemplate.Escaping.HTML);
+
+    // Reused per thread so rendering a payslip allocates only the finished text
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+    private static final ThreadLocal<PayslipTemplate.Values> VALUES =
+        ThreadLocal.withInitial(PayslipTemplate.Values::new);
+
     /**
      * Generates and displays the payslip for an employee.
      * Demonstrates clean presentation logic separate from business logic.
@@ -27,46 +120,136 @@ public class PayslipGenerator {
     public static void generatePayslip(Employee employee, double hoursWorked, double grossSalary, 
                                        double totalDeductions, double sss, double philHealth, 
                                        double pagIbig, double withholdingTax, double netSalary) {
+        generatePayslip(System.out, employee, hoursWorked, grossSalary, totalDeductions,
+                        sss, philHealth, pagIbig, withholdingTax, netSalary);
+    }
+
+    /**
+     * Generates the payslip for a computed payroll result and writes it to the given stream.
+     * 
+     * @param out The stream the payslip is written to.
+     * @param result The computed payroll result.
+     */
+    public static void generatePayslip(PrintStream out, PayrollResult result) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        renderPayslip(TEXT, buffer, result);
+        out.append(buffer);
+    }
 
-        // Calculate total allowances and final net salary
-        double totalAllowances = employee.getRiceSubsidy() + employee.getPhoneAllowance() + employee.getClothingAllowance();
-        double finalNetSalary = netSalary + totalAllowances;
-
-        // Format and display the payslip in a structured manner
-        System.out.println("\n===========================================");
-        System.out.println("                 PAYSLIP                ");
-        System.out.println("===========================================");
-        System.out.printf(" Employee: %-22s ID: %s%n", employee.getFullName(), employee.getEmployeeNumber());
-        System.out.printf(" Birthdate: %-30s%n", employee.getBirthDate());
-        System.out.printf(" Address: %-40s%n", employee.getAddress());
-        System.out.printf(" Phone No.: %-30s%n", employee.getContactNumber());
-        System.out.printf(" TIN No.: %-30s%n", employee.getTinNumber());
-        System.out.printf(" SSS No.: %-30s%n", employee.getSssNumber());
-        System.out.printf(" PhilHealth No.: %-30s%n", employee.getPhilHealthNumber());
-        System.out.printf(" Pag-IBIG No.: %-30s%n", employee.getPagIbigNumber());
-        System.out.printf(" Status: %-30s%n", employee.getEmploymentStatus());
-        System.out.printf(" Position: %-30s%n", employee.getPosition());
-        System.out.printf(" Supervisor: %-30s%n", employee.getSupervisor());
-        System.out.println("-------------------------------------------");
-        System.out.printf(" %-30s PHP %12.2f%n", "Basic Salary:", employee.getBasicSalary());
-        System.out.printf(" %-30s PHP %12.2f%n", "Hourly Rate:", (employee.getBasicSalary() / 168));  
-        System.out.printf(" %-30s %10.2f%n", "Hours Worked:", hoursWorked);
-        System.out.printf(" %-30s PHP %12.2f%n", "Gross Salary:", grossSalary);
-        System.out.println("-------------------------------------------");
-        System.out.println(" ✅ Allowances:");
-        System.out.printf(" - %-27s PHP %12.2f%n", "Rice Subsidy:", employee.getRiceSubsidy());
-        System.out.printf(" - %-27s PHP %12.2f%n", "Phone Allowance:", employee.getPhoneAllowance());
-        System.out.printf(" - %-27s PHP %12.2f%n", "Clothing Allowance:", employee.getClothingAllowance());
-        System.out.printf(" %-30s PHP %12.2f%n", "Total Allowances:", totalAllowances);
-        System.out.println("-------------------------------------------");
-        System.out.println(" ✅ Deductions:");
-        System.out.printf(" - %-27s PHP %12.2f%n", "Pag-IBIG:", pagIbig);
-        System.out.printf(" - %-27s PHP %12.2f%n", "PhilHealth:", philHealth);
-        System.out.printf(" - %-27s PHP %12.2f%n", "SSS:", sss);
-        System.out.printf(" - %-27s PHP %12.2f%n", "Withholding Tax:", withholdingTax);
-        System.out.printf(" - %-27s PHP %12.2f%n", "Total Deductions:", totalDeductions);
-        System.out.println("-------------------------------------------");
-        System.out.printf(" ✅ %-30s PHP %12.2f%n", "Final Net Salary:", finalNetSalary);
-        System.out.println("===========================================");
+    /**
+     * Generates the payslip for an employee and writes it to the given stream.
+     * 
+     * @param out The stream the payslip is written to.
+     * @param employee The employee for whom the payslip is generated.
+     * @param hoursWorked The number of hours worked by the employee.
+     * @param grossSalary The computed gross salary.
+     * @param totalDeductions The total deductions applied.
+     * @param sss The SSS contribution.
+     * @param philHealth The PhilHealth contribution.
+     * @param pagIbig The Pag-IBIG contribution.
+     * @param withholdingTax The withholding tax deduction.
+     * @param netSalary The final computed net salary.
+     */
+    public static void generatePayslip(PrintStream out, Employee employee, double hoursWorked, double grossSalary,
+                                       double totalDeductions, double sss, double philHealth,
+                                       double pagIbig, double withholdingTax, double netSalary) {
+        // Calculate total allowances and final net salary - a whole month's allowances
+        long totalAllowances = employee.getTotalAllowancesCentavos();
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        renderPayslip(TEXT, buffer, employee, hoursWorked, grossSalary, totalDeductions, sss, philHealth, pagIbig,
+                      withholdingTax, employee.getRiceSubsidy(), employee.getPhoneAllowance(),
+                      employee.getClothingAllowance(), Money.toPesos(totalAllowances),
+                      Money.toPesos(Money.ofPesos(netSalary) + totalAllowances));
+        out.append(buffer);
+    }
+
+    /**
+     * Renders the payslip for a computed payroll result to text, exactly as
+     * generatePayslip(PrintStream, PayrollResult) prints it.
+     * 
+     * @param result The computed payroll result.
+     * @return The payslip text.
+     */
+    public static String renderPayslip(PayrollResult result) {
+        return render(TEXT, result);
+    }
+
+    /**
+     * Renders the payslip for a computed payroll result as an HTML fragment with the same
+     * fields as the text payslip.
+     * 
+     * @param result The computed payroll result.
+     * @return The payslip as an HTML table.
+     */
+    public static String renderPayslipHtml(PayrollResult result) {
+        return render(HTML, result);
+    }
+
+    private static String render(PayslipTemplate template, PayrollResult result) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        renderPayslip(template, buffer, result);
+        return buffer.toString();
+    }
+
+    private static void renderPayslip(PayslipTemplate template, StringBuilder buffer, PayrollResult result) {
+        // Allowances are the result's, prorated to its period like its total; the final net
+        // salary adds them in centavos, so it is exact
+        Employee employee = result.getEmployee();
+        PayPeriod period = result.getPeriod();
+        renderPayslip(template, buffer, employee, result.getHoursWorked(), result.getGrossSalary(),
+                      result.getTotalDeductions(), result.getSss(), result.getPhilHealth(), result.getPagIbig(),
+                      result.getWithholdingTax(),
+                      Money.toPesos(period.prorate(Money.ofPesos(employee.getRiceSubsidy()))),
+                      Money.toPesos(period.prorate(Money.ofPesos(employee.getPhoneAllowance()))),
+                      Money.toPesos(period.prorate(Money.ofPesos(employee.getClothingAllowance()))),
+                      result.getTotalAllowances(), result.getFinalNetSalary());
+    }
+
+    private static void renderPayslip(PayslipTemplate template, StringBuilder buffer, Employee employee,
+                                      double hoursWorked, double grossSalary, double totalDeductions, double sss,
+                                      double philHealth, double pagIbig, double withholdingTax,
+                                      double riceSubsidy, double phoneAllowance, double clothingAllowance,
+                                      double totalAllowances, double finalNetSalary) {
+        PAYSLIPS_RENDERED.increment();
+
+        // Fill the shared field model; the compiled layout decides where each value goes
+        PayslipTemplate.Values values = VALUES.get()
+            .set(Field.EMPLOYEE_NAME, employee.getFullName())
+            .set(Field.EMPLOYEE_NUMBER, employee.getEmployeeNumber())
+            .set(Field.BIRTH_DATE, employee.getBirthDate())
+            .set(Field.ADDRESS, employee.getAddress())
+            .set(Field.PHONE_NUMBER, employee.getContactNumber())
+            .set(Field.TIN_NUMBER, employee.getTinNumber())
+            .set(Field.SSS_NUMBER, employee.getSssNumber())
+            .set(Field.PHILHEALTH_NUMBER, employee.getPhilHealthNumber())
+            .set(Field.PAGIBIG_NUMBER, employee.getPagIbigNumber())
+            .set(Field.EMPLOYMENT_STATUS, employee.getEmploymentStatus())
+            .set(Field.POSITION, employee.getPosition())
+            .set(Field.SUPERVISOR, employee.getSupervisor())
+            .set(Field.BASIC_SALARY, employee.getBasicSalary())
+            .set(Field.HOURLY_RATE, employee.getBasicSalary() / 168)
+            .set(Field.HOURS_WORKED, hoursWorked)
+            .set(Field.GROSS_SALARY, grossSalary)
+            .set(Field.RICE_SUBSIDY, riceSubsidy)
+            .set(Field.PHONE_ALLOWANCE, phoneAllowance)
+            .set(Field.CLOTHING_ALLOWANCE, clothingAllowance)
+            .set(Field.TOTAL_ALLOWANCES, totalAllowances)
+            .set(Field.PAGIBIG, pagIbig)
+            .set(Field.PHILHEALTH, philHealth)
+            .set(Field.SSS, sss)
+            .set(Field.WITHHOLDING_TAX, withholdingTax)
+            .set(Field.TOTAL_DEDUCTIONS, totalDeductions)
+            .set(Field.NET_PAY, finalNetSalary);
+        template.render(values, buffer);
+    }
+
+    /**
+     * Pads a label to the width of the label column, as %-30s did.
+     */
+    private static String label(String text, int width) {
+        return String.format("%-" + width + "s", text);
     }
 }
\ No newline at end of file
@@ -0,0 +1,327 @@
+package utils;
+
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A payslip layout compiled once into literal segments and typed field writers.
+ * This class demonstrates:
+ * - Interpreter Pattern: The layout is parsed once into a list of segments, and rendering
+ *   just runs through that list
+ * - Immutability: A compiled template can be shared by any number of threads
+ * - Separation of Concerns: The layout (text or HTML) is data; the fields it shows are one
+ *   shared model (Field and Values)
+ *
+ * Placeholders are written {field} or {field:width}: text fields are left-aligned and padded
+ * to the width, like %-Ns; amounts are right-aligned with two decimals, like %N.2f. "{{"
+ * stands for a literal brace, and each "\n" becomes the platform line separator, as with %n.
+ *
+ * Amounts are written digit by digit into the caller's StringBuilder instead of going through
+ * Formatter, so nothing is parsed or boxed per payslip. The digits are the ones %.2f prints
+ * in the default locale.
+ */
+public final class PayslipTemplate {
+    /**
+     * A value a payslip shows. Text fields hold strings; the others hold amounts.
+     */
+    public enum Field {
+        EMPLOYEE_NAME("name", true),
+        EMPLOYEE_NUMBER("employeeNumber", true),
+        BIRTH_DATE("birthDate", true),
+        ADDRESS("address", true),
+        PHONE_NUMBER("phoneNumber", true),
+        TIN_NUMBER("tinNumber", true),
+        SSS_NUMBER("sssNumber", true),
+        PHILHEALTH_NUMBER("philHealthNumber", true),
+        PAGIBIG_NUMBER("pagIbigNumber", true),
+        EMPLOYMENT_STATUS("status", true),
+        POSITION("position", true),
+        SUPERVISOR("supervisor", true),
+        BASIC_SALARY("basicSalary", false),
+        HOURLY_RATE("hourlyRate", false),
+        HOURS_WORKED("hoursWorked", false),
+        GROSS_SALARY("grossSalary", false),
+        RICE_SUBSIDY("riceSubsidy", false),
+        PHONE_ALLOWANCE("phoneAllowance", false),
+        CLOTHING_ALLOWANCE("clothingAllowance", false),
+        TOTAL_ALLOWANCES("totalAllowances", false),
+        PAGIBIG("pagIbig", false),
+        PHILHEALTH("philHealth", false),
+        SSS("sss", false),
+        WITHHOLDING_TAX("withholdingTax", false),
+        TOTAL_DEDUCTIONS("totalDeductions", false),
+        NET_PAY("netPay", false);
+
+        private final String placeholder;
+        private final boolean text;
+
+        Field(String placeholder, boolean text) {
+            this.placeholder = placeholder;
+            this.text = text;
+        }
+
+        /**
+         * @return The name used for this field in templates
+         */
+        public String getPlaceholder() {
+            return placeholder;
+        }
+
+        static Field byPlaceholder(String name) {
+            for (Field field : values()) {
+                if (field.placeholder.equals(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown payslip field: {" + name + "}");
+        }
+    }
+
+    /**
+     * How text fields are escaped when written.
+     */
+    public enum Escaping {
+        /** Written as is. */
+        NONE,
+        /** &amp;, &lt;, &gt; and quotes become HTML entities. */
+        HTML
+    }
+
+    /**
+     * The field values of one payslip. Meant to be refilled and reused, e.g. one per thread.
+     */
+    public static final class Values {
+        private final String[] text = new String[Field.values().length];
+        private final double[] amounts = new double[Field.values().length];
+
+        /**
+         * @param field A text field
+         * @param value Its value
+         * @return These values
+         */
+        public Values set(Field field, String value) {
+            text[field.ordinal()] = value;
+            return this;
+        }
+
+        /**
+         * @param field An amount field
+         * @param value Its value
+         * @return These values
+         */
+        public Values set(Field field, double value) {
+            amounts[field.ordinal()] = value;
+            return this;
+        }
+    }
+
+    // Segment kinds: a literal, a padded text field, a right-aligned amount
+    private static final int LITERAL = 0;
+    private static final int TEXT = 1;
+    private static final int AMOUNT = 2;
+
+    private final int[] kinds;
+    private final String[] literals;   // segment -> literal text, for LITERAL segments
+    private final int[] fields;        // segment -> Field ordinal
+    private final int[] widths;        // segment -> minimum width, 0 for none
+    private final Escaping escaping;
+
+    // Digits as %.2f prints them in the default locale
+    private static final DecimalFormatSymbols SYMBOLS =
+        DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+    private static final char ZERO = SYMBOLS.getZeroDigit();
+    private static final char DECIMAL_SEPARATOR = SYMBOLS.getDecimalSeparator();
+
+    private PayslipTemplate(int[] kinds, String[] literals, int[] fields, int[] widths, Escaping escaping) {
+        this.kinds = kinds;
+        this.literals = literals;
+        this.fields = fields;
+        this.widths = widths;
+        this.escaping = escaping;
+    }
+
+    /**
+     * Parses a layout into a template.
+     *
+     * @param source The layout, with {field} and {field:width} placeholders
+     * @param escaping How text fields are escaped
+     * @return The compiled template
+     * @throws IllegalArgumentException If a placeholder is unknown or malformed
+     */
+    public static PayslipTemplate compile(String source, Escaping escaping) {
+        List<Integer> kinds = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        List<Integer> fields = new ArrayList<>();
+        List<Integer> widths = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '{' && i + 1 < source.length() && source.charAt(i + 1) == '{') {
+                literal.append('{');
+                i += 2;
+            } else if (c == '{') {
+                int close = source.indexOf('}', i);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed placeholder at " + i);
+                }
+                String placeholder = source.substring(i + 1, close);
+                int colon = placeholder.indexOf(':');
+                Field field = Field.byPlaceholder(colon < 0 ? placeholder : placeholder.substring(0, colon));
+                int width = 0;
+                if (colon >= 0) {
+                    try {
+                        width = Integer.parseInt(placeholder.substring(colon + 1));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid width in {" + placeholder + "}");
+                    }
+                }
+                if (literal.length() > 0) {
+                    kinds.add(LITERAL);
+                    literals.add(literal.toString());
+                    fields.add(-1);
+                    widths.add(0);
+                    literal.setLength(0);
+                }
+                kinds.add(field.text ? TEXT : AMOUNT);
+                literals.add(null);
+                fields.add(field.ordinal());
+                widths.add(width);
+                i = close + 1;
+            } else if (c == '\n') {
+                literal.append(System.lineSeparator());
+                i++;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        if (literal.length() > 0) {
+            kinds.add(LITERAL);
+            literals.add(literal.toString());
+            fields.add(-1);
+            widths.add(0);
+        }
+        return new PayslipTemplate(kinds.stream().mapToInt(Integer::intValue).toArray(),
+                                   literals.toArray(new String[0]),
+                                   fields.stream().mapToInt(Integer::intValue).toArray(),
+                                   widths.stream().mapToInt(Integer::intValue).toArray(), escaping);
+    }
+
+    /**
+     * Appends the rendered payslip.
+     *
+     * @param values The field values
+     * @param out Where the payslip is appended
+     */
+    public void render(Values values, StringBuilder out) {
+        for (int segment = 0; segment < kinds.length; segment++) {
+            switch (kinds[segment]) {
+                case LITERAL:
+                    out.append(literals[segment]);
+                    break;
+                case TEXT:
+                    appendText(out, values.text[fields[segment]], widths[segment]);
+                    break;
+                default:
+                    appendAmount(out, values.amounts[fields[segment]], widths[segment]);
+            }
+        }
+    }
+
+    private void appendText(StringBuilder out, String value, int width) {
+        int start = out.length();
+        if (escaping == Escaping.HTML) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '&': out.append("&amp;"); break;
+                    case '<': out.append("&lt;"); break;
+                    case '>': out.append("&gt;"); break;
+                    case '"': out.append("&quot;"); break;
+                    case '\'': out.append("&#39;"); break;
+                    default: out.append(c);
+                }
+            }
+        } else {
+            out.append(value);
+        }
+        for (int padding = width - (out.length() - start); padding > 0; padding--) {
+            out.append(' ');
+        }
+    }
+
+    /**
+     * Appends a number with two decimals, right-aligned to a width, exactly as String.format
+     * with %width.2f would, but without allocating in all but rare halfway cases.
+     *
+     * @param out Where the number is appended
+     * @param value The number
+     * @param width Minimum width, 0 for none
+     */
+    public static void appendAmount(StringBuilder out, double value, int width) {
+        long magnitude = roundToHundredths(value);
+        if (magnitude < 0) {
+            // Halfway between two hundredths, or too large: let Formatter decide
+            String formatted = String.format("%.2f", value);
+            for (int padding = width - formatted.length(); padding > 0; padding--) {
+                out.append(' ');
+            }
+            out.append(formatted);
+            return;
+        }
+        // Formatter prints a minus for every negative value, -0.0 and those rounding to 0.00 included
+        boolean negative = Double.compare(value, 0.0) < 0;
+        int digits = 3; // at least "0.00"
+        for (long rest = magnitude / 1000; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int length = digits + 1 + (negative ? 1 : 0);
+        for (int padding = width - length; padding > 0; padding--) {
+            out.append(' ');
+        }
+        if (negative) {
+            out.append('-');
+        }
+        int start = out.length();
+        out.setLength(start + digits + 1);
+        // Fill from the right: two decimals, the separator, then the integer digits
+        int at = start + digits;
+        for (int written = 0; written < digits; written++) {
+            if (written == 2) {
+                out.setCharAt(at--, DECIMAL_SEPARATOR);
+            }
+            out.setCharAt(at--, (char) (ZERO + magnitude % 10));
+            magnitude /= 10;
+        }
+    }
+
+    /**
+     * Rounds the magnitude of a value to hundredths the way %.2f does (half up on the shortest
+     * decimal form of the double), or returns -1 when that needs Formatter's full algorithm.
+     */
+    private static long roundToHundredths(double value) {
+        double magnitude = Math.abs(value);
+        if (!(magnitude < 1e12)) {
+            return -1; // also NaN and infinities
+        }
+        // Values with at most four decimals (amounts in centavos, hours in fixed point) have
+        // exactly those digits as their shortest form, so they round exactly on the integer
+        long tenThousandths = Math.round(magnitude * 10_000);
+        long rounded;
+        if (tenThousandths / 10_000.0 == magnitude) {
+            rounded = (tenThousandths + 50) / 100;
+        } else {
+            // Any other value rounds the same as its shortest form unless it is almost a tie
+            double scaled = magnitude * 100;
+            double fraction = scaled - Math.floor(scaled);
+            if (Math.abs(fraction - 0.5) < 1e-6) {
+                return -1;
+            }
+            rounded = (long) Math.floor(scaled + 0.5);
+        }
+        return rounded;
+    }
+}
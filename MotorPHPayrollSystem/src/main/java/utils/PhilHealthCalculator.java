@@ -10,14 +10,26 @@ package utils;
 public class PhilHealthCalculator implements Deductible {
     /**
      * Computes the PhilHealth contribution (3% of salary, with half paid by employee).
-     * This method implements the PhilHealth contribution formula based on current regulations.
+     * This method implements the PhilHealth contribution formula based on current regulations,
+     * i.e. the built-in table (see RateSchedule.builtIn).
      * 
      * @param salary The employee's gross salary.
      * @return The employee's share of the PhilHealth contribution.
      */
     public static double getPhilHealthContribution(double salary) {
-        // Employee pays half of the total 3% contribution
-        return (salary * 0.03) / 2; 
+        return Money.toPesos(getPhilHealthContributionCentavos(Money.ofPesos(salary), RateSchedule.builtIn().latest()));
+    }
+
+    /**
+     * Computes the employee's share of the PhilHealth contribution in centavos under the
+     * PhilHealth table in force in a pay period.
+     * 
+     * @param salary The employee's gross salary in centavos.
+     * @param rates The rates in force in the pay period.
+     * @return The employee's share in centavos, rounded half up.
+     */
+    public static long getPhilHealthContributionCentavos(long salary, StatutoryRates rates) {
+        return rates.philHealthCentavos(salary);
     }
     
     /**
@@ -31,6 +43,18 @@ public class PhilHealthCalculator implements Deductible {
     public double calculateDeduction(double salary) {
         return getPhilHealthContribution(salary);
     }
+
+    /**
+     * Implementation of the Deductible interface method, using the PhilHealth table of the rates.
+     * 
+     * @param salaryCentavos The salary amount in centavos
+     * @param rates The rates in force in the pay period
+     * @return The employee's share in centavos
+     */
+    @Override
+    public long calculateDeductionCentavos(long salaryCentavos, StatutoryRates rates) {
+        return getPhilHealthContributionCentavos(salaryCentavos, rates);
+    }
     
     /**
      * Implementation of the Deductible interface method.
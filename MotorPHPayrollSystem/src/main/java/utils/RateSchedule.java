@@ -0,0 +1,304 @@
+package utils;
+
+import model.PayPeriod;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Effective-dated versions of the statutory rate tables, resolved by pay date.
+ * This class demonstrates:
+ * - Separation of Concerns: Rates are data, read from table files, so a new contribution or
+ *   tax schedule needs no code change
+ * - Immutability: A loaded schedule never changes; loading publishes a new one
+ * - Precomputation: The tables in force from every effective date are combined when the
+ *   schedule is built, so looking up a period's rates is a binary search over a few dates
+ *
+ * A table file holds one version of one table:
+ *
+ *     # comment
+ *     table,sss
+ *     effective,2023-01-01
+ *     bracket,0.00,180.00,0.00,0%
+ *     bracket,4250.00,180.00,4000.00,4.5%
+ *     bracket,24750.00,1125.00,0.00,0%
+ *
+ * Each bracket line gives its lower bound, the amount due at its start, the amount the rate
+ * is applied above (all in pesos) and the rate; an optional "cap,AMOUNT" line limits the
+ * result. A version applies from its effective date until the next version of the same table.
+ * Dates before the first version use the first version, so old periods are never left
+ * without rates.
+ */
+public final class RateSchedule {
+    /**
+     * The statutory tables a schedule holds, with the names used in table files.
+     */
+    public enum Kind {
+        SSS("sss"),
+        PHILHEALTH("philhealth"),
+        PAGIBIG("pagibig"),
+        WITHHOLDING_TAX("withholding-tax"),
+        ANNUAL_TAX("annual-tax");
+
+        private final String fileName;
+
+        Kind(String fileName) {
+            this.fileName = fileName;
+        }
+
+        /**
+         * @return The name used for this table in table files
+         */
+        public String getFileName() {
+            return fileName;
+        }
+
+        static Kind byFileName(String name) {
+            for (Kind kind : values()) {
+                if (kind.fileName.equalsIgnoreCase(name)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    // The schedule used when no table files were loaded
+    private static final RateSchedule BUILT_IN = createBuiltIn();
+
+    private final LocalDate[] effectiveDates;   // ascending
+    private final StatutoryRates[] versions;    // index -> rates in force from effectiveDates[index]
+    private final int tableCount;
+
+    private RateSchedule(Map<Kind, TreeMap<LocalDate, RateTable>> tables) {
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        int count = 0;
+        for (TreeMap<LocalDate, RateTable> versionsOfKind : tables.values()) {
+            dates.addAll(versionsOfKind.keySet());
+            count += versionsOfKind.size();
+        }
+        effectiveDates = dates.toArray(new LocalDate[0]);
+        versions = new StatutoryRates[effectiveDates.length];
+        for (int i = 0; i < effectiveDates.length; i++) {
+            LocalDate date = effectiveDates[i];
+            versions[i] = new StatutoryRates(date, inForce(tables.get(Kind.SSS), date),
+                                             inForce(tables.get(Kind.PHILHEALTH), date),
+                                             inForce(tables.get(Kind.PAGIBIG), date),
+                                             inForce(tables.get(Kind.WITHHOLDING_TAX), date),
+                                             inForce(tables.get(Kind.ANNUAL_TAX), date));
+        }
+        tableCount = count;
+    }
+
+    private static RateTable inForce(TreeMap<LocalDate, RateTable> versionsOfKind, LocalDate date) {
+        Map.Entry<LocalDate, RateTable> entry = versionsOfKind.floorEntry(date);
+        return (entry != null ? entry : versionsOfKind.firstEntry()).getValue();
+    }
+
+    /**
+     * Finds the rates in force on a date, e.g. the last day of a pay period.
+     *
+     * @param date The date
+     * @return The rates in force; the earliest version for dates before it
+     */
+    public StatutoryRates ratesOn(LocalDate date) {
+        int index = Arrays.binarySearch(effectiveDates, date);
+        if (index < 0) {
+            // Insertion point - 1 is the last version starting before the date
+            index = Math.max(-index - 2, 0);
+        }
+        return versions[index];
+    }
+
+    /**
+     * Finds the rates for a pay period: those in force on its last day, scaled to the period's
+     * share of a month. The tables are written for monthly pay, so a semi-monthly period pays
+     * half of each contribution, and the scaled withholding table is the BIR's table for that
+     * period length (the annual table divided by 24 or 52).
+     *
+     * @param period The pay period
+     * @return The rates of the period
+     */
+    public StatutoryRates ratesFor(PayPeriod period) {
+        return ratesOn(period.getEnd()).prorated(period.getMonthShareNumerator(), period.getMonthShareDenominator());
+    }
+
+    /**
+     * @return The rates of the most recent version
+     */
+    public StatutoryRates latest() {
+        return versions[versions.length - 1];
+    }
+
+    /**
+     * @return Dates on which any table changes, ascending
+     */
+    public List<LocalDate> getEffectiveDates() {
+        return Arrays.asList(effectiveDates.clone());
+    }
+
+    /**
+     * @return Number of table versions in the schedule
+     */
+    public int getTableCount() {
+        return tableCount;
+    }
+
+    /**
+     * Reads every *.csv table file in a directory.
+     *
+     * @param directory Directory with one file per table version
+     * @return The schedule
+     * @throws IOException If a file cannot be read, is malformed, or a table has no version
+     */
+    public static RateSchedule load(Path directory) throws IOException {
+        Map<Kind, TreeMap<LocalDate, RateTable>> tables = new EnumMap<>(Kind.class);
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Rate table directory not found: " + directory);
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.csv")) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (Path file : files) {
+            readTable(file, tables);
+        }
+        for (Kind kind : Kind.values()) {
+            if (!tables.containsKey(kind)) {
+                throw new IOException("No " + kind.getFileName() + " table in " + directory);
+            }
+        }
+        return new RateSchedule(tables);
+    }
+
+    private static void readTable(Path file, Map<Kind, TreeMap<LocalDate, RateTable>> tables) throws IOException {
+        Kind kind = null;
+        LocalDate effective = null;
+        RateTable.Builder builder = new RateTable.Builder();
+        boolean hasBracket = false;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                try {
+                    switch (fields[0].trim().toLowerCase()) {
+                        case "table":
+                            requireFields(fields, 2);
+                            kind = Kind.byFileName(fields[1].trim());
+                            if (kind == null) {
+                                throw new IllegalArgumentException("Unknown table " + fields[1].trim());
+                            }
+                            break;
+                        case "effective":
+                            requireFields(fields, 2);
+                            effective = LocalDate.parse(fields[1].trim());
+                            break;
+                        case "bracket":
+                            requireFields(fields, 5);
+                            long[] rate = RateTable.parseRate(fields[4]);
+                            builder.bracket(parseAmount(fields[1]), parseAmount(fields[2]), parseAmount(fields[3]),
+                                            rate[0], rate[1]);
+                            hasBracket = true;
+                            break;
+                        case "cap":
+                            requireFields(fields, 2);
+                            builder.cap(parseAmount(fields[1]));
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown line type " + fields[0].trim());
+                    }
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    throw new IOException(file + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        if (kind == null || effective == null || !hasBracket) {
+            throw new IOException(file + ": needs a table line, an effective line and at least one bracket");
+        }
+        if (tables.computeIfAbsent(kind, key -> new TreeMap<>()).putIfAbsent(effective, builder.build()) != null) {
+            throw new IOException(file + ": a " + kind.getFileName() + " table is already effective " + effective);
+        }
+    }
+
+    private static void requireFields(String[] fields, int count) {
+        if (fields.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " fields, found " + fields.length);
+        }
+    }
+
+    private static long parseAmount(String pesos) {
+        try {
+            return Money.ofPesos(Double.parseDouble(pesos.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount: " + pesos.trim());
+        }
+    }
+
+    /**
+     * The tables the system shipped with: the 2023 SSS, PhilHealth and Pag-IBIG contributions
+     * and the 2018 withholding and annual income tax tables.
+     *
+     * @return The built-in schedule
+     */
+    public static RateSchedule builtIn() {
+        return BUILT_IN;
+    }
+
+    private static RateSchedule createBuiltIn() {
+        Map<Kind, TreeMap<LocalDate, RateTable>> tables = new EnumMap<>(Kind.class);
+        LocalDate contributions = LocalDate.of(2023, 1, 1);
+        LocalDate tax = LocalDate.of(2018, 1, 1);
+        // PHP 22.50 per PHP 500 above PHP 4,000 plus PHP 180, between PHP 180 and PHP 1,125
+        put(tables, Kind.SSS, contributions, new RateTable.Builder()
+            .bracket(0, 18_000, 0, 0, 1)
+            .bracket(425_000, 18_000, 400_000, 9, 200)
+            .bracket(2_475_000, 112_500, 0, 0, 1));
+        // Employee pays half of the total 3%
+        put(tables, Kind.PHILHEALTH, contributions, new RateTable.Builder()
+            .bracket(0, 0, 0, 3, 200));
+        put(tables, Kind.PAGIBIG, contributions, new RateTable.Builder()
+            .bracket(0, 0, 0, 1, 50)
+            .cap(10_000));
+        put(tables, Kind.WITHHOLDING_TAX, tax, new RateTable.Builder()
+            .bracket(0, 0, 0, 0, 1)
+            .bracket(2_083_201, 0, 2_083_300, 1, 5)
+            .bracket(3_333_301, 250_000, 3_333_300, 1, 4)
+            .bracket(6_666_701, 1_083_300, 6_666_700, 3, 10)
+            .bracket(16_666_701, 4_083_333, 16_666_700, 8, 25)
+            .bracket(66_666_701, 20_083_333, 66_666_700, 7, 20));
+        // The monthly table above is this table divided by 12
+        put(tables, Kind.ANNUAL_TAX, tax, new RateTable.Builder()
+            .bracket(0, 0, 0, 0, 1)
+            .bracket(25_000_001, 0, 25_000_000, 1, 5)
+            .bracket(40_000_001, 3_000_000, 40_000_000, 1, 4)
+            .bracket(80_000_001, 13_000_000, 80_000_000, 3, 10)
+            .bracket(200_000_001, 49_000_000, 200_000_000, 8, 25)
+            .bracket(800_000_001, 241_000_000, 800_000_000, 7, 20));
+        return new RateSchedule(tables);
+    }
+
+    private static void put(Map<Kind, TreeMap<LocalDate, RateTable>> tables, Kind kind, LocalDate effective,
+                            RateTable.Builder builder) {
+        tables.computeIfAbsent(kind, key -> new TreeMap<>()).put(effective, builder.build());
+    }
+}
@@ -0,0 +1,250 @@
+package utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One statutory rate table (SSS, PhilHealth, Pag-IBIG or income tax) compiled into flat arrays.
+ * This class demonstrates:
+ * - Data-Oriented Design: Brackets are parallel primitive arrays sorted by lower bound
+ * - Immutability: A compiled table can be shared by any number of threads
+ * - Builder Pattern: Brackets are collected in a Builder and compiled with build()
+ *
+ * Every bracket starts at a lower bound and charges
+ *     base + (amount - offset) × rate
+ * rounded half up to the centavo, optionally limited to a cap. The first bracket also covers
+ * amounts below its bound. Rates are kept as exact fractions (4.5% is 9/200), so a table gives
+ * the same centavos as the formula it was written from; when every rate is a whole number of
+ * basis points, as statutory rates are, they are applied as basis points.
+ *
+ * Small tables choose the bracket by counting the bounds at or below the amount, which compiles
+ * to comparisons without branches; larger tables use a binary search.
+ */
+public final class RateTable {
+    // Up to this many bounds, counting them beats a binary search
+    private static final int LINEAR_LOOKUP_LIMIT = 8;
+
+    private final long[] bounds;       // lower bounds of brackets 1..n-1, ascending
+    private final long[] bases;        // bracket -> amount due at its start, centavos
+    private final long[] offsets;      // bracket -> amount the rate is applied above, centavos
+    private final long[] numerators;   // bracket -> rate numerator
+    private final long[] denominators; // bracket -> rate denominator, positive
+    private final long[] basisPoints;  // bracket -> rate in basis points, or null if a rate is not whole basis points
+    private final long cap;            // largest result, Long.MAX_VALUE for none
+
+    private RateTable(long[] bounds, long[] bases, long[] offsets, long[] numerators, long[] denominators, long cap) {
+        this.bounds = bounds;
+        this.bases = bases;
+        this.offsets = offsets;
+        this.numerators = numerators;
+        this.denominators = denominators;
+        this.cap = cap;
+        long[] points = new long[numerators.length];
+        boolean whole = true;
+        for (int i = 0; i < numerators.length && whole; i++) {
+            whole = Money.BASIS_POINTS % denominators[i] == 0;
+            points[i] = whole ? numerators[i] * (Money.BASIS_POINTS / denominators[i]) : 0;
+        }
+        this.basisPoints = whole ? points : null;
+    }
+
+    /**
+     * Applies the table to an amount.
+     *
+     * @param amount Salary or taxable income in centavos
+     * @return The contribution or tax in centavos
+     */
+    public long apply(long amount) {
+        int bracket = bracketOf(amount);
+        // Statutory rates are whole basis points, and dividing by the constant 10,000 compiles to
+        // a multiplication, where a denominator read from the table needs a hardware divide
+        long due = basisPoints != null
+            ? bases[bracket] + Money.percent(amount - offsets[bracket], basisPoints[bracket])
+            : bases[bracket] + Money.multiply(amount - offsets[bracket], numerators[bracket], denominators[bracket]);
+        return Math.min(due, cap);
+    }
+
+    /**
+     * @param amount An amount in centavos
+     * @return Index of the bracket the amount falls in, 0 to getBracketCount() - 1
+     */
+    public int bracketOf(long amount) {
+        if (bounds.length <= LINEAR_LOOKUP_LIMIT) {
+            int bracket = 0;
+            for (long bound : bounds) {
+                bracket += amount >= bound ? 1 : 0;
+            }
+            return bracket;
+        }
+        // Index of the first bound above the amount is the number of bounds at or below it
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bounds[mid] <= amount) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Scales the table to a pay period covering numerator/denominator of the period it was
+     * written for, e.g. a monthly table to a week. Bounds, bases, offsets and the cap are
+     * scaled; rates stay. The scaled table charges the share of what the original charges
+     * for the equivalent full-period amount, which is how per-period withholding tables are
+     * derived from the annual one.
+     *
+     * @param numerator Numerator of the share; positive
+     * @param denominator Denominator of the share; positive
+     * @return The scaled table, or this table when the share is 1
+     */
+    public RateTable scaled(long numerator, long denominator) {
+        if (numerator <= 0 || denominator <= 0) {
+            throw new IllegalArgumentException("Invalid share " + numerator + "/" + denominator);
+        }
+        if (numerator == denominator) {
+            return this;
+        }
+        return new RateTable(scale(bounds, numerator, denominator), scale(bases, numerator, denominator),
+                             scale(offsets, numerator, denominator), numerators, denominators,
+                             cap == Long.MAX_VALUE ? cap : Money.multiply(cap, numerator, denominator));
+    }
+
+    private static long[] scale(long[] amounts, long numerator, long denominator) {
+        long[] scaled = new long[amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            scaled[i] = Money.multiply(amounts[i], numerator, denominator);
+        }
+        return scaled;
+    }
+
+    /**
+     * @return Number of brackets
+     */
+    public int getBracketCount() {
+        return bases.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RateTable)) return false;
+        RateTable other = (RateTable) o;
+        return cap == other.cap && Arrays.equals(bounds, other.bounds) && Arrays.equals(bases, other.bases)
+            && Arrays.equals(offsets, other.offsets) && Arrays.equals(numerators, other.numerators)
+            && Arrays.equals(denominators, other.denominators);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bounds) * 31 + Arrays.hashCode(bases);
+    }
+
+    /**
+     * Parses a rate written as a percentage ("4.5%") or a plain fraction ("0.045") into an
+     * exact, reduced fraction.
+     *
+     * @param text The rate
+     * @return {numerator, denominator}
+     * @throws IllegalArgumentException If the text is not a non-negative number
+     */
+    public static long[] parseRate(String text) {
+        String trimmed = text.trim();
+        boolean percent = trimmed.endsWith("%");
+        BigDecimal rate;
+        try {
+            rate = new BigDecimal(percent ? trimmed.substring(0, trimmed.length() - 1).trim() : trimmed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rate: " + text);
+        }
+        if (rate.signum() < 0) {
+            throw new IllegalArgumentException("Negative rate: " + text);
+        }
+        if (percent) {
+            rate = rate.movePointLeft(2);
+        }
+        BigInteger numerator = rate.unscaledValue();
+        BigInteger denominator = BigInteger.TEN.pow(Math.max(rate.scale(), 0));
+        if (rate.scale() < 0) {
+            numerator = numerator.multiply(BigInteger.TEN.pow(-rate.scale()));
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (gcd.signum() > 0) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        return new long[] {numerator.longValueExact(), denominator.longValueExact()};
+    }
+
+    /**
+     * Builder for RateTable. Brackets must be added in ascending order of their lower bound.
+     */
+    public static class Builder {
+        private final List<long[]> brackets = new ArrayList<>(); // {from, base, offset, numerator, denominator}
+        private long cap = Long.MAX_VALUE;
+
+        /**
+         * Adds the next bracket.
+         *
+         * @param from Lower bound in centavos; ignored for the first bracket, which has none
+         * @param base Amount due at the start of the bracket, in centavos
+         * @param offset Amount the rate is applied above, in centavos
+         * @param numerator Rate numerator
+         * @param denominator Rate denominator; must be positive
+         * @return This builder
+         * @throws IllegalArgumentException If the bound is not above the previous one or the rate is invalid
+         */
+        public Builder bracket(long from, long base, long offset, long numerator, long denominator) {
+            if (denominator <= 0 || numerator < 0) {
+                throw new IllegalArgumentException("Invalid rate " + numerator + "/" + denominator);
+            }
+            if (brackets.size() > 1 && from <= brackets.get(brackets.size() - 1)[0]) {
+                throw new IllegalArgumentException("Bracket bounds must ascend: " + from);
+            }
+            brackets.add(new long[] {from, base, offset, numerator, denominator});
+            return this;
+        }
+
+        /**
+         * @param cap Largest amount the table returns, in centavos
+         * @return This builder
+         */
+        public Builder cap(long cap) {
+            this.cap = cap;
+            return this;
+        }
+
+        /**
+         * @return The compiled table
+         * @throws IllegalStateException If no bracket was added
+         */
+        public RateTable build() {
+            if (brackets.isEmpty()) {
+                throw new IllegalStateException("A rate table needs at least one bracket");
+            }
+            int count = brackets.size();
+            long[] bounds = new long[count - 1];
+            long[] bases = new long[count];
+            long[] offsets = new long[count];
+            long[] numerators = new long[count];
+            long[] denominators = new long[count];
+            for (int i = 0; i < count; i++) {
+                long[] bracket = brackets.get(i);
+                if (i > 0) {
+                    bounds[i - 1] = bracket[0];
+                }
+                bases[i] = bracket[1];
+                offsets[i] = bracket[2];
+                numerators[i] = bracket[3];
+                denominators[i] = bracket[4];
+            }
+            return new RateTable(bounds, bases, offsets, numerators, denominators, cap);
+        }
+    }
+}
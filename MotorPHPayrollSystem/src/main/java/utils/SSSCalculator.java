@@ -11,16 +11,27 @@ package utils;
 public class SSSCalculator implements Deductible {
     /**
      * Computes the SSS contribution based on salary.
-     * Implements the tiered SSS contribution calculation based on the 2023 contribution table.
+     * Implements the tiered SSS contribution calculation based on the current contribution table,
+     * i.e. the built-in table (see RateSchedule.builtIn), whatever tables were loaded.
      * 
      * @param salary The employee's gross salary.
      * @return The SSS contribution amount.
      */
     public static double getSSSContribution(double salary) {
-        // 2023 SSS Contribution Table
-        if (salary < 4250) return 180.00;  // Minimum contribution
-        if (salary <= 24749.99) return ((salary - 4000) / 500) * 22.50 + 180.00;
-        return 1125.00; // Maximum contribution
+        return Money.toPesos(getSSSContributionCentavos(Money.ofPesos(salary), RateSchedule.builtIn().latest()));
+    }
+
+    /**
+     * Computes the SSS contribution in centavos under the SSS table of the given rates
+     * (in 2023: PHP 22.50 per PHP 500 of salary above PHP 4,000 plus PHP 180, between a
+     * minimum of PHP 180 and a maximum of PHP 1,125).
+     * 
+     * @param salary The employee's gross salary in centavos.
+     * @param rates The rates in force in the pay period.
+     * @return The SSS contribution in centavos, rounded half up.
+     */
+    public static long getSSSContributionCentavos(long salary, StatutoryRates rates) {
+        return rates.sssCentavos(salary);
     }
     
     /**
@@ -34,6 +45,18 @@ public class SSSCalculator implements Deductible {
     public double calculateDeduction(double salary) {
         return getSSSContribution(salary);
     }
+
+    /**
+     * Implementation of the Deductible interface method, using the SSS table of the rates.
+     * 
+     * @param salaryCentavos The salary amount in centavos
+     * @param rates The rates in force in the pay period
+     * @return The SSS contribution in centavos
+     */
+    @Override
+    public long calculateDeductionCentavos(long salaryCentavos, StatutoryRates rates) {
+        return getSSSContributionCentavos(salaryCentavos, rates);
+    }
     
     /**
      * Implementation of the Deductible interface method.
@@ -0,0 +1,126 @@
+package utils;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The SSS, PhilHealth, Pag-IBIG and income tax tables in force on one date.
+ * This class demonstrates:
+ * - Immutability: Resolved once per schedule version and shared by every thread
+ * - Facade Pattern: One object answers every statutory deduction for a pay period
+ *
+ * Instances come from RateSchedule.ratesOn(date) for monthly pay, or ratesFor(period) for
+ * pay periods of other lengths; all amounts are whole centavos (see Money).
+ */
+public final class StatutoryRates {
+    private final LocalDate effectiveFrom;
+    private final RateTable sss;
+    private final RateTable philHealth;
+    private final RateTable pagIbig;
+    private final RateTable withholdingTax;
+    private final RateTable annualTax;
+
+    // Versions for other pay period lengths by share of a month, created on first use
+    private final Map<Long, StatutoryRates> prorated = new ConcurrentHashMap<>();
+
+    StatutoryRates(LocalDate effectiveFrom, RateTable sss, RateTable philHealth, RateTable pagIbig,
+                   RateTable withholdingTax, RateTable annualTax) {
+        this.effectiveFrom = effectiveFrom;
+        this.sss = sss;
+        this.philHealth = philHealth;
+        this.pagIbig = pagIbig;
+        this.withholdingTax = withholdingTax;
+        this.annualTax = annualTax;
+    }
+
+    /**
+     * Returns these rates scaled to a pay period covering numerator/denominator of a month:
+     * the contribution brackets, caps and withholding tax table are scaled (see
+     * RateTable.scaled); the annual tax table stays. The same share always returns the
+     * same instance.
+     *
+     * @param numerator Numerator of the share of a month
+     * @param denominator Denominator of the share of a month
+     * @return The scaled rates, or these rates for a share of 1
+     */
+    public StatutoryRates prorated(long numerator, long denominator) {
+        if (numerator == denominator) {
+            return this;
+        }
+        return prorated.computeIfAbsent((numerator << 32) | denominator, key -> new StatutoryRates(
+            effectiveFrom, sss.scaled(numerator, denominator), philHealth.scaled(numerator, denominator),
+            pagIbig.scaled(numerator, denominator), withholdingTax.scaled(numerator, denominator), annualTax));
+    }
+
+    /**
+     * @param other Rates of the same pay period, e.g. from another schedule
+     * @return true if both compute the same contributions and withholding tax for any salary
+     */
+    public boolean hasSameTables(StatutoryRates other) {
+        return this == other
+            || (sss.equals(other.sss) && philHealth.equals(other.philHealth) && pagIbig.equals(other.pagIbig)
+                && withholdingTax.equals(other.withholdingTax));
+    }
+
+    /**
+     * @return First day these tables are in force together
+     */
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    /**
+     * @param salary Gross salary in centavos
+     * @return SSS contribution in centavos
+     */
+    public long sssCentavos(long salary) {
+        return sss.apply(salary);
+    }
+
+    /**
+     * @param salary Gross salary in centavos
+     * @return Employee's share of the PhilHealth contribution in centavos
+     */
+    public long philHealthCentavos(long salary) {
+        return philHealth.apply(salary);
+    }
+
+    /**
+     * @param salary Gross salary in centavos
+     * @return Pag-IBIG contribution in centavos
+     */
+    public long pagIbigCentavos(long salary) {
+        return pagIbig.apply(salary);
+    }
+
+    /**
+     * @param taxableIncome Taxable income of the pay period in centavos
+     * @return Withholding tax in centavos
+     */
+    public long withholdingTaxCentavos(long taxableIncome) {
+        return withholdingTax.apply(taxableIncome);
+    }
+
+    /**
+     * @param annualTaxableIncome Taxable income for a whole year in centavos
+     * @return Annual income tax in centavos
+     */
+    public long annualTaxCentavos(long annualTaxableIncome) {
+        return annualTax.apply(annualTaxableIncome);
+    }
+
+    /**
+     * @param kind The table to return
+     * @return The compiled table of that kind
+     */
+    public RateTable getTable(RateSchedule.Kind kind) {
+        switch (kind) {
+            case SSS: return sss;
+            case PHILHEALTH: return philHealth;
+            case PAGIBIG: return pagIbig;
+            case WITHHOLDING_TAX: return withholdingTax;
+            default: return annualTax;
+        }
+    }
+}
@@ -6,24 +6,43 @@ package utils;
  * - Polymorphism: Implements the Deductible interface
  * - Single Responsibility Principle: Focused solely on tax calculations
  * - Encapsulation: Hides implementation details of tax computation
- * - Open/Closed Principle: Can be extended without modification if tax brackets change
+ * - Open/Closed Principle: New tax brackets are loaded as data (see RateSchedule), not coded
  */
 public class TaxCalculator implements Deductible {
     /**
      * Computes the withholding tax based on the taxable income.
-     * Implements the progressive tax calculation using the Philippine tax brackets.
+     * Implements the progressive tax calculation using the Philippine tax brackets of the
+     * built-in table (see RateSchedule.builtIn).
      * 
      * @param taxableIncome The income subject to tax after deductions.
      * @return The computed withholding tax.
      */
     public static double computeWithholdingTax(double taxableIncome) {
-        // Progressive tax rate implementation
-        if (taxableIncome <= 20832) return 0.0;
-        if (taxableIncome <= 33333) return (taxableIncome - 20833) * 0.20;
-        if (taxableIncome <= 66667) return 2500 + (taxableIncome - 33333) * 0.25;
-        if (taxableIncome <= 166667) return 10833 + (taxableIncome - 66667) * 0.30;
-        if (taxableIncome <= 666667) return 40833.33 + (taxableIncome - 166667) * 0.32;
-        return 200833.33 + (taxableIncome - 666667) * 0.35;
+        return Money.toPesos(computeWithholdingTaxCentavos(Money.ofPesos(taxableIncome), RateSchedule.builtIn().latest()));
+    }
+
+    /**
+     * Computes the withholding tax in centavos under the tax table in force in a pay period.
+     * 
+     * @param taxableIncome The income subject to tax after deductions, in centavos.
+     * @param rates The rates in force in the pay period.
+     * @return The withholding tax in centavos, rounded half up.
+     */
+    public static long computeWithholdingTaxCentavos(long taxableIncome, StatutoryRates rates) {
+        // Progressive tax rate implementation: the compiled table looks up the bracket, then applies its base and rate
+        return rates.withholdingTaxCentavos(taxableIncome);
+    }
+
+    /**
+     * Computes the income tax due for a whole year, used to reconcile what was withheld month
+     * by month. Same marginal rates as the monthly table.
+     * 
+     * @param annualTaxableIncome Taxable income for the year, in centavos.
+     * @param rates The rates in force at the end of the year.
+     * @return The annual income tax in centavos, rounded half up.
+     */
+    public static long computeAnnualTaxCentavos(long annualTaxableIncome, StatutoryRates rates) {
+        return rates.annualTaxCentavos(annualTaxableIncome);
     }
     
     /**
@@ -37,6 +56,18 @@ public class TaxCalculator implements Deductible {
     public double calculateDeduction(double taxableIncome) {
         return computeWithholdingTax(taxableIncome);
     }
+
+    /**
+     * Implementation of the Deductible interface method, using the withholding tax table of the rates.
+     * 
+     * @param taxableIncomeCentavos The taxable income in centavos
+     * @param rates The rates in force in the pay period
+     * @return The withholding tax in centavos
+     */
+    @Override
+    public long calculateDeductionCentavos(long taxableIncomeCentavos, StatutoryRates rates) {
+        return computeWithholdingTaxCentavos(taxableIncomeCentavos, rates);
+    }
     
     /**
      * Implementation of the Deductible interface method.
@@ -48,4 +79,14 @@ public class TaxCalculator implements Deductible {
     public String getDeductionType() {
         return "Withholding Tax";
     }
+
+    /**
+     * Withholding tax is computed on taxable income, after statutory contributions.
+     * 
+     * @return Base.TAXABLE_INCOME
+     */
+    @Override
+    public Base getDeductionBase() {
+        return Base.TAXABLE_INCOME;
+    }
 }
\ No newline at end of file